@@ -0,0 +1,68 @@
+package com.products.products.benchmark;
+
+import com.products.products.dto.BrandDto;
+import com.products.products.dto.CategoryDto;
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Données représentatives partagées par les benchmarks
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param i Numéro du produit
+     * @return Un produit complet, avec catégorie, marque et images
+     */
+    static Product product(int i) {
+        return Product.builder()
+                .id(i)
+                .title("Product " + i)
+                .description("Description of the product number " + i)
+                .price(10F + i)
+                .discountPercentage(i % 30)
+                .rating((i % 50) / 10F)
+                .stock(i % 100)
+                .thumbnail("https://i.dummyjson.com/data/products/" + i + "/thumbnail.jpg")
+                .images(Set.of(
+                        "https://i.dummyjson.com/data/products/" + i + "/1.jpg",
+                        "https://i.dummyjson.com/data/products/" + i + "/2.jpg",
+                        "https://i.dummyjson.com/data/products/" + i + "/3.jpg"))
+                .dateCreated(LocalDateTime.of(2023, 1, 1, 0, 0).plusMinutes(i))
+                .lastUpdated(LocalDateTime.of(2023, 3, 1, 0, 0).plusMinutes(i))
+                .category(Category.builder().id(i % 6 + 1).name("Category " + (i % 6)).build())
+                .brand(Brand.builder().id(i % 20 + 1).name("Brand " + (i % 20)).build())
+                .build();
+    }
+
+    /**
+     * @param i Numéro du produit
+     * @return Le DTO d'un produit complet, avec catégorie, marque et images
+     */
+    static ProductDto productDto(int i) {
+        Product product = product(i);
+        return ProductDto.builder()
+                .id(product.getId())
+                .title(product.getTitle())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .discount_percentage(product.getDiscountPercentage())
+                .rating(product.getRating())
+                .stock(product.getStock())
+                .thumbnail(product.getThumbnail())
+                .images(product.getImages())
+                .category_id(product.getCategory().getId())
+                .category(CategoryDto.builder().id(product.getCategory().getId()).name(product.getCategory().getName()).build())
+                .brand_id(product.getBrand().getId())
+                .brand(BrandDto.builder().id(product.getBrand().getId()).name(product.getBrand().getName()).build())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.products.products.benchmark;
+
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la construction du prédicat des filtres de la liste des produits
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericSpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private CriteriaQuery<Product> query;
+    private Root<Product> root;
+    private GenericSpecification<Product> specification;
+
+    /**
+     * Initialisation d'un métamodèle Hibernate (base H2 en mémoire) et des filtres titre, prix et catégorie
+     */
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Brand.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:benchmark")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        query = criteriaBuilder.createQuery(Product.class);
+        root = query.from(Product.class);
+
+        specification = new GenericSpecification<>();
+        specification.add(new SearchCriteria(Product_.TITLE, SearchOperation.LIKE, "phone"));
+        specification.add(new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, 100));
+        specification.add(new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, 1000));
+        specification.add(new SearchCriteria(Product_.CATEGORY_ID, SearchOperation.EQUAL, 1));
+    }
+
+    /**
+     * Fermeture du métamodèle
+     */
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * @return Le prédicat des filtres
+     */
+    @Benchmark
+    public Predicate toPredicate() {
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,88 @@
+package com.products.products.benchmark;
+
+import com.products.products.security.JwtTokenProvider;
+import com.products.products.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la vérification du token JWT, faite à chaque requête authentifiée
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String JWT_SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+    private static final long JWT_EXPIRATION_MILLISECONDS = 604800000L;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser jwtParser;
+    private String token;
+
+    /**
+     * Initialisation du fournisseur (même configuration que l'application) et d'un token valide
+     */
+    @Setup
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider(JWT_SECRET, JWT_EXPIRATION_MILLISECONDS);
+        jwtParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET))).build();
+        token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "user@products.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    /**
+     * @return Le token vérifié par le chemin rapide (signature, sub, exp et rôles)
+     */
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtTokenProvider.verify(token);
+    }
+
+    /**
+     * Référence : vérification complète par le parseur jjwt (claims lus dans une Map)
+     * @return Les claims du token
+     */
+    @Benchmark
+    public Jws<Claims> parseClaimsJws() {
+        return jwtParser.parseClaimsJws(token);
+    }
+
+    /**
+     * @return Vrai si le token est valide
+     */
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    /**
+     * @return Le nom d'utilisateur du token
+     */
+    @Benchmark
+    public String getUsername() {
+        return jwtTokenProvider.getUsername(token);
+    }
+}
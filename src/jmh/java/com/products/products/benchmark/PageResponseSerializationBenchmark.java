@@ -0,0 +1,68 @@
+package com.products.products.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la sérialisation JSON d'une page de produits, selon la taille de la page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+
+    /**
+     * Nombre de produits de la page
+     */
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectWriter pageWriter;
+    private PageResponse<ProductDto> pageResponse;
+
+    /**
+     * Initialisation d'un ObjectMapper configuré comme celui de Spring MVC et de la page
+     */
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructParametricType(PageResponse.class, ProductDto.class));
+
+        List<ProductDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(BenchmarkData.productDto(i));
+        }
+        pageResponse = new PageResponse<>(content, 0, pageSize, 10_000, 10_000 / pageSize, false, "bmV4dA");
+    }
+
+    /**
+     * @return Le JSON de la page
+     * @throws JsonProcessingException Exception de sérialisation
+     */
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(pageResponse);
+    }
+}
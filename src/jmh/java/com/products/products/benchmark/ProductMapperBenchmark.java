@@ -0,0 +1,61 @@
+package com.products.products.benchmark;
+
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Product;
+import com.products.products.mapper.BrandMapper;
+import com.products.products.mapper.CategoryMapper;
+import com.products.products.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversion produit <=> DTO, appelée pour chaque produit de chaque page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private ProductMapper productMapper;
+    private Product product;
+    private ProductDto productDto;
+
+    /**
+     * Initialisation du mapper et des données
+     */
+    @Setup
+    public void setup() {
+        productMapper = new ProductMapper(new BrandMapper(), new CategoryMapper());
+        product = BenchmarkData.product(1);
+        productDto = BenchmarkData.productDto(1);
+    }
+
+    /**
+     * @return Le DTO du produit
+     */
+    @Benchmark
+    public ProductDto mapToDto() {
+        return productMapper.mapToDto(product);
+    }
+
+    /**
+     * @return L'entité du DTO
+     */
+    @Benchmark
+    public Product mapToEntity() {
+        return productMapper.mapToEntity(productDto);
+    }
+}
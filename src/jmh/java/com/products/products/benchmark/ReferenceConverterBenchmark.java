@@ -0,0 +1,44 @@
+package com.products.products.benchmark;
+
+import com.products.products.reference.RoleConverter;
+import com.products.products.reference.RoleReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversion code => référence, appelée pour chaque rôle chargé
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceConverterBenchmark {
+
+    private final RoleConverter roleConverter = new RoleConverter();
+
+    /**
+     * Code converti : premier et dernier de l'énumération
+     */
+    @Param({"Administrateur", "Utilisateur"})
+    public String code;
+
+    /**
+     * @return La référence du code
+     */
+    @Benchmark
+    public RoleReference convertToEntityAttribute() {
+        return roleConverter.convertToEntityAttribute(code);
+    }
+}
@@ -0,0 +1,128 @@
+package com.products.products.benchmark;
+
+import com.products.products.config.VirtualThreadConfig;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.coyote.AbstractProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test de charge du mode threads virtuels : des clients concurrents appellent un Tomcat embarqué dont chaque requête
+ * bloque comme un appel MySQL. Le mode échantillonné donne la latence p50 / p99 ; la concurrence maximale atteinte
+ * côté serveur est affichée à la fin de chaque essai.
+ * <p>
+ * Avec le pool classique, la concurrence plafonne au nombre de threads Tomcat et la latence inclut l'attente dans la
+ * file du connecteur ; avec les threads virtuels, toutes les requêtes attendent en parallèle. Le mode virtual demande
+ * un JDK 21 ou plus récent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Threads(400)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final int PLATFORM_MAX_THREADS = 200;
+    private static final long BLOCKING_MILLISECONDS = 20;
+
+    /**
+     * Exécution des requêtes : pool de threads Tomcat classique ou threads virtuels
+     */
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    private WebServer webServer;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * Démarre le serveur et le client HTTP
+     */
+    @Setup
+    public void setup() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addConnectorCustomizers(connector -> {
+            AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+            protocol.setMaxThreads(PLATFORM_MAX_THREADS);
+            protocol.setAcceptCount(1000);
+        });
+        if ("virtual".equals(executor)) {
+            if (!VirtualThreadConfig.isSupported()) {
+                throw new IllegalStateException("The virtual executor needs JDK 21 or later, running " + Runtime.version());
+            }
+            factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(VirtualThreadConfig.newVirtualThreadExecutor()));
+        }
+        factory.addInitializers(servletContext -> servletContext.addServlet("blocking", new BlockingServlet()).addMapping("/"));
+        webServer = factory.getWebServer();
+        webServer.start();
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + webServer.getPort() + "/")).build();
+    }
+
+    /**
+     * Arrête le serveur et affiche la concurrence maximale atteinte
+     */
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println("Maximum concurrent requests (" + executor + "): " + maxInFlight.get());
+        webServer.stop();
+    }
+
+    /**
+     * @return Le statut HTTP de la réponse
+     * @throws IOException Exception d'entrée/sortie
+     * @throws InterruptedException Interruption
+     */
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Requête bloquante simulant l'attente d'une requête SQL
+     */
+    private class BlockingServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(BLOCKING_MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            response.getWriter().write("ok");
+        }
+    }
+}
@@ -5,9 +5,13 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.servers.Server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 
-@SpringBootApplication
+// R2DBC ne sert qu'à l'API réactive optionnelle (ReactiveServerConfig) : le gestionnaire de transactions réactif
+// de Spring Boot remplacerait sinon celui de JPA
+@SpringBootApplication(exclude = { R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class })
 @EnableCaching
 @OpenAPIDefinition(
 		info = @Info(title = "Products Project API", version = "1.0.0"),
@@ -0,0 +1,125 @@
+package com.products.products.config;
+
+import com.products.products.datasource.ReadWriteRoutingDataSource;
+import com.products.products.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Séparation lecture / écriture (app.datasource.replicas.enabled) : la base principale (spring.datasource.*) reçoit
+ * les écritures, les méthodes de service en lecture seule sont servies par un ou plusieurs réplicas
+ * (app.datasource.replicas.urls), chacun avec son pool Hikari. Un client qui vient d'écrire relit sur la base principale
+ * pendant app.datasource.read-your-writes-window.
+ * <p>
+ * La source de données exposée remplace celle de Spring Boot ; elle reste enveloppée par le journal des requêtes lentes
+ * et les pools publient leurs métriques hikaricp.* sous les noms primary, replica-1, replica-2...
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * @param window Fenêtre de lecture sur la base principale après une écriture
+     * @return Clients ayant écrit récemment
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${app.datasource.read-your-writes-window}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    /**
+     * Source de données aiguillant chaque transaction vers la base principale ou un réplica
+     * @param properties Propriétés de la base principale (spring.datasource.*)
+     * @param replicaUrls URLs JDBC des réplicas
+     * @param replicaUsername Utilisateur des réplicas
+     * @param replicaPassword Mot de passe des réplicas
+     * @param replicaMaxSize Nombre maximum de connexions par réplica
+     * @param readYourWritesTracker Clients ayant écrit récemment
+     * @param meterRegistry Registre des métriques des pools
+     * @return Source de données
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${app.datasource.replicas.urls}") String[] replicaUrls,
+                                 @Value("${app.datasource.replicas.username}") String replicaUsername,
+                                 @Value("${app.datasource.replicas.password}") String replicaPassword,
+                                 @Value("${app.datasource.replicas.pool.max-size}") int replicaMaxSize,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        if (replicaUrls.length == 0) {
+            throw new IllegalStateException("app.datasource.replicas.urls must list at least one replica");
+        }
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        bindMetrics(primary, meterRegistry);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create(properties.getClassLoader())
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls[i].trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setPoolName(ReadWriteRoutingDataSource.replicaKey(i));
+            replica.setMaximumPoolSize(replicaMaxSize);
+            replica.setReadOnly(true);
+            bindMetrics(replica, meterRegistry);
+            replicas.add(replica);
+        }
+        log.info("Read/write routing enabled with {} replica(s)", replicas.size());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas, readYourWritesTracker));
+    }
+
+    /**
+     * Activation des réplicas une fois l'application démarrée, après la mise à jour du schéma et l'initialisation des données
+     * @param dataSource Source de données aiguillée
+     * @return Activation des réplicas
+     * @throws SQLException Si la source de données n'est pas aiguillée
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> replicaRoutingActivator(DataSource dataSource) throws SQLException {
+        ReadWriteRoutingDataSource routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        return event -> routingDataSource.enableReplicas();
+    }
+
+    /**
+     * Fermeture des pools de connexions avec le contexte
+     * @param dataSource Source de données aiguillée
+     * @return Fermeture des pools
+     * @throws SQLException Si la source de données n'est pas aiguillée
+     */
+    @Bean
+    public DisposableBean routingDataSourcePoolsDisposer(DataSource dataSource) throws SQLException {
+        return dataSource.unwrap(ReadWriteRoutingDataSource.class)::close;
+    }
+
+    /**
+     * Métriques hikaricp.* d'un pool, que Spring Boot ne peut pas lier derrière l'aiguillage
+     * @param pool Pool de connexions
+     * @param meterRegistry Registre des métriques
+     */
+    private static void bindMetrics(HikariDataSource pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+}
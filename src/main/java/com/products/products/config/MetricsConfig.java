@@ -0,0 +1,46 @@
+package com.products.products.config;
+
+import com.products.products.monitoring.SqlStatementBudget;
+import com.products.products.monitoring.SqlStatementBudgetFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration des métriques, exposées au format Prometheus sur le port de management.
+ * Les latences des routes, le pool JDBC et les statistiques Hibernate sont instrumentés par Spring Boot ;
+ * cette configuration ajoute la mesure des méthodes annotées @Timed et des ordres SQL par requête.
+ * Les caches sont exposés par CacheStatisticsServiceImpl et par les caches Caffeine applicatifs (VerifiedTokenCache,
+ * ProductFilterPlanCache, formes de requêtes de ProductRepositoryCustomImpl).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Mesure les méthodes annotées @Timed (méthodes de service, vérification des tokens JWT)
+     * @param meterRegistry Registre des métriques
+     * @return Aspect de mesure
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Suivi des ordres SQL de chaque requête, avant la sécurité pour compter aussi ses accès à la base
+     * @param sqlStatementBudget Budgets par route
+     * @param meterRegistry Registre des métriques
+     * @return Filtre enregistré
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(SqlStatementBudget sqlStatementBudget,
+                                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(sqlStatementBudget, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
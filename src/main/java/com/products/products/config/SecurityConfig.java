@@ -3,6 +3,8 @@ package com.products.products.config;
 import com.products.products.security.JwtAuthenticationEntryPoint;
 import com.products.products.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -33,9 +35,14 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter authenticationFilter;
 
+    /**
+     * Encodeur des mots de passe ; un hachage plus faible que la force configurée est refait à la connexion suivante
+     * @param strength Force bcrypt (log2 du nombre de tours)
+     * @return Encodeur
+     */
     @Bean
-    public static PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt-strength}") int strength){
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -53,6 +60,8 @@ public class SecurityConfig {
                         authorize
                                 .requestMatchers("/api/auth/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
+                                // served on the management port only (management.server.port)
+                                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                                 .anyRequest().authenticated()
 
                 ).exceptionHandling( exception -> exception
@@ -0,0 +1,120 @@
+package com.products.products.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mode d'exécution optionnel sur threads virtuels (app.threads.virtual.enabled) : les requêtes Tomcat, et donc la couche
+ * service et les appels JDBC bloquants qu'elles font, ainsi que les traitements asynchrones de Spring MVC (export en flux)
+ * s'exécutent chacun sur un thread virtuel au lieu du pool de threads plateforme.
+ * <p>
+ * Les threads virtuels n'existent qu'à partir du JDK 21 : l'application est compilée pour le JDK 17 et les crée par
+ * réflexion ; sur un JDK plus ancien, le mode est ignoré (avec un avertissement) et le pool classique est conservé.
+ * <p>
+ * Points d'épinglage identifiés (à suivre avec -Djdk.tracePinnedThreads=short) :
+ * <ul>
+ *     <li>MySQL Connector/J 8.0.x exécute chaque requête et lit le socket sous un bloc synchronized : le thread virtuel
+ *     reste épinglé à son porteur pendant toute l'attente de MySQL (corrigé par les ReentrantLock de Connector/J 9) ;</li>
+ *     <li>le pool Hikari (spring.datasource.hikari.maximum-pool-size) devient la vraie limite de concurrence JDBC ;
+ *     les requêtes en attente d'une connexion ne sont pas épinglées ;</li>
+ *     <li>VerifiedTokenCache calcule une entrée sous le verrou de ConcurrentHashMap : la lecture des rôles d'un ancien
+ *     token (sans claim des rôles) en base y est épinglée, une seule fois par token ;</li>
+ *     <li>le hachage bcrypt reste sur le pool borné de PasswordHashingExecutor : c'est du calcul, pas de l'attente.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final int VIRTUAL_THREADS_JDK = 21;
+
+    /**
+     * Indique au démarrage si le mode est effectivement actif
+     */
+    @PostConstruct
+    void logMode() {
+        if (isSupported()) {
+            log.info("Virtual thread mode enabled for request handling and async processing");
+        } else {
+            log.warn("Virtual thread mode requested but not supported by JDK {}, keeping platform thread pools", Runtime.version().feature());
+        }
+    }
+
+    /**
+     * Indique si le JDK supporte les threads virtuels (en preview seulement avant le JDK 21)
+     * @return Vrai si supportés
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= VIRTUAL_THREADS_JDK;
+    }
+
+    /**
+     * Crée un exécuteur lançant chaque tâche sur un nouveau thread virtuel
+     * @return L'exécuteur
+     * @throws IllegalStateException Si le JDK ne supporte pas les threads virtuels
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Virtual threads need JDK " + VIRTUAL_THREADS_JDK + " or later", ex);
+        }
+    }
+
+    /**
+     * Beans du mode, créés seulement si le JDK supporte les threads virtuels
+     */
+    @Configuration
+    @Conditional(VirtualThreadsAvailableCondition.class)
+    static class VirtualThreadExecutors {
+
+        /**
+         * Requêtes Tomcat exécutées sur des threads virtuels
+         * @return Personnalisation du connecteur
+         */
+        @Bean
+        TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadExecutor());
+        }
+
+        /**
+         * Traitements asynchrones de Spring MVC (StreamingResponseBody) exécutés sur des threads virtuels
+         * @return Exécuteur
+         */
+        @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        AsyncTaskExecutor applicationTaskExecutor() {
+            return new TaskExecutorAdapter(newVirtualThreadExecutor());
+        }
+    }
+
+    /**
+     * Condition : le JDK supporte les threads virtuels
+     */
+    static class VirtualThreadsAvailableCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return isSupported()
+                    ? ConditionOutcome.match("virtual threads are supported")
+                    : ConditionOutcome.noMatch("virtual threads need JDK 21 or later");
+        }
+    }
+}
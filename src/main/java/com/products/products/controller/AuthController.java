@@ -4,6 +4,7 @@ import com.products.products.dto.JwtAuthResponse;
 import com.products.products.dto.LoginDto;
 import com.products.products.dto.RegisterDto;
 import com.products.products.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,11 +26,12 @@ public class AuthController {
     /**
      * S'authentifier
      * @param loginDto Information d'authentification
+     * @param request Requête
      * @return Token d'authentification
      */
     @PostMapping(value = {"/login", "/signin"})
-    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginDto loginDto){
-        String token = authService.login(loginDto);
+    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginDto loginDto, HttpServletRequest request){
+        String token = authService.login(loginDto, request.getRemoteAddr());
 
         JwtAuthResponse jwtAuthResponse = new JwtAuthResponse();
         jwtAuthResponse.setAccessToken(token);
@@ -0,0 +1,54 @@
+package com.products.products.controller;
+
+import com.products.products.dto.CacheStatisticsDto;
+import com.products.products.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Contrôleur d'administration des caches
+ */
+@RestController
+@RequestMapping("api/admin/caches")
+@RequiredArgsConstructor
+@Tag(name = "Caches", description = "Endpoints for monitoring caches")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Récupérer les statistiques de chaque région de cache
+     * @return Liste des statistiques par région
+     */
+    @GetMapping("statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Get hit, miss, put and eviction counts of every cache region",
+            tags = {"Caches"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CacheStatisticsDto.class)))
+                    ),
+                    @ApiResponse(description = "Unauthorized / Invalid Token", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<List<CacheStatisticsDto>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+}
@@ -1,9 +1,14 @@
 package com.products.products.controller;
 
 import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductBatchResultDto;
 import com.products.products.dto.ProductDto;
+import com.products.products.dto.ProductFacetsDto;
+import com.products.products.dto.ProductSuggestionDto;
 import com.products.products.service.ProductService;
 import com.products.products.utils.ConstantsUtils;
+import com.products.products.utils.CountMode;
+import com.products.products.utils.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,8 +19,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Contrôleur gérant les produits
@@ -34,11 +46,15 @@ public class ProductController {
      * @param pageSize Taille de la page
      * @param sortBy Champ de tri
      * @param sortDir Direction du tri
-     * @param title Titre du produit
-     * @param description Description du produit
+     * @param title Mots du titre (recherche plein texte, triée par pertinence)
+     * @param description Mots de la description (recherche plein texte, triée par pertinence)
      * @param minPrice Prix minimum
      * @param maxPrice Prix maximum
-     * @return Liste paginée de produits
+     * @param filter Filtre sur les attributs du produit (syntaxe de ProductFilterParser)
+     * @param cursor Curseur de la page précédente (pagination par clé)
+     * @param count Mode de comptage du total (exact, estimate ou none)
+     * @param webRequest Requête (If-None-Match)
+     * @return Liste paginée de produits, ou 304 si elle n'a pas changé
      */
     @GetMapping
     @Operation(
@@ -56,6 +72,8 @@ public class ProductController {
                             responseCode = "206",
                             content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))
                     ),
+                    @ApiResponse(description = "Not modified", responseCode = "304", content = @Content),
+                    @ApiResponse(description = "Invalid filter", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             })
     // @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -67,10 +85,20 @@ public class ProductController {
             @RequestParam(value = "title", required = false) String title,
             @RequestParam(value = "description", required = false) String description,
             @RequestParam(value = "min_price", required = false) Integer minPrice,
-            @RequestParam(value = "max_price", required = false) Integer maxPrice
+            @RequestParam(value = "max_price", required = false) Integer maxPrice,
+            @Parameter(description = "RSQL-like filter, e.g. rating=ge=4;(brand=in=(1,2),title==phone*)") @RequestParam(value = "filter", required = false) String filter,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Total count mode: exact, estimate or none") @RequestParam(value = "count", defaultValue = ConstantsUtils.DEFAULT_COUNT_MODE, required = false) String count,
+            WebRequest webRequest
     ) {
-        PageResponse<ProductDto> productDtoPageResponse = productService.getAllProducts(pageNo, pageSize, sortBy, sortDir, title, description, minPrice, maxPrice);
-        return productDtoPageResponse.getContent().size() < productDtoPageResponse.getTotalElements()
+        String eTag = productService.getProductsVersion()
+                .weakETag(listingKey(pageNo, pageSize, sortBy, sortDir, title, description, minPrice, maxPrice, filter, cursor, count));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        PageResponse<ProductDto> productDtoPageResponse = productService.getAllProducts(pageNo, pageSize, sortBy, sortDir, title, description, minPrice, maxPrice, filter, cursor, CountMode.from(count));
+        return isPartialContent(productDtoPageResponse, cursor)
                 ? new ResponseEntity<>(productDtoPageResponse, HttpStatus.PARTIAL_CONTENT)
                 : ResponseEntity.ok(productDtoPageResponse);
     }
@@ -82,7 +110,10 @@ public class ProductController {
      * @param pageSize Taille de la page
      * @param sortBy Champ de tri
      * @param sortDir Direction du tri
-     * @return Liste paginée de produits
+     * @param cursor Curseur de la page précédente (pagination par clé)
+     * @param count Mode de comptage du total (exact, estimate ou none)
+     * @param webRequest Requête (If-None-Match)
+     * @return Liste paginée de produits, ou 304 si elle n'a pas changé
      */
     @GetMapping("/category/{id}")
     @Operation(
@@ -100,6 +131,7 @@ public class ProductController {
                             responseCode = "206",
                             content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))
                     ),
+                    @ApiResponse(description = "Not modified", responseCode = "304", content = @Content),
                     @ApiResponse(
                             description = "Not found",
                             responseCode = "404",
@@ -112,18 +144,120 @@ public class ProductController {
             @RequestParam(value = "pageNo", defaultValue = ConstantsUtils.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
             @RequestParam(value = "pageSize", defaultValue = ConstantsUtils.DEFAULT_PAGE_SIZE, required = false) int pageSize,
             @RequestParam(value = "sortBy", defaultValue = ConstantsUtils.DEFAULT_SORT_BY, required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = ConstantsUtils.DEFAULT_SORT_DIRECTION, required = false) String sortDir
+            @RequestParam(value = "sortDir", defaultValue = ConstantsUtils.DEFAULT_SORT_DIRECTION, required = false) String sortDir,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Total count mode: exact, estimate or none") @RequestParam(value = "count", defaultValue = ConstantsUtils.DEFAULT_COUNT_MODE, required = false) String count,
+            WebRequest webRequest
 ) {
-        PageResponse<ProductDto> productDtoPageResponse = productService.getAllProductsByCategoryId(categoryId, pageNo, pageSize, sortBy, sortDir);
-        return productDtoPageResponse.getContent().size() < productDtoPageResponse.getTotalElements()
+        // Vérifie aussi que la catégorie existe : une catégorie supprimée répond 404, jamais 304
+        String eTag = productService.getProductsVersionByCategoryId(categoryId)
+                .weakETag(listingKey(categoryId, pageNo, pageSize, sortBy, sortDir, cursor, count));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        PageResponse<ProductDto> productDtoPageResponse = productService.getAllProductsByCategoryId(categoryId, pageNo, pageSize, sortBy, sortDir, cursor, CountMode.from(count));
+        return isPartialContent(productDtoPageResponse, cursor)
                 ? new ResponseEntity<>(productDtoPageResponse, HttpStatus.PARTIAL_CONTENT)
                 : ResponseEntity.ok(productDtoPageResponse);
     }
 
+    /**
+     * Récupérer les facettes des produits filtrés : nombre de produits par catégorie, par marque et par tranche de prix
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @param filter Filtre sur les attributs du produit (syntaxe de ProductFilterParser)
+     * @return Facettes des produits filtrés
+     */
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Get product facets",
+            description = "Count the products matching the filters per category, brand and price range",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductFacetsDto.class))
+                    ),
+                    @ApiResponse(description = "Invalid filter", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<ProductFacetsDto> getProductFacets(
+            @RequestParam(value = "title", required = false) String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "min_price", required = false) Integer minPrice,
+            @RequestParam(value = "max_price", required = false) Integer maxPrice,
+            @Parameter(description = "RSQL-like filter, e.g. rating=ge=4;(brand=in=(1,2),title==phone*)") @RequestParam(value = "filter", required = false) String filter
+    ) {
+        return ResponseEntity.ok(productService.getProductFacets(title, description, minPrice, maxPrice, filter));
+    }
+
+    /**
+     * Suggérer des produits pour l'autocomplétion d'une saisie (titres, marques et catégories)
+     * @param query Saisie
+     * @param limit Nombre maximum de suggestions
+     * @return Suggestions (id et titre), de la plus pertinente à la moins pertinente
+     */
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest products",
+            description = "Typeahead suggestions matching the typed words against product titles, brand names and category names",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionDto.class)))
+                    ),
+                    @ApiResponse(description = "Invalid limit", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<List<ProductSuggestionDto>> suggestProducts(
+            @Parameter(description = "Typed text", example = "pho") @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", defaultValue = ConstantsUtils.DEFAULT_PAGE_SIZE, required = false) int limit
+    ) {
+        return ResponseEntity.ok(productService.suggestProducts(query, limit));
+    }
+
+    /**
+     * Exporter tous les produits filtrés au format NDJSON (un produit JSON par ligne), en flux
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @return Flux NDJSON des produits
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export products",
+            description = "Stream all the products matching the filters as newline-delimited JSON",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductDto.class))
+                    ),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(value = "title", required = false) String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "min_price", required = false) Integer minPrice,
+            @RequestParam(value = "max_price", required = false) Integer maxPrice
+    ) {
+        StreamingResponseBody body = outputStream -> productService.exportProducts(title, description, minPrice, maxPrice, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Récupère un produit par son id
      * @param productId Id du produit
-     * @return Produit
+     * @param webRequest Requête (If-None-Match / If-Modified-Since)
+     * @return Produit, ou 304 s'il n'a pas changé
      */
     @GetMapping("/{id}")
     @Operation(
@@ -136,10 +270,16 @@ public class ProductController {
                             responseCode = "200",
                             content = @Content(mediaType = "application/json", schema =@Schema(implementation = ProductDto.class))
                     ),
+                    @ApiResponse(description = "Not modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Not found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             })
-    public ResponseEntity<ProductDto> getProductById(@Parameter(description = "Product id", example = "1") @PathVariable(name = "id") int productId) {
+    public ResponseEntity<ProductDto> getProductById(@Parameter(description = "Product id", example = "1") @PathVariable(name = "id") int productId, WebRequest webRequest) {
+        // La version seule est lue : le produit n'est chargé que s'il a changé
+        ResourceVersion version = productService.getProductVersion(productId);
+        if (webRequest.checkNotModified(version.strongETag(String.valueOf(productId)), version.getLastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductById(productId));
     }
 
@@ -165,6 +305,36 @@ public class ProductController {
         return new ResponseEntity<>(productService.createProduct(productDto), HttpStatus.CREATED);
     }
 
+    /**
+     * Créer ou mettre à jour des produits par lot
+     * @param productDtos Produits (id à 0 pour créer, id du produit à mettre à jour sinon)
+     * @return Résultat de chaque produit : 200 si tous sont enregistrés, 207 sinon
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create or update products in batch",
+            description = "Validate every product on its own and save the valid ones with batched statements",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success - Every product saved",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductBatchResultDto.class)))
+                    ),
+                    @ApiResponse(
+                            description = "Multi-status - Some products rejected",
+                            responseCode = "207",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductBatchResultDto.class)))
+                    ),
+                    @ApiResponse(description = "Batch too large", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<List<ProductBatchResultDto>> saveProducts(@RequestBody List<ProductDto> productDtos) {
+        List<ProductBatchResultDto> results = productService.saveProducts(productDtos);
+        boolean allSaved = results.stream().allMatch(result -> result.getErrors() == null);
+        return new ResponseEntity<>(results, allSaved ? HttpStatus.OK : HttpStatus.MULTI_STATUS);
+    }
+
     /**
      * Mettre à jour un produit
      * @param productDto Produit à mettre à jour
@@ -212,4 +382,23 @@ public class ProductController {
         productService.deleteProductById(productId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Identité d'une liste de produits (filtres et pagination) pour son ETag
+     * @param parameters Paramètres de la requête
+     * @return Clé de la liste
+     */
+    private String listingKey(Object... parameters) {
+        return Arrays.toString(parameters);
+    }
+
+    /**
+     * Indique si la page ne contient qu'une partie des produits, sans dépendre du nombre total (qui peut être estimé ou absent)
+     * @param pageResponse Page de produits
+     * @param cursor Curseur de la requête
+     * @return Vrai s'il existe d'autres pages
+     */
+    private boolean isPartialContent(PageResponse<ProductDto> pageResponse, String cursor) {
+        return !pageResponse.isLast() || pageResponse.getPageNo() > 0 || StringUtils.hasText(cursor);
+    }
 }
@@ -0,0 +1,80 @@
+package com.products.products.controller;
+
+import com.products.products.dto.SlowQueryDto;
+import com.products.products.service.SlowQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Contrôleur d'administration du journal des requêtes lentes
+ */
+@RestController
+@RequestMapping("api/admin/slow-queries")
+@RequiredArgsConstructor
+@Tag(name = "Slow queries", description = "Endpoints for monitoring slow SQL queries")
+public class SlowQueryController {
+
+    private final SlowQueryService slowQueryService;
+
+    /**
+     * Récupérer les formes de requêtes les plus lentes
+     * @param limit Nombre maximum de formes
+     * @return Formes triées par durée maximale décroissante
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get slow queries",
+            description = "Get the slowest SQL query shapes with their bind values and captured execution plan",
+            tags = {"Slow queries"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SlowQueryDto.class)))
+                    ),
+                    @ApiResponse(description = "Unauthorized / Invalid Token", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<List<SlowQueryDto>> getSlowQueries(
+            @Parameter(description = "Maximum number of query shapes", example = "20") @RequestParam(value = "limit", defaultValue = "20", required = false) int limit) {
+        return ResponseEntity.ok(slowQueryService.getSlowQueries(limit));
+    }
+
+    /**
+     * Vider le journal des requêtes lentes
+     * @return Pas de contenu
+     */
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Clear slow queries",
+            description = "Clear the slow query log",
+            tags = {"Slow queries"},
+            responses = {
+                    @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Unauthorized / Invalid Token", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryService.clearSlowQueries();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.products.products.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aiguillage des connexions : les transactions en lecture seule (@Transactional(readOnly = true)) vont sur les réplicas,
+ * à tour de rôle, tout le reste va sur la base principale.
+ * <p>
+ * La transaction n'est connue qu'une fois commencée : cette source doit être enveloppée dans une
+ * LazyConnectionDataSourceProxy, qui n'obtient la connexion physique qu'au premier ordre SQL.
+ * Jusqu'à l'activation des réplicas (application démarrée), tout va sur la base principale : mise à jour du schéma
+ * et initialisation des données lisent et écrivent la même base.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    /**
+     * Clé de la base principale
+     */
+    public static final String PRIMARY = "primary";
+
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile boolean replicasEnabled;
+
+    /**
+     * @param primary Base principale
+     * @param replicas Réplicas en lecture seule
+     * @param readYourWritesTracker Clients ayant écrit récemment
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = replicaKey(i);
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @param index Position du réplica (à partir de 0)
+     * @return Clé (et nom du pool) du réplica
+     */
+    public static String replicaKey(int index) {
+        return REPLICA_PREFIX + (index + 1);
+    }
+
+    /**
+     * Envoie désormais les transactions en lecture seule sur les réplicas
+     */
+    public void enableReplicas() {
+        replicasEnabled = true;
+    }
+
+    /**
+     * Une transaction en écriture marque son client ; un client qui a écrit pendant la fenêtre lit sur la base principale
+     * @return Clé de la base cible
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (!replicasEnabled || replicaKeys.isEmpty() || readYourWritesTracker.hasRecentWrite()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Ferme les pools de connexions de la base principale et des réplicas
+     * @throws IOException Exception de fermeture
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
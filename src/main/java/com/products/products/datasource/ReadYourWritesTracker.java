@@ -0,0 +1,67 @@
+package com.products.products.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Clients ayant écrit récemment : pendant la fenêtre qui suit une écriture, les lectures du même client sont servies
+ * par la base principale, pour qu'il relise ce qu'il vient d'écrire malgré le retard des réplicas.
+ * Le client est l'utilisateur authentifié, ou à défaut l'adresse IP de la requête HTTP en cours.
+ */
+public class ReadYourWritesTracker {
+
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String ADDRESS_PREFIX = "address:";
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window Durée pendant laquelle un client lit sur la base principale après sa dernière écriture
+     */
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Enregistre une écriture du client courant (sans effet hors requête et sans utilisateur)
+     */
+    public void recordWrite() {
+        String client = currentClient();
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return Vrai si le client courant a écrit pendant la fenêtre
+     */
+    public boolean hasRecentWrite() {
+        String client = currentClient();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+
+    /**
+     * @return Clé du client courant, null s'il n'est pas identifiable (traitement hors requête)
+     */
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return USERNAME_PREFIX + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return ADDRESS_PREFIX + attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO représentant les statistiques d'une région de cache
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDto {
+
+    /**
+     * Nom de la région
+     */
+    private String region;
+
+    /**
+     * Nombre de lectures trouvées dans le cache
+     */
+    private long hits;
+
+    /**
+     * Nombre de lectures absentes du cache
+     */
+    private long misses;
+
+    /**
+     * Pourcentage de lectures trouvées dans le cache
+     */
+    private float hitPercentage;
+
+    /**
+     * Nombre d'écritures dans le cache
+     */
+    private long puts;
+
+    /**
+     * Nombre d'entrées évincées (taille maximale atteinte ou expiration)
+     */
+    private long evictions;
+}
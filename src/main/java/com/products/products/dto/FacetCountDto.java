@@ -0,0 +1,31 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO représentant le nombre de produits d'une valeur de facette (catégorie ou marque)
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDto {
+
+    /**
+     * Id de la catégorie ou de la marque
+     */
+    private int id;
+
+    /**
+     * Nom de la catégorie ou de la marque
+     */
+    private String name;
+
+    /**
+     * Nombre de produits
+     */
+    private long count;
+}
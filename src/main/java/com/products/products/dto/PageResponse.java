@@ -33,12 +33,12 @@ public class PageResponse<T> {
     private int pageSize;
 
     /**
-     * Nombre total d'éléments
+     * Nombre total d'éléments (-1 si le comptage n'a pas été demandé)
      */
     private long totalElements;
 
     /**
-     * Nombre total de pages
+     * Nombre total de pages (-1 si le comptage n'a pas été demandé)
      */
     private int totalPages;
 
@@ -46,4 +46,22 @@ public class PageResponse<T> {
      * Indique si c'est la dernière page
      */
     private boolean last;
+
+    /**
+     * Curseur permettant de lire la page suivante par clé (null s'il n'y a pas de page suivante)
+     */
+    private String nextCursor;
+
+    /**
+     * Constructeur d'une page sans curseur
+     * @param content Contenu de la page
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param totalElements Nombre total d'éléments
+     * @param totalPages Nombre total de pages
+     * @param last Indique si c'est la dernière page
+     */
+    public PageResponse(List<T> content, int pageNo, int pageSize, long totalElements, int totalPages, boolean last) {
+        this(content, pageNo, pageSize, totalElements, totalPages, last, null);
+    }
 }
@@ -0,0 +1,33 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO représentant le nombre de produits d'une tranche de prix [min, max[
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeFacetDto {
+
+    /**
+     * Prix minimum inclus, null pour la première tranche
+     */
+    private BigDecimal min;
+
+    /**
+     * Prix maximum exclu, null pour la dernière tranche
+     */
+    private BigDecimal max;
+
+    /**
+     * Nombre de produits
+     */
+    private long count;
+}
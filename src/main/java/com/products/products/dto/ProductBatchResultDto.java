@@ -0,0 +1,38 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO représentant le résultat d'un produit d'un lot
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResultDto {
+
+    /**
+     * Position du produit dans le lot
+     */
+    private int index;
+
+    /**
+     * Statut HTTP du produit (201 créé, 200 mis à jour, 400 invalide, 404 référence inconnue, 409 titre déjà utilisé)
+     */
+    private int status;
+
+    /**
+     * Identifiant du produit enregistré
+     */
+    private Integer id;
+
+    /**
+     * Erreurs du produit rejeté
+     */
+    private List<String> errors;
+}
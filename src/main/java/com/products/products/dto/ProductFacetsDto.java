@@ -0,0 +1,38 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO représentant les facettes des produits filtrés : nombre de produits par catégorie, par marque et par tranche de prix
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDto {
+
+    /**
+     * Nombre total de produits filtrés
+     */
+    private long totalElements;
+
+    /**
+     * Catégories représentées, par nombre de produits décroissant
+     */
+    private List<FacetCountDto> categories;
+
+    /**
+     * Marques représentées, par nombre de produits décroissant
+     */
+    private List<FacetCountDto> brands;
+
+    /**
+     * Toutes les tranches de prix configurées, par prix croissant
+     */
+    private List<PriceRangeFacetDto> priceRanges;
+}
@@ -0,0 +1,26 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO représentant une suggestion de produit pour l'autocomplétion
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDto {
+
+    /**
+     * Id du produit
+     */
+    private int id;
+
+    /**
+     * Titre du produit
+     */
+    private String title;
+}
@@ -0,0 +1,53 @@
+package com.products.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO représentant une forme de requête lente
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDto {
+
+    /**
+     * Forme de la requête (listes IN réduites à « (?...) »)
+     */
+    private String shape;
+
+    /**
+     * Nombre d'exécutions plus longues que le seuil
+     */
+    private long executions;
+
+    /**
+     * Durée de la plus lente exécution, en millisecondes
+     */
+    private long maxMillis;
+
+    /**
+     * Durée moyenne des exécutions lentes, en millisecondes
+     */
+    private long averageMillis;
+
+    /**
+     * SQL de la plus lente exécution
+     */
+    private String sql;
+
+    /**
+     * Valeurs des paramètres de la plus lente exécution
+     */
+    private List<String> parameters;
+
+    /**
+     * Plan d'exécution (EXPLAIN) de la plus lente exécution, null s'il n'est pas capturé
+     */
+    private List<String> plan;
+}
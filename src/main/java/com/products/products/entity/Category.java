@@ -3,6 +3,8 @@ package com.products.products.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,12 +19,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Table(
         name = "Categories",
         uniqueConstraints = { @UniqueConstraint(name = "UQ_Categories_Name", columnNames = { "name" }) }
 )
 public class Category {
 
+    /**
+     * Région du cache de second niveau des catégories
+     */
+    public static final String CACHE_REGION = "categories";
+
     /**
      * Identifiant de la catégorie
      */
@@ -5,6 +5,9 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,18 +23,66 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
+@NamedEntityGraph(
+        name = Product.CATEGORY_AND_BRAND_GRAPH,
+        attributeNodes = { @NamedAttributeNode("category"), @NamedAttributeNode("brand") }
+)
 @Table(
         name = "Products",
-        uniqueConstraints = { @UniqueConstraint(name = "UQ_Products_Title", columnNames = { "title" }) }
+        uniqueConstraints = { @UniqueConstraint(name = "UQ_Products_Title", columnNames = { "title" }) },
+        indexes = {
+                @Index(name = "IX_Products_Price", columnList = "price"),
+                @Index(name = "IX_Products_Rating", columnList = "rating"),
+                @Index(name = "IX_Products_Last_Updated", columnList = "lastUpdated"),
+                @Index(name = "IX_Products_Category_Id", columnList = "category_id, id"),
+                @Index(name = "IX_Products_Category_Last_Updated", columnList = "category_id, lastUpdated"),
+                @Index(name = "IX_Products_Brand_Id", columnList = "brand_id, id")
+        }
 )
 public class Product {
 
+    /**
+     * Graphe de chargement de la catégorie et de la marque dans la requête principale
+     */
+    public static final String CATEGORY_AND_BRAND_GRAPH = "Product.categoryAndBrand";
+
+    /**
+     * Région du cache de second niveau des produits
+     */
+    public static final String CACHE_REGION = "products";
+
+    /**
+     * Région du cache de second niveau des images des produits
+     */
+    public static final String IMAGES_CACHE_REGION = "product-images";
+
+    /**
+     * Générateur des identifiants : une table de compteurs réservant des blocs d'ids, compatible avec les INSERT par lots
+     */
+    public static final String ID_GENERATOR = "products";
+
+    /**
+     * Nombre d'ids réservés à chaque accès à la table des compteurs
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Identifiant du produit
      */
     @Id
     @GeneratedValue(
-            strategy = GenerationType.IDENTITY
+            strategy = GenerationType.TABLE,
+            generator = Product.ID_GENERATOR
+    )
+    @TableGenerator(
+            name = Product.ID_GENERATOR,
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = Product.ID_GENERATOR,
+            allocationSize = Product.ID_ALLOCATION_SIZE
     )
     private int id;
 
@@ -78,9 +129,11 @@ public class Product {
     private String thumbnail;
 
     /**
-     * Images du produit
+     * Images du produit (chargées par lot pour tous les produits d'une page, puis depuis le cache de second niveau)
      */
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.IMAGES_CACHE_REGION)
     private Set<String> images;
 
     /**
@@ -40,14 +40,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      * Exception générique
      * @param exception Exception
      * @param webRequest Request
-     * @return 400 BAD REQUEST
+     * @return Statut de l'exception (400 BAD REQUEST en général)
      */
     @ExceptionHandler(ProductAPIException.class)
     public ResponseEntity<ErrorDetails> handleBlogAPIException(ProductAPIException exception,
                                                                WebRequest webRequest){
         ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(),
                 webRequest.getDescription(false));
-        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorDetails, exception.getStatus());
     }
 
     /**
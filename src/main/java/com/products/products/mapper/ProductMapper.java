@@ -5,6 +5,8 @@ import com.products.products.entity.Product;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+
 /**
  * Mapper pour les produits
  */
@@ -31,7 +33,7 @@ public class ProductMapper implements Mapper<Product, ProductDto> {
                 .rating(product.getRating())
                 .stock(product.getStock())
                 .thumbnail(product.getThumbnail())
-                .images(product.getImages())
+                .images(product.getImages() == null ? null : new HashSet<>(product.getImages()))
                 .category(categoryMapper.mapToDto(product.getCategory()))
                 .brand(brandMapper.mapToDto(product.getBrand()))
                 .build();
@@ -54,8 +56,8 @@ public class ProductMapper implements Mapper<Product, ProductDto> {
                 .stock(productDto.getStock())
                 .thumbnail(productDto.getThumbnail())
                 .images(productDto.getImages())
-                .category(categoryMapper.mapToEntity(productDto.getCategory()))
-                .brand(brandMapper.mapToEntity(productDto.getBrand()))
+                .category(productDto.getCategory() == null ? null : categoryMapper.mapToEntity(productDto.getCategory()))
+                .brand(productDto.getBrand() == null ? null : brandMapper.mapToEntity(productDto.getBrand()))
                 .build();
     }
 }
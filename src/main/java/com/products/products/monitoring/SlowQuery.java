@@ -0,0 +1,118 @@
+package com.products.products.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Forme de requête lente du journal SlowQueryLog : durées cumulées, plus lente exécution et plan d'exécution
+ */
+public class SlowQuery {
+
+    private static final String SELECT = "select";
+
+    private final String shape;
+    private final AtomicBoolean explainRequested = new AtomicBoolean();
+    private long executions;
+    private long totalMillis;
+    private long maxMillis;
+    private String sql;
+    private List<Object> parameters = List.of();
+    private volatile List<String> plan;
+
+    /**
+     * @param shape Forme de la requête
+     */
+    SlowQuery(String shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Enregistre une exécution lente ; le SQL de la plus lente est conservé, ses valeurs seulement pour une lecture
+     * (elles servent à l'EXPLAIN) : celles d'une écriture, un mot de passe haché par exemple, ne sont jamais exposées
+     * @param sql Ordre SQL exécuté
+     * @param parameters Valeurs des paramètres
+     * @param elapsedMillis Durée
+     * @return Vrai si l'exécution est la plus lente de la forme
+     */
+    synchronized boolean record(String sql, List<Object> parameters, long elapsedMillis) {
+        executions++;
+        totalMillis += elapsedMillis;
+        if (elapsedMillis < maxMillis) {
+            return false;
+        }
+        maxMillis = elapsedMillis;
+        this.sql = sql;
+        this.parameters = isExplainable() ? Collections.unmodifiableList(new ArrayList<>(parameters)) : List.of();
+        return true;
+    }
+
+    /**
+     * @return Vrai si le plan peut être demandé (lecture seule)
+     */
+    boolean isExplainable() {
+        return shape.regionMatches(true, 0, SELECT, 0, SELECT.length());
+    }
+
+    /**
+     * Marque le plan comme demandé
+     * @return Vrai au premier appel seulement
+     */
+    boolean markExplainRequested() {
+        return explainRequested.compareAndSet(false, true);
+    }
+
+    void setPlan(List<String> plan) {
+        this.plan = List.copyOf(plan);
+    }
+
+    /**
+     * @return Forme de la requête
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * @return SQL de la plus lente exécution
+     */
+    public synchronized String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return Valeurs des paramètres de la plus lente exécution
+     */
+    public synchronized List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return Nombre d'exécutions lentes
+     */
+    public synchronized long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @return Durée totale des exécutions lentes, en millisecondes
+     */
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * @return Durée de la plus lente exécution, en millisecondes
+     */
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * @return Plan d'exécution, ou null s'il n'a pas (encore) été capturé
+     */
+    public List<String> getPlan() {
+        return plan;
+    }
+}
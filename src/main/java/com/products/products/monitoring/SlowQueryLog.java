@@ -0,0 +1,200 @@
+package com.products.products.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Journal des requêtes lentes : chaque ordre SQL plus long que le seuil est regroupé par forme (le SQL avec ses
+ * paramètres « ? », listes IN réduites), avec son nombre d'exécutions, ses durées et les valeurs de sa plus lente
+ * exécution. Le plan d'exécution (EXPLAIN) des formes SELECT les plus lentes est capturé en arrière-plan.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final String IN_LIST_SHAPE = "in (?...)";
+    private static final String EXPLAIN = "EXPLAIN ";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdMillis;
+    private final int explainLimit;
+    private final Cache<String, SlowQuery> slowQueries;
+    private final ExecutorService explainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param dataSource Source de données des EXPLAIN
+     * @param thresholdMillis Durée à partir de laquelle un ordre est lent
+     * @param maxShapes Nombre maximum de formes conservées
+     * @param explainLimit Nombre de formes les plus lentes dont le plan est capturé
+     */
+    public SlowQueryLog(ObjectProvider<DataSource> dataSource,
+                        @Value("${app.slow-query.threshold-milliseconds}") long thresholdMillis,
+                        @Value("${app.slow-query.max-shapes}") long maxShapes,
+                        @Value("${app.slow-query.explain-limit}") int explainLimit) {
+        this.dataSource = dataSource;
+        this.thresholdMillis = thresholdMillis;
+        this.explainLimit = explainLimit;
+        this.slowQueries = Caffeine.newBuilder().maximumSize(maxShapes).build();
+    }
+
+    /**
+     * Arrête la capture des plans
+     */
+    @PreDestroy
+    void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        if (elapsedMillis < thresholdMillis) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            if (sql.regionMatches(true, 0, EXPLAIN, 0, EXPLAIN.length())) {
+                continue;
+            }
+            SlowQuery slowQuery = slowQueries.get(shape(sql), SlowQuery::new);
+            List<Object> parameters = !slowQuery.isExplainable() || queryInfo.getParametersList().isEmpty()
+                    ? List.of() : parameterValues(queryInfo.getParametersList().get(0));
+            // Le rang d'une forme ne monte que si sa durée maximale augmente : le classement, qui parcourt toutes les
+            // formes, est alors vérifié sur le thread des plans et non sur celui de la requête
+            if (slowQuery.record(sql, parameters, elapsedMillis) && slowQuery.isExplainable()) {
+                explainExecutor.execute(() -> {
+                    if (isAmongSlowest(slowQuery) && slowQuery.markExplainRequested()) {
+                        explain(slowQuery);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Récupère les formes de requêtes les plus lentes
+     * @param limit Nombre maximum de formes
+     * @return Formes triées par durée maximale décroissante
+     */
+    public List<SlowQuery> getSlowest(int limit) {
+        return slowQueries.asMap().values().stream()
+                .sorted(Comparator.comparingLong(SlowQuery::getMaxMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Vide le journal
+     */
+    public void clear() {
+        slowQueries.invalidateAll();
+    }
+
+    /**
+     * Réduit un ordre SQL à sa forme : les listes IN de longueurs différentes ont la même forme
+     * @param sql Ordre SQL
+     * @return Forme de l'ordre
+     */
+    static String shape(String sql) {
+        return IN_LIST.matcher(sql.trim()).replaceAll(IN_LIST_SHAPE);
+    }
+
+    /**
+     * @param slowQuery Forme de requête
+     * @return Vrai si la forme fait partie des plus lentes dont le plan est capturé
+     */
+    private boolean isAmongSlowest(SlowQuery slowQuery) {
+        long slower = slowQueries.asMap().values().stream()
+                .filter(other -> other.getMaxMillis() > slowQuery.getMaxMillis())
+                .count();
+        return slower < explainLimit;
+    }
+
+    /**
+     * Capture le plan d'exécution de la plus lente exécution d'une forme, avec ses valeurs
+     * @param slowQuery Forme de requête
+     */
+    private void explain(SlowQuery slowQuery) {
+        try (Connection connection = dataSource.getObject().getConnection();
+             PreparedStatement statement = connection.prepareStatement(EXPLAIN + slowQuery.getSql())) {
+            List<Object> parameters = slowQuery.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    plan.add(planRow(resultSet, metaData));
+                }
+            }
+            slowQuery.setPlan(plan);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Could not explain slow query {}", slowQuery.getSql(), ex);
+            slowQuery.setPlan(List.of("EXPLAIN failed: " + ex.getMessage()));
+        }
+    }
+
+    /**
+     * Formate une ligne du plan (une seule colonne : sa valeur, sinon « colonne=valeur » séparés par des virgules)
+     * @param resultSet Résultat de l'EXPLAIN
+     * @param metaData Colonnes du résultat
+     * @return Ligne du plan
+     * @throws SQLException Exception SQL
+     */
+    private static String planRow(ResultSet resultSet, ResultSetMetaData metaData) throws SQLException {
+        if (metaData.getColumnCount() == 1) {
+            return resultSet.getString(1);
+        }
+        List<String> columns = new ArrayList<>();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            columns.add(metaData.getColumnLabel(column) + "=" + resultSet.getString(column));
+        }
+        return String.join(", ", columns);
+    }
+
+    /**
+     * Extrait les valeurs des paramètres d'une exécution, dans l'ordre de leur index
+     * @param operations Affectations des paramètres
+     * @return Valeurs des paramètres
+     */
+    private static List<Object> parameterValues(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1])
+                .collect(Collectors.toList());
+    }
+}
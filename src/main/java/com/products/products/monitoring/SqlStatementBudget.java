@@ -0,0 +1,47 @@
+package com.products.products.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Budget d'ordres SQL par requête HTTP, par route (méthode et motif de l'URI, ex. "GET /api/products/{id}").
+ * Un dépassement est journalisé ; en mode fail-on-exceeded, l'ordre qui dépasse le budget fait échouer la requête.
+ */
+@Component
+public class SqlStatementBudget {
+
+    private final int defaultBudget;
+    private final boolean failOnExceeded;
+    private final Map<String, Integer> routeBudgets;
+
+    /**
+     * @param defaultBudget Budget des routes sans budget propre
+     * @param failOnExceeded Vrai pour faire échouer la requête au dépassement du budget
+     * @param routeBudgets Budgets par route
+     */
+    public SqlStatementBudget(@Value("${app.sql-budget.default}") int defaultBudget,
+                              @Value("${app.sql-budget.fail-on-exceeded}") boolean failOnExceeded,
+                              @Value("#{${app.sql-budget.routes}}") Map<String, Integer> routeBudgets) {
+        this.defaultBudget = defaultBudget;
+        this.failOnExceeded = failOnExceeded;
+        this.routeBudgets = Map.copyOf(routeBudgets);
+    }
+
+    /**
+     * Récupère le budget d'une route
+     * @param route Route (null tant que la route n'est pas résolue)
+     * @return Nombre maximum d'ordres SQL
+     */
+    public int budgetFor(String route) {
+        return route == null ? defaultBudget : routeBudgets.getOrDefault(route, defaultBudget);
+    }
+
+    /**
+     * @return Vrai si un dépassement fait échouer la requête
+     */
+    public boolean isFailOnExceeded() {
+        return failOnExceeded;
+    }
+}
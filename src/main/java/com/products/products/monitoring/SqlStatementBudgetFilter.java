@@ -0,0 +1,103 @@
+package com.products.products.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compte les ordres SQL et le temps passé en base de chaque requête HTTP : ils sont renvoyés dans les en-têtes
+ * de la réponse, enregistrés dans les métriques par route et comparés au budget de la route (déclaré dans MetricsConfig)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementBudget sqlStatementBudget;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Suit les ordres SQL de la requête
+     * @param request Requête
+     * @param response Réponse
+     * @param filterChain Filtre
+     * @throws ServletException Exception de servlet
+     * @throws IOException Exception d'entrée/sortie
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStatistics statistics = SqlStatementStatistics.start(request, sqlStatementBudget);
+        StatisticsHeadersResponse statisticsResponse = new StatisticsHeadersResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, statisticsResponse);
+        } finally {
+            SqlStatementStatistics.clear();
+        }
+        // réponse sans corps (204, 304...) : les en-têtes n'ont pas encore été écrits
+        statisticsResponse.writeHeaders();
+        record(request, statistics);
+    }
+
+    /**
+     * Enregistre les statistiques de la requête dans les métriques et journalise un dépassement du budget
+     * @param request Requête
+     * @param statistics Statistiques SQL de la requête
+     */
+    private void record(HttpServletRequest request, SqlStatementStatistics statistics) {
+        String route = statistics.getRoute();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", route == null ? UNKNOWN_URI : route.substring(route.indexOf(' ') + 1));
+        meterRegistry.summary("http.server.requests.sql.statements", tags).record(statistics.getStatementCount());
+        meterRegistry.timer("http.server.requests.sql.time", tags).record(statistics.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        if (statistics.isBudgetExceeded()) {
+            meterRegistry.counter("http.server.requests.sql.budget.exceeded", tags).increment();
+            log.warn("{} executed {} SQL statements, over its budget of {}", route == null ? request.getRequestURI() : route,
+                    statistics.getStatementCount(), statistics.getBudget());
+        }
+    }
+
+    /**
+     * Réponse qui écrit les statistiques SQL dans ses en-têtes juste avant d'être validée
+     */
+    private static class StatisticsHeadersResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementStatistics statistics;
+        private boolean headersWritten;
+
+        StatisticsHeadersResponse(HttpServletResponse response, SqlStatementStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        /**
+         * Écrit les en-têtes, une seule fois et tant que la réponse n'est pas validée
+         */
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENT_COUNT_HEADER, String.valueOf(statistics.getStatementCount()));
+            setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(statistics.getElapsedNanos())));
+        }
+    }
+}
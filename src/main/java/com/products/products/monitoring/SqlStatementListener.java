@@ -0,0 +1,53 @@
+package com.products.products.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Écouteur des sessions Hibernate (hibernate.session.events.auto) : compte chaque exécution JDBC,
+ * requête ou lot, et son temps dans les statistiques de la requête HTTP en cours
+ */
+public class SqlStatementListener extends BaseSessionEventListener {
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionEnd();
+    }
+
+    /**
+     * Début d'une exécution : vérifie le budget de la requête
+     */
+    private void executionStart() {
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics != null) {
+            statistics.beforeStatement();
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Fin d'une exécution : la compte avec sa durée
+     */
+    private void executionEnd() {
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics != null) {
+            statistics.afterStatement(System.nanoTime() - startNanos);
+        }
+    }
+}
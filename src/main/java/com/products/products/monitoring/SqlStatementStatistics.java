@@ -0,0 +1,106 @@
+package com.products.products.monitoring;
+
+import com.products.products.exception.ProductAPIException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Statistiques SQL d'une requête HTTP : nombre d'ordres exécutés (un lot JDBC compte pour un) et temps passé en base.
+ * Elles sont attachées au thread de la requête par SqlStatementBudgetFilter et alimentées par SqlStatementListener.
+ */
+public final class SqlStatementStatistics {
+
+    private static final ThreadLocal<SqlStatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private final SqlStatementBudget budget;
+    private int statementCount;
+    private long elapsedNanos;
+
+    private SqlStatementStatistics(HttpServletRequest request, SqlStatementBudget budget) {
+        this.request = request;
+        this.budget = budget;
+    }
+
+    /**
+     * Démarre le suivi d'une requête sur le thread courant
+     * @param request Requête
+     * @param budget Budgets par route
+     * @return Statistiques de la requête
+     */
+    static SqlStatementStatistics start(HttpServletRequest request, SqlStatementBudget budget) {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(request, budget);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Termine le suivi de la requête du thread courant
+     */
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return Statistiques de la requête du thread courant, ou null hors requête HTTP
+     */
+    static SqlStatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Vérifie le budget avant l'exécution d'un ordre
+     */
+    void beforeStatement() {
+        if (budget.isFailOnExceeded() && statementCount >= getBudget()) {
+            throw new ProductAPIException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "SQL statement budget of " + getBudget() + " exceeded for " + getRoute());
+        }
+    }
+
+    /**
+     * Compte un ordre exécuté
+     * @param nanos Durée de l'exécution
+     */
+    void afterStatement(long nanos) {
+        statementCount++;
+        elapsedNanos += nanos;
+    }
+
+    /**
+     * @return Route de la requête (méthode et motif de l'URI), ou null avant la résolution du contrôleur
+     */
+    public String getRoute() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? null : request.getMethod() + " " + pattern;
+    }
+
+    /**
+     * @return Nombre maximum d'ordres SQL de la route
+     */
+    public int getBudget() {
+        return budget.budgetFor(getRoute());
+    }
+
+    /**
+     * @return Vrai si le budget est dépassé
+     */
+    public boolean isBudgetExceeded() {
+        return statementCount > getBudget();
+    }
+
+    /**
+     * @return Nombre d'ordres SQL exécutés
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return Temps passé en base, en nanosecondes
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
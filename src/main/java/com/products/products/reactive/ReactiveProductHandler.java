@@ -0,0 +1,87 @@
+package com.products.products.reactive;
+
+import com.products.products.dto.ProductDto;
+import com.products.products.utils.ConstantsUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Points d'entrée réactifs de lecture du catalogue (mêmes paramètres que ProductController)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveProductHandler {
+
+    private final ReactiveProductService reactiveProductService;
+
+    /**
+     * Récupérer une liste de produits paginée, triée et filtrée
+     * @param request Requête (pageNo, pageSize, sortBy, sortDir, title, description, min_price, max_price)
+     * @return Liste paginée de produits
+     */
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        // Mono.defer : un paramètre invalide devient une erreur du flux, traitée par les routes (onError)
+        return Mono.defer(() -> reactiveProductService.getAllProducts(
+                intParam(request, "pageNo", ConstantsUtils.DEFAULT_PAGE_NUMBER),
+                intParam(request, "pageSize", ConstantsUtils.DEFAULT_PAGE_SIZE),
+                request.queryParam("sortBy").orElse(ConstantsUtils.DEFAULT_SORT_BY),
+                request.queryParam("sortDir").orElse(ConstantsUtils.DEFAULT_SORT_DIRECTION),
+                request.queryParam("title").orElse(null),
+                request.queryParam("description").orElse(null),
+                request.queryParam("min_price").map(Integer::valueOf).orElse(null),
+                request.queryParam("max_price").map(Integer::valueOf).orElse(null)
+        )).flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    /**
+     * Récupérer une liste de produits paginée par catégorie
+     * @param request Requête (id, pageNo, pageSize, sortBy, sortDir)
+     * @return Liste paginée de produits
+     */
+    public Mono<ServerResponse> getAllProductsByCategoryId(ServerRequest request) {
+        return Mono.defer(() -> reactiveProductService.getAllProductsByCategoryId(
+                Integer.parseInt(request.pathVariable("id")),
+                intParam(request, "pageNo", ConstantsUtils.DEFAULT_PAGE_NUMBER),
+                intParam(request, "pageSize", ConstantsUtils.DEFAULT_PAGE_SIZE),
+                request.queryParam("sortBy").orElse(ConstantsUtils.DEFAULT_SORT_BY),
+                request.queryParam("sortDir").orElse(ConstantsUtils.DEFAULT_SORT_DIRECTION)
+        )).flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    /**
+     * Récupérer un produit par son id
+     * @param request Requête (id)
+     * @return Produit
+     */
+    public Mono<ServerResponse> getProductById(ServerRequest request) {
+        return Mono.defer(() -> reactiveProductService.getProductById(Integer.parseInt(request.pathVariable("id"))))
+                .flatMap(productDto -> ServerResponse.ok().bodyValue(productDto));
+    }
+
+    /**
+     * Rechercher les produits par titre, en flux NDJSON (un produit par ligne, envoyé dès qu'il est lu)
+     * @param request Requête (title)
+     * @return Flux des produits
+     */
+    public Mono<ServerResponse> getProductsByTitle(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveProductService.getProductsByTitle(request.queryParam("title").orElse("")), ProductDto.class);
+    }
+
+    /**
+     * @param request Requête
+     * @param name Nom du paramètre
+     * @param defaultValue Valeur par défaut
+     * @return Valeur entière du paramètre
+     */
+    private static int intParam(ServerRequest request, String name, String defaultValue) {
+        return Integer.parseInt(request.queryParam(name).orElse(defaultValue));
+    }
+}
@@ -0,0 +1,256 @@
+package com.products.products.reactive;
+
+import com.products.products.dto.BrandDto;
+import com.products.products.dto.CategoryDto;
+import com.products.products.dto.ProductDto;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lecture non bloquante des produits (R2DBC) : une requête SQL pour les produits avec leur catégorie et leur marque,
+ * puis une seule requête pour les images de tous les produits lus
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveProductRepository {
+
+    private static final String SELECT_PRODUCTS = "SELECT p.id, p.title, p.description, p.price, p.discount_percentage, p.rating, "
+            + "p.stock, p.thumbnail, c.id AS category_id, c.name AS category_name, b.id AS brand_id, b.name AS brand_name "
+            + "FROM products p JOIN categories c ON c.id = p.category_id JOIN brands b ON b.id = p.brand_id";
+    private static final String COUNT_PRODUCTS = "SELECT COUNT(*) FROM products p";
+    private static final String SELECT_IMAGES = "SELECT product_id, images FROM product_images WHERE product_id IN (:ids)";
+
+    /**
+     * Colonnes des attributs filtrables et triables
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+            Product_.ID, "p.id",
+            Product_.TITLE, "p.title",
+            Product_.DESCRIPTION, "p.description",
+            Product_.PRICE, "p.price",
+            Product_.DISCOUNT_PERCENTAGE, "p.discount_percentage",
+            Product_.RATING, "p.rating",
+            Product_.STOCK, "p.stock",
+            Product_.DATE_CREATED, "p.date_created",
+            Product_.LAST_UPDATED, "p.last_updated",
+            Product_.CATEGORY_ID, "p.category_id");
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Lit une page de produits filtrée et triée
+     * @param searchCriteriaList Critères de filtre
+     * @param sortBy Champ de tri
+     * @param direction Direction du tri
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @return Produits de la page, dans l'ordre du tri
+     */
+    public Flux<ProductDto> findPage(List<SearchCriteria> searchCriteriaList, String sortBy, Sort.Direction direction, int pageNo, int pageSize) {
+        SqlWhere where = SqlWhere.of(searchCriteriaList, COLUMNS);
+        String order = column(sortBy) + " " + direction.name() + (Product_.ID.equals(sortBy) ? "" : ", p.id " + direction.name());
+        String sql = SELECT_PRODUCTS + where.getSql() + " ORDER BY " + order + " LIMIT :limit OFFSET :offset";
+
+        DatabaseClient.GenericExecuteSpec spec = where.bind(databaseClient.sql(sql))
+                .bind("limit", pageSize)
+                .bind("offset", (long) pageNo * pageSize);
+        return withImages(spec.map(ReactiveProductRepository::toDto).all());
+    }
+
+    /**
+     * Compte les produits filtrés
+     * @param searchCriteriaList Critères de filtre
+     * @return Nombre de produits
+     */
+    public Mono<Long> count(List<SearchCriteria> searchCriteriaList) {
+        SqlWhere where = SqlWhere.of(searchCriteriaList, COLUMNS);
+        return where.bind(databaseClient.sql(COUNT_PRODUCTS + where.getSql()))
+                .map(row -> ((Number) row.get(0)).longValue())
+                .one();
+    }
+
+    /**
+     * Lit un produit
+     * @param productId Id du produit
+     * @return Le produit, vide s'il n'existe pas
+     */
+    public Mono<ProductDto> findById(int productId) {
+        return withImages(databaseClient.sql(SELECT_PRODUCTS + " WHERE p.id = :id")
+                .bind("id", productId)
+                .map(ReactiveProductRepository::toDto)
+                .all())
+                .next();
+    }
+
+    /**
+     * Lit tous les produits filtrés, par lots, sans les charger tous en mémoire
+     * @param searchCriteriaList Critères de filtre
+     * @param batchSize Nombre de produits lus avant de charger leurs images
+     * @return Produits triés par id
+     */
+    public Flux<ProductDto> findAll(List<SearchCriteria> searchCriteriaList, int batchSize) {
+        SqlWhere where = SqlWhere.of(searchCriteriaList, COLUMNS);
+        return where.bind(databaseClient.sql(SELECT_PRODUCTS + where.getSql() + " ORDER BY p.id"))
+                .map(ReactiveProductRepository::toDto)
+                .all()
+                .buffer(batchSize)
+                .concatMap(products -> withImages(Flux.fromIterable(products)));
+    }
+
+    /**
+     * Indique si une catégorie existe
+     * @param categoryId Id de la catégorie
+     * @return Vrai si elle existe
+     */
+    public Mono<Boolean> existsCategory(int categoryId) {
+        return databaseClient.sql("SELECT 1 FROM categories WHERE id = :id")
+                .bind("id", categoryId)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Complète des produits avec leurs images, lues en une seule requête
+     * @param products Produits sans images
+     * @return Produits avec images, dans le même ordre
+     */
+    private Flux<ProductDto> withImages(Flux<ProductDto> products) {
+        return products.collectList().flatMapMany(productDtos -> {
+            if (productDtos.isEmpty()) {
+                return Flux.empty();
+            }
+            List<Integer> ids = productDtos.stream().map(ProductDto::getId).collect(Collectors.toList());
+            return databaseClient.sql(SELECT_IMAGES)
+                    .bind("ids", ids)
+                    .map(row -> Map.entry(row.get("product_id", Integer.class), row.get("images", String.class)))
+                    .all()
+                    .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toCollection(HashSet::new))))
+                    .flatMapMany(images -> {
+                        productDtos.forEach(productDto -> productDto.setImages(images.getOrDefault(productDto.getId(), new HashSet<>())));
+                        return Flux.fromIterable(productDtos);
+                    });
+        });
+    }
+
+    /**
+     * @param attribute Attribut
+     * @return Colonne de l'attribut
+     */
+    private static String column(String attribute) {
+        String column = COLUMNS.get(attribute);
+        if (column == null) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid sort field : " + attribute);
+        }
+        return column;
+    }
+
+    /**
+     * Convertit une ligne en DTO (sans images)
+     * @param row Ligne
+     * @return DTO du produit
+     */
+    private static ProductDto toDto(Readable row) {
+        Integer categoryId = row.get("category_id", Integer.class);
+        Integer brandId = row.get("brand_id", Integer.class);
+        return ProductDto.builder()
+                .id(row.get("id", Integer.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .price(row.get("price", Float.class))
+                .discount_percentage(row.get("discount_percentage", Integer.class))
+                .rating(row.get("rating", Float.class))
+                .stock(row.get("stock", Integer.class))
+                .thumbnail(row.get("thumbnail", String.class))
+                .category_id(categoryId)
+                .category(CategoryDto.builder().id(categoryId).name(row.get("category_name", String.class)).build())
+                .brand_id(brandId)
+                .brand(BrandDto.builder().id(brandId).name(row.get("brand_name", String.class)).build())
+                .build();
+    }
+
+    /**
+     * Clause WHERE paramétrée construite à partir de critères de recherche
+     */
+    static final class SqlWhere {
+
+        private final String sql;
+        private final List<Object> values;
+
+        private SqlWhere(String sql, List<Object> values) {
+            this.sql = sql;
+            this.values = values;
+        }
+
+        /**
+         * Traduit les critères avec la même sémantique que GenericSpecification (IN / NOT_IN : collection, étendue par le client)
+         * @param searchCriteriaList Critères de recherche
+         * @param columns Colonnes des attributs
+         * @return Clause WHERE (vide sans critère)
+         */
+        static SqlWhere of(List<SearchCriteria> searchCriteriaList, Map<String, String> columns) {
+            List<String> conditions = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (SearchCriteria searchCriteria : searchCriteriaList) {
+                String column = columns.get(searchCriteria.getKey());
+                if (column == null) {
+                    throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter field : " + searchCriteria.getKey());
+                }
+                String parameter = ":p" + values.size();
+                Object value = searchCriteria.getValue();
+                switch (searchCriteria.getOperation()) {
+                    case EQUAL -> conditions.add(column + " = " + parameter);
+                    case NOT_EQUAL -> conditions.add(column + " <> " + parameter);
+                    case GREATER_THAN -> conditions.add(column + " > " + parameter);
+                    case GREATER_THAN_EQUAL -> conditions.add(column + " >= " + parameter);
+                    case LESS_THAN -> conditions.add(column + " < " + parameter);
+                    case LESS_THAN_EQUAL -> conditions.add(column + " <= " + parameter);
+                    case LIKE, CONTAIN, MATCH_START, MATCH_END -> {
+                        conditions.add(column + " LIKE " + parameter + " ESCAPE '" + SearchOperation.LIKE_ESCAPE + "'");
+                        value = searchCriteria.getOperation().likePattern(value);
+                    }
+                    case IN -> conditions.add(column + " IN (" + parameter + ")");
+                    case NOT_IN -> conditions.add(column + " NOT IN (" + parameter + ")");
+                    default -> throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Unsupported operation : " + searchCriteria.getOperation());
+                }
+                values.add(value);
+            }
+            return new SqlWhere(conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions), values);
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Lie les valeurs des paramètres
+         * @param spec Requête
+         * @return Requête avec les valeurs
+         */
+        DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+            for (int i = 0; i < values.size(); i++) {
+                spec = spec.bind("p" + i, values.get(i));
+            }
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.products.products.reactive;
+
+import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductDto;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.exception.ResourceNotFoundException;
+import com.products.products.specification.ProductSearchCriteria;
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import com.products.products.utils.ConstantsUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Lecture réactive du catalogue, avec les mêmes filtres et les mêmes DTO que ProductServiceImpl
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+
+    @Value("${app.export.fetch-size}")
+    private int batchSize;
+
+    /**
+     * Récupère une liste de produits paginée, triée et filtrée
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @return Liste de produits paginée
+     */
+    public Mono<PageResponse<ProductDto>> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String description, Integer minPrice, Integer maxPrice) {
+        return getPage(ProductSearchCriteria.of(title, description, minPrice, maxPrice), pageNo, pageSize, sortBy, sortDir);
+    }
+
+    /**
+     * Récupère une liste de produits paginée et triée d'une catégorie
+     * @param categoryId Id de la catégorie
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return Liste de produits paginée, ou erreur ResourceNotFoundException si la catégorie n'existe pas
+     */
+    public Mono<PageResponse<ProductDto>> getAllProductsByCategoryId(int categoryId, int pageNo, int pageSize, String sortBy, String sortDir) {
+        return reactiveProductRepository.existsCategory(categoryId)
+                .flatMap(exists -> exists
+                        ? getPage(List.of(new SearchCriteria(Product_.CATEGORY_ID, SearchOperation.EQUAL, categoryId)), pageNo, pageSize, sortBy, sortDir)
+                        : Mono.error(new ResourceNotFoundException("Category", "id", String.valueOf(categoryId))));
+    }
+
+    /**
+     * Récupère un produit
+     * @param productId Id du produit
+     * @return Le produit, ou erreur ResourceNotFoundException s'il n'existe pas
+     */
+    public Mono<ProductDto> getProductById(int productId) {
+        return reactiveProductRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product", "id", String.valueOf(productId))));
+    }
+
+    /**
+     * Récupère en flux les produits dont le titre contient la chaîne donnée
+     * @param title Titre
+     * @return Produits, triés par id
+     */
+    public Flux<ProductDto> getProductsByTitle(String title) {
+        return reactiveProductRepository.findAll(ProductSearchCriteria.of(title, null, null, null), batchSize);
+    }
+
+    /**
+     * Lit une page et le nombre total de produits en parallèle
+     * @param searchCriteriaList Critères de filtre
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return Liste de produits paginée
+     */
+    private Mono<PageResponse<ProductDto>> getPage(List<SearchCriteria> searchCriteriaList, int pageNo, int pageSize, String sortBy, String sortDir) {
+        if (pageSize < 1) {
+            return Mono.error(new ProductAPIException(HttpStatus.BAD_REQUEST, "Page size must not be less than one"));
+        }
+        if (!ConstantsUtils.SORTABLE_FIELDS.contains(sortBy)) {
+            return Mono.error(new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid sort field : " + sortBy));
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        return Mono.zip(
+                reactiveProductRepository.findPage(searchCriteriaList, sortBy, direction, pageNo, pageSize).collectList(),
+                reactiveProductRepository.count(searchCriteriaList)
+        ).map(result -> {
+            long totalElements = result.getT2();
+            int totalPages = (int) Math.ceil((double) totalElements / pageSize);
+            return new PageResponse<>(result.getT1(), pageNo, pageSize, totalElements, totalPages, pageNo >= totalPages - 1, null);
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.products.products.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.products.exception.ErrorDetails;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.exception.ResourceNotFoundException;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Date;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * API réactive de lecture du catalogue (app.reactive.enabled) : un serveur Reactor Netty sur son propre port, avec un
+ * petit nombre fixe de threads d'entrée/sortie, et un pool de connexions R2DBC non bloquant.
+ * Elle s'ajoute à l'API Spring MVC, qui reste servie par Tomcat.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    /**
+     * Client SQL réactif sur un pool de connexions R2DBC. Le pool n'est pas exposé comme bean : la présence d'une
+     * ConnectionFactory désactiverait la DataSource JDBC (et donc JPA) auto-configurée par Spring Boot.
+     * @param url URL R2DBC
+     * @param username Utilisateur
+     * @param password Mot de passe
+     * @param maxSize Nombre maximum de connexions
+     * @return Client SQL
+     */
+    @Bean
+    public DatabaseClient databaseClient(@Value("${app.reactive.r2dbc.url}") String url,
+                                         @Value("${app.reactive.r2dbc.username}") String username,
+                                         @Value("${app.reactive.r2dbc.password}") String password,
+                                         @Value("${app.reactive.r2dbc.pool.max-size}") int maxSize) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return DatabaseClient.create(new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(1)
+                .maxSize(maxSize)
+                .build()));
+    }
+
+    /**
+     * Fermeture du pool de connexions R2DBC avec le contexte
+     * @param databaseClient Client SQL réactif
+     * @return Fermeture du pool
+     */
+    @Bean
+    public DisposableBean reactiveConnectionPoolDisposer(DatabaseClient databaseClient) {
+        return ((ConnectionPool) databaseClient.getConnectionFactory())::dispose;
+    }
+
+    /**
+     * Routes de l'API réactive ; les erreurs sont rendues comme par GlobalExceptionHandler
+     * @param handler Points d'entrée
+     * @return Routes
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactiveProductRoutes(ReactiveProductHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/products", builder -> builder
+                        .GET("", handler::getAllProducts)
+                        .GET("/category/{id}", handler::getAllProductsByCategoryId)
+                        .GET("/search", handler::getProductsByTitle)
+                        .GET("/{id}", handler::getProductById))
+                .onError(ResourceNotFoundException.class, (ex, request) -> error(ex, request, HttpStatus.NOT_FOUND))
+                .onError(ProductAPIException.class, (ex, request) -> error(ex, request, ((ProductAPIException) ex).getStatus()))
+                .onError(NumberFormatException.class, (ex, request) -> error(ex, request, HttpStatus.BAD_REQUEST))
+                .build();
+    }
+
+    /**
+     * Serveur Reactor Netty de l'API réactive
+     * @param reactiveProductRoutes Routes
+     * @param objectMapper ObjectMapper de l'application (même JSON que l'API Spring MVC)
+     * @param port Port d'écoute
+     * @param ioThreads Nombre de threads d'entrée/sortie
+     * @return Serveur, démarré et arrêté avec le contexte
+     */
+    @Bean
+    public ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactiveProductRoutes, ObjectMapper objectMapper,
+                                         @Value("${app.reactive.port}") int port,
+                                         @Value("${app.reactive.io-threads}") int ioThreads) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveServer(RouterFunctions.toHttpHandler(reactiveProductRoutes, strategies), port, ioThreads);
+    }
+
+    /**
+     * @param exception Exception
+     * @param request Requête
+     * @param status Statut HTTP
+     * @return Réponse d'erreur
+     */
+    private static Mono<ServerResponse> error(Throwable exception, ServerRequest request, HttpStatus status) {
+        return ServerResponse.status(status)
+                .bodyValue(new ErrorDetails(new Date(), exception.getMessage(), "uri=" + request.path()));
+    }
+
+    /**
+     * Cycle de vie du serveur Reactor Netty
+     */
+    public static class ReactiveServer implements SmartLifecycle {
+
+        private final HttpHandler httpHandler;
+        private final int port;
+        private final LoopResources loopResources;
+        private volatile DisposableServer server;
+
+        /**
+         * @param httpHandler Gestionnaire HTTP
+         * @param port Port d'écoute (0 : port libre)
+         * @param ioThreads Nombre de threads d'entrée/sortie
+         */
+        public ReactiveServer(HttpHandler httpHandler, int port, int ioThreads) {
+            this.httpHandler = httpHandler;
+            this.port = port;
+            this.loopResources = LoopResources.create("reactive-http", ioThreads, true);
+        }
+
+        @Override
+        public void start() {
+            server = HttpServer.create()
+                    .port(port)
+                    .runOn(loopResources)
+                    .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                    .bindNow();
+            log.info("Reactive catalog API started on port {}", server.port());
+        }
+
+        @Override
+        public void stop() {
+            server.disposeNow();
+            loopResources.disposeLater().block();
+            server = null;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return server != null;
+        }
+
+        /**
+         * @return Port effectif du serveur
+         */
+        public int getPort() {
+            return server.port();
+        }
+    }
+}
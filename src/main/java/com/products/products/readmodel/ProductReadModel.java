@@ -0,0 +1,224 @@
+package com.products.products.readmodel;
+
+import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Product;
+import com.products.products.mapper.ProductMapper;
+import com.products.products.repository.ProductRepository;
+import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.utils.KeysetCursor;
+import com.products.products.utils.CountMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Modèle de lecture en mémoire des produits : les listes filtrées par prix / catégorie et triées
+ * sont servies par un parcours de l'instantané colonnaire au lieu d'une requête MySQL.
+ * Les lecteurs ne se bloquent jamais : chaque écriture publie un nouvel instantané.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductReadModel {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int UNKNOWN_COUNT = -1;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    @Value("${app.read-model.enabled}")
+    private boolean enabled;
+
+    private volatile ProductSnapshot snapshot = ProductSnapshot.EMPTY;
+    private volatile boolean ready;
+
+    /**
+     * Mises à jour validées pendant un chargement, à rejouer ensuite (null hors chargement), protégées par le verrou de l'instance
+     */
+    private List<Runnable> pendingChanges;
+
+    /**
+     * Indique si le modèle de lecture est activé et chargé
+     * @return Vrai s'il peut servir les lectures
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Charge l'instantané complet depuis la base, une fois l'application démarrée. Le serveur accepte déjà des requêtes :
+     * les écritures validées pendant la lecture sont mises en attente puis rejouées sur l'instantané chargé.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+        List<Product> products = new ArrayList<>();
+        List<ProductDto> dtos = new ArrayList<>();
+        Page<Product> productPage;
+        int pageNo = 0;
+        do {
+            productPage = productRepository.findAll(new GenericSpecification<>(), PageRequest.of(pageNo++, REBUILD_BATCH_SIZE, Sort.by(ProductSnapshot.ID)));
+            for (Product product : productPage) {
+                products.add(product);
+                dtos.add(productMapper.mapToDto(product));
+            }
+        } while (productPage.hasNext());
+
+        int replayed;
+        synchronized (this) {
+            snapshot = ProductSnapshot.of(products.toArray(new Product[0]), dtos.toArray(new ProductDto[0]));
+            pendingChanges.forEach(Runnable::run);
+            replayed = pendingChanges.size();
+            pendingChanges = null;
+            ready = true;
+        }
+        log.info("Product read model loaded with {} products, {} writes replayed", products.size(), replayed);
+    }
+
+    /**
+     * Ajoute ou remplace un produit, après validation de la transaction en cours s'il y en a une
+     * @param product Produit enregistré
+     */
+    public void upsert(Product product) {
+        if (!enabled) {
+            return;
+        }
+        ProductDto dto = productMapper.mapToDto(product);
+        afterCommit(() -> apply(() -> snapshot = snapshot.upsert(product, dto)));
+    }
+
+    /**
+     * Ajoute ou remplace des produits en publiant un seul instantané, après validation de la transaction en cours s'il y en a une
+     * @param products Produits enregistrés
+     */
+    public void upsertAll(List<Product> products) {
+        if (!enabled) {
+            return;
+        }
+        List<ProductDto> dtos = products.stream().map(productMapper::mapToDto).collect(Collectors.toList());
+        afterCommit(() -> apply(() -> {
+            ProductSnapshot updated = snapshot;
+            for (int i = 0; i < products.size(); i++) {
+                updated = updated.upsert(products.get(i), dtos.get(i));
+            }
+            snapshot = updated;
+        }));
+    }
+
+    /**
+     * Retire un produit, après validation de la transaction en cours s'il y en a une
+     * @param productId Id du produit
+     */
+    public void remove(int productId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(() -> snapshot = snapshot.remove(productId)));
+    }
+
+    /**
+     * Lit une page de produits filtrée et triée dans l'instantané courant
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @param minPrice Prix minimum (inclus)
+     * @param maxPrice Prix maximum (inclus)
+     * @param categoryId Id de la catégorie
+     * @param countMode Mode de comptage
+     * @return Page de produits
+     */
+    public PageResponse<ProductDto> getPage(int pageNo, int pageSize, String sortBy, String sortDir, Integer minPrice, Integer maxPrice, Integer categoryId, CountMode countMode) {
+        ProductSnapshot current = snapshot;
+        int size = current.size();
+        int[] order = current.orders.get(sortBy);
+        boolean ascending = Sort.Direction.ASC.name().equalsIgnoreCase(sortDir);
+        float min = minPrice == null ? Float.NEGATIVE_INFINITY : minPrice;
+        float max = maxPrice == null ? Float.POSITIVE_INFINITY : maxPrice;
+        int category = categoryId == null ? ProductSnapshot.NULL_INT : categoryId;
+
+        long offset = (long) pageNo * pageSize;
+        List<ProductDto> content = new ArrayList<>(pageSize);
+        int lastRow = -1;
+        long matched = 0;
+        for (int k = 0; k < size; k++) {
+            int position = ascending ? k : size - 1 - k;
+            int row = order == null ? position : order[position];
+            float price = current.prices[row];
+            if (price < min || price > max || (categoryId != null && current.categoryIds[row] != category)) {
+                continue;
+            }
+            if (matched >= offset && content.size() < pageSize) {
+                content.add(current.dtos[row]);
+                lastRow = row;
+            }
+            matched++;
+            // Sans comptage, une ligne de plus que la page suffit à savoir s'il existe une page suivante
+            if (countMode == CountMode.NONE && matched > offset + pageSize) {
+                break;
+            }
+        }
+
+        boolean last = matched <= offset + pageSize;
+        long totalElements = countMode == CountMode.NONE ? UNKNOWN_COUNT : matched;
+        return new PageResponse<>(
+                content,
+                pageNo,
+                pageSize,
+                totalElements,
+                totalElements == UNKNOWN_COUNT ? UNKNOWN_COUNT : (int) Math.ceil((double) totalElements / pageSize),
+                last,
+                last || lastRow < 0 ? null : new KeysetCursor(sortBy, sortDir, current.ids[lastRow], current.valueAsString(sortBy, lastRow)).encode()
+        );
+    }
+
+    /**
+     * Applique une mise à jour validée, ou la met en attente pendant un chargement
+     * @param change Mise à jour
+     */
+    private synchronized void apply(Runnable change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Exécute une mise à jour après validation de la transaction en cours, ou immédiatement
+     * @param action Mise à jour
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.products.products.readmodel;
+
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Product;
+
+import java.lang.reflect.Array;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantané immuable et colonnaire de la table Products.
+ * Les lignes sont rangées par id croissant ; chaque champ triable dispose d'une permutation des lignes
+ * triée par (valeur, id) croissants, les valeurs nulles en premier comme dans MySQL.
+ * Les mises à jour produisent un nouvel instantané (copie sur écriture) sans jamais modifier celui-ci.
+ */
+final class ProductSnapshot {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String PRICE = "price";
+    static final String DISCOUNT_PERCENTAGE = "discountPercentage";
+    static final String RATING = "rating";
+    static final String STOCK = "stock";
+    static final String DATE_CREATED = "dateCreated";
+    static final String LAST_UPDATED = "lastUpdated";
+
+    /**
+     * Champs disposant d'une permutation triée (l'ordre par id est celui des lignes)
+     */
+    static final String[] SORTED_FIELDS = { TITLE, PRICE, DISCOUNT_PERCENTAGE, RATING, STOCK, DATE_CREATED, LAST_UPDATED };
+
+    /**
+     * Valeur représentant un entier nul
+     */
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    static final ProductSnapshot EMPTY = new ProductSnapshot(new int[0], new String[0], new float[0], new int[0], new float[0],
+            new int[0], new int[0], new int[0], new LocalDateTime[0], new LocalDateTime[0], new ProductDto[0], emptyOrders());
+
+    final int[] ids;
+    final String[] titles;
+    final float[] prices;
+    final int[] discountPercentages;
+    final float[] ratings;
+    final int[] stocks;
+    final int[] categoryIds;
+    final int[] brandIds;
+    final LocalDateTime[] datesCreated;
+    final LocalDateTime[] lastUpdates;
+    final ProductDto[] dtos;
+    final Map<String, int[]> orders;
+
+    private ProductSnapshot(int[] ids, String[] titles, float[] prices, int[] discountPercentages, float[] ratings, int[] stocks,
+                            int[] categoryIds, int[] brandIds, LocalDateTime[] datesCreated, LocalDateTime[] lastUpdates,
+                            ProductDto[] dtos, Map<String, int[]> orders) {
+        this.ids = ids;
+        this.titles = titles;
+        this.prices = prices;
+        this.discountPercentages = discountPercentages;
+        this.ratings = ratings;
+        this.stocks = stocks;
+        this.categoryIds = categoryIds;
+        this.brandIds = brandIds;
+        this.datesCreated = datesCreated;
+        this.lastUpdates = lastUpdates;
+        this.dtos = dtos;
+        this.orders = orders;
+    }
+
+    /**
+     * @return Nombre de lignes
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Renvoie un nouvel instantané contenant le produit (ajouté ou remplacé)
+     * @param product Produit
+     * @param dto Produit converti
+     * @return Nouvel instantané
+     */
+    ProductSnapshot upsert(Product product, ProductDto dto) {
+        int position = Arrays.binarySearch(ids, product.getId());
+        boolean replace = position >= 0;
+        int row = replace ? position : -position - 1;
+
+        ProductSnapshot snapshot = replace
+                ? new ProductSnapshot(ids.clone(), titles.clone(), prices.clone(), discountPercentages.clone(), ratings.clone(),
+                        stocks.clone(), categoryIds.clone(), brandIds.clone(), datesCreated.clone(), lastUpdates.clone(), dtos.clone(), new HashMap<>())
+                : new ProductSnapshot(insertSlot(ids, row), insertSlot(titles, row), insertSlot(prices, row),
+                        insertSlot(discountPercentages, row), insertSlot(ratings, row), insertSlot(stocks, row),
+                        insertSlot(categoryIds, row), insertSlot(brandIds, row), insertSlot(datesCreated, row),
+                        insertSlot(lastUpdates, row), insertSlot(dtos, row), new HashMap<>());
+        snapshot.setRow(row, product, dto);
+
+        for (String field : SORTED_FIELDS) {
+            int[] order = orders.get(field);
+            int[] newOrder = new int[snapshot.size()];
+            int length = 0;
+            // Les lignes existantes gardent leur ordre relatif, décalées après la ligne insérée
+            for (int existingRow : order) {
+                if (existingRow == row && replace) {
+                    continue;
+                }
+                newOrder[length++] = !replace && existingRow >= row ? existingRow + 1 : existingRow;
+            }
+            int insertAt = snapshot.searchPosition(field, newOrder, length, row);
+            System.arraycopy(newOrder, insertAt, newOrder, insertAt + 1, length - insertAt);
+            newOrder[insertAt] = row;
+            snapshot.orders.put(field, newOrder);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Renvoie un nouvel instantané sans le produit
+     * @param productId Id du produit
+     * @return Nouvel instantané (celui-ci si le produit est absent)
+     */
+    ProductSnapshot remove(int productId) {
+        int row = Arrays.binarySearch(ids, productId);
+        if (row < 0) {
+            return this;
+        }
+        ProductSnapshot snapshot = new ProductSnapshot(removeSlot(ids, row), removeSlot(titles, row), removeSlot(prices, row),
+                removeSlot(discountPercentages, row), removeSlot(ratings, row), removeSlot(stocks, row),
+                removeSlot(categoryIds, row), removeSlot(brandIds, row), removeSlot(datesCreated, row),
+                removeSlot(lastUpdates, row), removeSlot(dtos, row), new HashMap<>());
+
+        for (String field : SORTED_FIELDS) {
+            int[] newOrder = new int[snapshot.size()];
+            int length = 0;
+            for (int existingRow : orders.get(field)) {
+                if (existingRow != row) {
+                    newOrder[length++] = existingRow > row ? existingRow - 1 : existingRow;
+                }
+            }
+            snapshot.orders.put(field, newOrder);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Compare deux lignes sur un champ, les valeurs nulles en premier, départagées par l'id
+     * @param field Champ
+     * @param rowA Première ligne
+     * @param rowB Seconde ligne
+     * @return Résultat de la comparaison
+     */
+    int compare(String field, int rowA, int rowB) {
+        int result = switch (field) {
+            // Approche la collation insensible à la casse de MySQL
+            case TITLE -> String.CASE_INSENSITIVE_ORDER.compare(titles[rowA], titles[rowB]);
+            case PRICE -> Float.compare(prices[rowA], prices[rowB]);
+            case DISCOUNT_PERCENTAGE -> compareNullable(discountPercentages[rowA], discountPercentages[rowB]);
+            case RATING -> compareNullable(ratings[rowA], ratings[rowB]);
+            case STOCK -> Integer.compare(stocks[rowA], stocks[rowB]);
+            case DATE_CREATED -> compareNullable(datesCreated[rowA], datesCreated[rowB]);
+            case LAST_UPDATED -> compareNullable(lastUpdates[rowA], lastUpdates[rowB]);
+            default -> 0;
+        };
+        return result != 0 ? result : Integer.compare(ids[rowA], ids[rowB]);
+    }
+
+    /**
+     * Valeur d'un champ sous forme de texte, au format attendu par un curseur de pagination
+     * @param field Champ
+     * @param row Ligne
+     * @return Valeur, null si elle est nulle
+     */
+    String valueAsString(String field, int row) {
+        Object value = switch (field) {
+            case ID -> ids[row];
+            case TITLE -> titles[row];
+            case PRICE -> prices[row];
+            case DISCOUNT_PERCENTAGE -> discountPercentages[row] == NULL_INT ? null : discountPercentages[row];
+            case RATING -> Float.isNaN(ratings[row]) ? null : ratings[row];
+            case STOCK -> stocks[row];
+            case DATE_CREATED -> datesCreated[row];
+            case LAST_UPDATED -> lastUpdates[row];
+            default -> null;
+        };
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Construit un instantané complet à partir de produits triés par id
+     * @param products Produits triés par id croissant
+     * @param dtos Produits convertis, dans le même ordre
+     * @return L'instantané
+     */
+    static ProductSnapshot of(Product[] products, ProductDto[] dtos) {
+        int size = products.length;
+        ProductSnapshot snapshot = new ProductSnapshot(new int[size], new String[size], new float[size], new int[size], new float[size],
+                new int[size], new int[size], new int[size], new LocalDateTime[size], new LocalDateTime[size], new ProductDto[size], new HashMap<>());
+        for (int row = 0; row < size; row++) {
+            snapshot.setRow(row, products[row], dtos[row]);
+        }
+        for (String field : SORTED_FIELDS) {
+            snapshot.orders.put(field, Arrays.stream(boxedRows(size))
+                    .sorted((rowA, rowB) -> snapshot.compare(field, rowA, rowB))
+                    .mapToInt(Integer::intValue)
+                    .toArray());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Écrit une ligne (uniquement sur un instantané en cours de construction)
+     * @param row Ligne
+     * @param product Produit
+     * @param dto Produit converti
+     */
+    private void setRow(int row, Product product, ProductDto dto) {
+        ids[row] = product.getId();
+        titles[row] = product.getTitle();
+        prices[row] = product.getPrice();
+        discountPercentages[row] = product.getDiscountPercentage() == null ? NULL_INT : product.getDiscountPercentage();
+        ratings[row] = product.getRating() == null ? Float.NaN : product.getRating();
+        stocks[row] = product.getStock();
+        categoryIds[row] = product.getCategory() == null ? NULL_INT : product.getCategory().getId();
+        brandIds[row] = product.getBrand() == null ? NULL_INT : product.getBrand().getId();
+        datesCreated[row] = product.getDateCreated();
+        lastUpdates[row] = product.getLastUpdated();
+        dtos[row] = dto;
+    }
+
+    /**
+     * Recherche dichotomique de la position d'insertion d'une ligne dans une permutation
+     * @param field Champ de la permutation
+     * @param order Permutation
+     * @param length Nombre d'éléments utilisés de la permutation
+     * @param row Ligne à insérer
+     * @return Position d'insertion
+     */
+    private int searchPosition(String field, int[] order, int length, int row) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(field, order[middle], row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compareNullable(int a, int b) {
+        return a == NULL_INT || b == NULL_INT ? Boolean.compare(a != NULL_INT, b != NULL_INT) : Integer.compare(a, b);
+    }
+
+    private static int compareNullable(float a, float b) {
+        return Float.isNaN(a) || Float.isNaN(b) ? Boolean.compare(!Float.isNaN(a), !Float.isNaN(b)) : Float.compare(a, b);
+    }
+
+    private static <C extends Comparable<C>> int compareNullable(C a, C b) {
+        return a == null || b == null ? Boolean.compare(a != null, b != null) : a.compareTo(b);
+    }
+
+    private static Integer[] boxedRows(int size) {
+        Integer[] rows = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    private static Map<String, int[]> emptyOrders() {
+        Map<String, int[]> orders = new HashMap<>();
+        for (String field : SORTED_FIELDS) {
+            orders.put(field, new int[0]);
+        }
+        return orders;
+    }
+
+    /**
+     * Copie une colonne en y ménageant un emplacement libre
+     * @param column Colonne (tableau primitif ou d'objets)
+     * @param position Position de l'emplacement
+     * @return Nouvelle colonne
+     */
+    @SuppressWarnings("unchecked")
+    private static <A> A insertSlot(A column, int position) {
+        int length = Array.getLength(column);
+        A copy = (A) Array.newInstance(column.getClass().getComponentType(), length + 1);
+        System.arraycopy(column, 0, copy, 0, position);
+        System.arraycopy(column, position, copy, position + 1, length - position);
+        return copy;
+    }
+
+    /**
+     * Copie une colonne sans l'un de ses emplacements
+     * @param column Colonne (tableau primitif ou d'objets)
+     * @param position Position de l'emplacement supprimé
+     * @return Nouvelle colonne
+     */
+    @SuppressWarnings("unchecked")
+    private static <A> A removeSlot(A column, int position) {
+        int length = Array.getLength(column);
+        A copy = (A) Array.newInstance(column.getClass().getComponentType(), length - 1);
+        System.arraycopy(column, 0, copy, 0, position);
+        System.arraycopy(column, position + 1, copy, position, length - position - 1);
+        return copy;
+    }
+}
@@ -0,0 +1,42 @@
+package com.products.products.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Nombre de produits d'une combinaison (catégorie, marque, tranche de prix), lu sans charger les entités
+ */
+@Getter
+@AllArgsConstructor
+public class ProductFacetCount {
+
+    /**
+     * Id de la catégorie
+     */
+    private final Integer categoryId;
+
+    /**
+     * Nom de la catégorie
+     */
+    private final String categoryName;
+
+    /**
+     * Id de la marque
+     */
+    private final Integer brandId;
+
+    /**
+     * Nom de la marque
+     */
+    private final String brandName;
+
+    /**
+     * Index de la tranche de prix (0 pour la première)
+     */
+    private final Integer priceRange;
+
+    /**
+     * Nombre de produits
+     */
+    private final Long count;
+}
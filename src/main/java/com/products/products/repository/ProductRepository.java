@@ -1,18 +1,31 @@
 package com.products.products.repository;
 
 import com.products.products.entity.Product;
+import com.products.products.utils.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour les produits
  */
-public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
 
+    /**
+     * Récupère une page de produits par titre
+     * @param pageable Pageable
+     * @param title Titre
+     * @return Page de produits
+     */
+    @EntityGraph(Product.CATEGORY_AND_BRAND_GRAPH)
     Page<Product> findByTitleContaining(Pageable pageable, String title);
 
     /**
@@ -21,6 +34,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
      * @param pageable Pageable
      * @return Page de produits
      */
+    @EntityGraph(Product.CATEGORY_AND_BRAND_GRAPH)
     Page<Product> findByCategoryId(int id, Pageable pageable);
 
 
@@ -29,5 +43,45 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
      * @param title Titre
      * @return Le produit
      */
+    @EntityGraph(Product.CATEGORY_AND_BRAND_GRAPH)
     List<Product> findByTitleContaining(String title);
-}
\ No newline at end of file
+
+    /**
+     * Récupère des produits par leurs ids, avec leur catégorie et leur marque
+     * @param ids Ids des produits
+     * @return Liste de produits (ordre non garanti)
+     */
+    @EntityGraph(Product.CATEGORY_AND_BRAND_GRAPH)
+    List<Product> findByIdIn(Collection<Integer> ids);
+
+    /**
+     * Récupère les produits portant l'un des titres donnés
+     * @param titles Titres
+     * @return Liste de produits
+     */
+    List<Product> findByTitleIn(Collection<String> titles);
+
+    /**
+     * Récupère la version d'un produit sans charger l'entité
+     * @param id Id du produit
+     * @return Version du produit
+     */
+    @Query("select new com.products.products.utils.ResourceVersion(p.lastUpdated, 1L) from Product p where p.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") int id);
+
+    /**
+     * Récupère la version de l'ensemble des produits (date de modification maximale et nombre)
+     * @return Version des produits
+     */
+    @Query("select new com.products.products.utils.ResourceVersion(max(p.lastUpdated), count(p)) from Product p")
+    ResourceVersion findVersion();
+
+    /**
+     * Récupère la version des produits d'une catégorie (date de modification maximale et nombre), lue dans l'index
+     * (category_id, last_updated) ; vide si la catégorie n'existe pas
+     * @param categoryId Id de la catégorie
+     * @return Version des produits de la catégorie
+     */
+    @Query("select new com.products.products.utils.ResourceVersion(max(p.lastUpdated), count(p)) from Category c left join Product p on p.category = c where c.id = :categoryId group by c.id")
+    Optional<ResourceVersion> findVersionByCategoryId(@Param("categoryId") int categoryId);
+}
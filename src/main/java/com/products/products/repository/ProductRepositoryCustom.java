@@ -0,0 +1,69 @@
+package com.products.products.repository;
+
+import com.products.products.entity.Product;
+import com.products.products.specification.GenericSpecification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Requêtes personnalisées sur les produits
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Récupère une page de produits correspondant à la spécification, avec leur catégorie et leur marque
+     * (remplace l'implémentation de JpaSpecificationExecutor)
+     * @param specification Spécification
+     * @param pageable Pageable
+     * @return Page de produits
+     */
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    /**
+     * Compte les produits correspondant à la spécification (remplace l'implémentation de JpaSpecificationExecutor)
+     * @param specification Spécification
+     * @return Nombre de produits
+     */
+    long count(Specification<Product> specification);
+
+    /**
+     * Récupère les premiers produits correspondant à la spécification, sans OFFSET ni requête de comptage
+     * @param specification Spécification
+     * @param sort Tri
+     * @param limit Nombre maximum de produits
+     * @return Liste de produits
+     */
+    List<Product> findAllSeek(Specification<Product> specification, Sort sort, int limit);
+
+    /**
+     * Récupère une tranche de produits correspondant à la spécification, sans requête de comptage
+     * @param specification Spécification
+     * @param pageable Pageable
+     * @return Tranche de produits
+     */
+    Slice<Product> findSlice(Specification<Product> specification, Pageable pageable);
+
+    /**
+     * Parcourt tous les produits correspondant à la spécification avec un curseur en avant seulement, par lots :
+     * chaque lot est traité puis détaché du contexte de persistance, la mémoire utilisée ne dépend pas du nombre de produits
+     * @param specification Spécification
+     * @param fetchSize Nombre de lignes lues par aller-retour JDBC (et taille des lots)
+     * @param chunkConsumer Traitement d'un lot de produits
+     */
+    void scroll(Specification<Product> specification, int fetchSize, Consumer<List<Product>> chunkConsumer);
+
+    /**
+     * Compte en une seule requête les produits correspondant à la spécification, par catégorie, marque et tranche de prix
+     * @param specification Spécification
+     * @param priceBounds Bornes croissantes des tranches de prix : la tranche i contient les prix de [priceBounds[i - 1], priceBounds[i][
+     * @return Nombre de produits de chaque combinaison présente
+     */
+    List<ProductFacetCount> countFacets(GenericSpecification<Product> specification, List<BigDecimal> priceBounds);
+}
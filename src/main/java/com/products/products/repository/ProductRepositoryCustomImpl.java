@@ -0,0 +1,311 @@
+package com.products.products.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.products.entity.Product;
+import com.products.products.specification.GenericSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation des requêtes personnalisées sur les produits.
+ * <p>
+ * Les listes filtrées par une GenericSpecification sont exécutées en JPQL paramétré plutôt qu'en requête Criteria :
+ * Hibernate ne met pas en cache le plan d'une requête Criteria (ni d'une requête avec un graphe d'entités), il devrait
+ * sinon reconstruire et retraduire la requête SQL à chaque appel. La requête et sa requête de comptage sont construites
+ * une fois par forme (critères présents et tri) puis gardées dans un cache borné (app.query-shapes.max-size) ; seules
+ * les valeurs liées changent. Les succès / échecs sont exposés dans les métriques (cache.gets, cache productQueryShapes),
+ * ceux du cache des plans d'Hibernate dans hibernate.cache.query.plan.
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom, MeterBinder {
+
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+    private static final String ID = "id";
+    private static final String ALIAS = "p";
+    private static final String SHAPE_CACHE_NAME = "productQueryShapes";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<String, ProductQueryShape> queryShapes;
+
+    /**
+     * @param queryShapesMaxSize Nombre maximum de formes de requêtes conservées
+     */
+    public ProductRepositoryCustomImpl(@Value("${app.query-shapes.max-size}") long queryShapesMaxSize) {
+        this.queryShapes = Caffeine.newBuilder()
+                .maximumSize(queryShapesMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Récupère une page de produits correspondant à la spécification, avec leur catégorie et leur marque
+     * @param specification Spécification
+     * @param pageable Pageable
+     * @return Page de produits
+     */
+    @Override
+    public Page<Product> findAll(Specification<Product> specification, Pageable pageable) {
+        if (!(specification instanceof GenericSpecification<Product> genericSpecification)) {
+            List<Product> products = createQuery(specification, pageable.getSort())
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList();
+            return PageableExecutionUtils.getPage(products, pageable, () -> countByCriteria(specification));
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        ProductQueryShape shape = getQueryShape(genericSpecification, pageable.getSort(), parameters);
+        List<Product> products = bind(entityManager.createQuery(shape.selectQuery(), Product.class), parameters)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(products, pageable,
+                () -> bind(entityManager.createQuery(shape.countQuery(), Long.class), parameters).getSingleResult());
+    }
+
+    /**
+     * Compte les produits correspondant à la spécification
+     * @param specification Spécification
+     * @return Nombre de produits
+     */
+    @Override
+    public long count(Specification<Product> specification) {
+        if (!(specification instanceof GenericSpecification<Product> genericSpecification)) {
+            return countByCriteria(specification);
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        ProductQueryShape shape = getQueryShape(genericSpecification, Sort.unsorted(), parameters);
+        return bind(entityManager.createQuery(shape.countQuery(), Long.class), parameters).getSingleResult();
+    }
+
+    /**
+     * Récupère les premiers produits correspondant à la spécification, sans OFFSET ni requête de comptage
+     * @param specification Spécification
+     * @param sort Tri
+     * @param limit Nombre maximum de produits
+     * @return Liste de produits
+     */
+    @Override
+    public List<Product> findAllSeek(Specification<Product> specification, Sort sort, int limit) {
+        return createQuery(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Récupère une tranche de produits correspondant à la spécification, sans requête de comptage
+     * @param specification Spécification
+     * @param pageable Pageable
+     * @return Tranche de produits
+     */
+    @Override
+    public Slice<Product> findSlice(Specification<Product> specification, Pageable pageable) {
+        // Une ligne de plus permet de savoir s'il existe une tranche suivante
+        List<Product> products = createShapedQuery(specification, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = products.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? products.subList(0, pageable.getPageSize()) : products, pageable, hasNext);
+    }
+
+    /**
+     * Parcourt tous les produits correspondant à la spécification avec un curseur en avant seulement, par lots
+     * @param specification Spécification
+     * @param fetchSize Nombre de lignes lues par aller-retour JDBC (et taille des lots)
+     * @param chunkConsumer Traitement d'un lot de produits
+     */
+    @Override
+    public void scroll(Specification<Product> specification, int fetchSize, Consumer<List<Product>> chunkConsumer) {
+        // Un parcours complet ne doit pas évincer les produits utiles du cache de second niveau
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+
+        try (Stream<Product> products = createShapedQuery(specification, Sort.by(ID))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<Product> chunk = new ArrayList<>(fetchSize);
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize) {
+                    acceptAndDetach(chunk, chunkConsumer);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                acceptAndDetach(chunk, chunkConsumer);
+            }
+        }
+    }
+
+    /**
+     * Compte en une seule requête les produits correspondant à la spécification, par catégorie, marque et tranche de prix
+     * @param specification Spécification
+     * @param priceBounds Bornes croissantes des tranches de prix
+     * @return Nombre de produits de chaque combinaison présente
+     */
+    @Override
+    public List<ProductFacetCount> countFacets(GenericSpecification<Product> specification, List<BigDecimal> priceBounds) {
+        List<Object> parameters = new ArrayList<>();
+        String where = specification.toJpql(ALIAS, entityManager.getMetamodel().entity(Product.class), parameters);
+        // Bornes en littéraux (configuration) : l'expression de la tranche doit être identique dans le select et le group by
+        StringBuilder priceRange = new StringBuilder("case");
+        for (int i = 0; i < priceBounds.size(); i++) {
+            priceRange.append(" when ").append(ALIAS).append(".price < ").append(priceBounds.get(i).toPlainString()).append(" then ").append(i);
+        }
+        priceRange.append(" else ").append(priceBounds.size()).append(" end");
+
+        String query = "select new " + ProductFacetCount.class.getName() + "(c.id, c.name, b.id, b.name, " + priceRange + ", count(" + ALIAS + "))"
+                + " from Product " + ALIAS + " join " + ALIAS + ".category c join " + ALIAS + ".brand b"
+                + " where " + where
+                + " group by c.id, c.name, b.id, b.name, " + priceRange;
+        return bind(entityManager.createQuery(query, ProductFacetCount.class), parameters).getResultList();
+    }
+
+    /**
+     * Traite un lot de produits puis le détache du contexte de persistance
+     * @param chunk Lot de produits
+     * @param chunkConsumer Traitement du lot
+     */
+    private void acceptAndDetach(List<Product> chunk, Consumer<List<Product>> chunkConsumer) {
+        chunkConsumer.accept(chunk);
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    /**
+     * Construit la requête de sélection des produits avec leur catégorie et leur marque
+     * @param specification Spécification
+     * @param sort Tri
+     * @return Requête typée
+     */
+    private TypedQuery<Product> createQuery(Specification<Product> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Product.CATEGORY_AND_BRAND_GRAPH));
+    }
+
+    /**
+     * Construit la requête de sélection des produits, en JPQL paramétré pour une GenericSpecification
+     * @param specification Spécification
+     * @param sort Tri
+     * @return Requête typée
+     */
+    private TypedQuery<Product> createShapedQuery(Specification<Product> specification, Sort sort) {
+        if (!(specification instanceof GenericSpecification<Product> genericSpecification)) {
+            return createQuery(specification, sort);
+        }
+        List<Object> parameters = new ArrayList<>();
+        ProductQueryShape shape = getQueryShape(genericSpecification, sort, parameters);
+        return bind(entityManager.createQuery(shape.selectQuery(), Product.class), parameters);
+    }
+
+    /**
+     * Récupère la forme de requête correspondant aux critères de la spécification et au tri, ou la construit
+     * @param specification Spécification
+     * @param sort Tri
+     * @param parameters Valeurs des paramètres de la requête, complétées
+     * @return Forme de requête
+     */
+    private ProductQueryShape getQueryShape(GenericSpecification<Product> specification, Sort sort, List<Object> parameters) {
+        EntityType<Product> entityType = entityManager.getMetamodel().entity(Product.class);
+        String where = specification.toJpql(ALIAS, entityType, parameters);
+        return queryShapes.get(where + " | " + sort, key -> {
+            String orderBy = sort.stream()
+                    .map(order -> ALIAS + "." + entityType.getAttribute(order.getProperty()).getName() + " " + order.getDirection().name().toLowerCase())
+                    .collect(Collectors.joining(", "));
+            return new ProductQueryShape(
+                    "select " + ALIAS + " from Product " + ALIAS
+                            + " left join fetch " + ALIAS + ".category left join fetch " + ALIAS + ".brand"
+                            + " where " + where
+                            + (orderBy.isEmpty() ? "" : " order by " + orderBy),
+                    "select count(" + ALIAS + ") from Product " + ALIAS + " where " + where);
+        });
+    }
+
+    /**
+     * Lie les valeurs des paramètres positionnels d'une requête
+     * @param query Requête
+     * @param parameters Valeurs des paramètres
+     * @return La requête
+     */
+    private static <Q extends Query> Q bind(Q query, List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+
+    /**
+     * Compte les produits correspondant à une spécification quelconque, avec une requête Criteria
+     * @param specification Spécification
+     * @return Nombre de produits
+     */
+    private long countByCriteria(Specification<Product> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query.select(criteriaBuilder.count(root))).getSingleResult();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, queryShapes, SHAPE_CACHE_NAME);
+    }
+
+    /**
+     * Forme de requête : requêtes JPQL de sélection et de comptage, partagées par toutes les valeurs des critères
+     * @param selectQuery Requête de sélection, avec la catégorie et la marque
+     * @param countQuery Requête de comptage
+     */
+    private record ProductQueryShape(String selectQuery, String countQuery) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.products.products.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Arbre préfixe immuable des termes vers les ids des produits qui les contiennent.
+ * Un ajout ou un retrait ne recopie que les noeuds du chemin du terme et renvoie un nouvel arbre :
+ * les lecteurs parcourent l'arbre publié sans verrou pendant qu'un nouvel arbre est construit.
+ */
+final class PrefixTrie {
+
+    static final PrefixTrie EMPTY = new PrefixTrie(new char[0], new PrefixTrie[0], new int[0]);
+
+    /**
+     * Caractères des noeuds enfants, triés
+     */
+    private final char[] labels;
+
+    /**
+     * Noeuds enfants, dans l'ordre de labels
+     */
+    private final PrefixTrie[] children;
+
+    /**
+     * Ids triés des produits dont un terme se termine sur ce noeud
+     */
+    private final int[] ids;
+
+    private PrefixTrie(char[] labels, PrefixTrie[] children, int[] ids) {
+        this.labels = labels;
+        this.children = children;
+        this.ids = ids;
+    }
+
+    /**
+     * Ajoute un terme
+     * @param term Terme
+     * @param id Id du produit
+     * @return Arbre contenant le terme
+     */
+    PrefixTrie add(String term, int id) {
+        return add(term, 0, id);
+    }
+
+    /**
+     * Retire un terme
+     * @param term Terme
+     * @param id Id du produit
+     * @return Arbre sans le terme pour ce produit
+     */
+    PrefixTrie remove(String term, int id) {
+        PrefixTrie trie = remove(term, 0, id);
+        return trie == null ? EMPTY : trie;
+    }
+
+    /**
+     * Parcourt les ids des produits dont un terme commence par le préfixe (un même id peut être visité plusieurs fois)
+     * @param prefix Préfixe
+     * @param consumer Traitement d'un id
+     */
+    void forEachId(String prefix, IntConsumer consumer) {
+        PrefixTrie node = this;
+        for (int depth = 0; depth < prefix.length() && node != null; depth++) {
+            node = node.child(prefix.charAt(depth));
+        }
+        if (node != null) {
+            node.forEachId(consumer);
+        }
+    }
+
+    private void forEachId(IntConsumer consumer) {
+        for (int id : ids) {
+            consumer.accept(id);
+        }
+        for (PrefixTrie child : children) {
+            child.forEachId(consumer);
+        }
+    }
+
+    private PrefixTrie child(char label) {
+        int index = Arrays.binarySearch(labels, label);
+        return index < 0 ? null : children[index];
+    }
+
+    private PrefixTrie add(String term, int depth, int id) {
+        if (depth == term.length()) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? this : new PrefixTrie(labels, children, insert(ids, -index - 1, id));
+        }
+        char label = term.charAt(depth);
+        int index = Arrays.binarySearch(labels, label);
+        if (index < 0) {
+            int at = -index - 1;
+            return new PrefixTrie(insert(labels, at, label), insert(children, at, EMPTY.add(term, depth + 1, id)), ids);
+        }
+        PrefixTrie child = children[index].add(term, depth + 1, id);
+        if (child == children[index]) {
+            return this;
+        }
+        PrefixTrie[] updatedChildren = children.clone();
+        updatedChildren[index] = child;
+        return new PrefixTrie(labels, updatedChildren, ids);
+    }
+
+    /**
+     * @return Noeud sans le terme, ou null si le noeud devient vide
+     */
+    private PrefixTrie remove(String term, int depth, int id) {
+        if (depth == term.length()) {
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? this : of(labels, children, delete(ids, index));
+        }
+        int index = Arrays.binarySearch(labels, term.charAt(depth));
+        if (index < 0) {
+            return this;
+        }
+        PrefixTrie child = children[index].remove(term, depth + 1, id);
+        if (child == children[index]) {
+            return this;
+        }
+        if (child == null) {
+            return of(delete(labels, index), delete(children, index), ids);
+        }
+        PrefixTrie[] updatedChildren = children.clone();
+        updatedChildren[index] = child;
+        return new PrefixTrie(labels, updatedChildren, ids);
+    }
+
+    private static PrefixTrie of(char[] labels, PrefixTrie[] children, int[] ids) {
+        return labels.length == 0 && ids.length == 0 ? null : new PrefixTrie(labels, children, ids);
+    }
+
+    private static int[] insert(int[] values, int at, int value) {
+        int[] inserted = new int[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, at);
+        inserted[at] = value;
+        System.arraycopy(values, at, inserted, at + 1, values.length - at);
+        return inserted;
+    }
+
+    private static char[] insert(char[] values, int at, char value) {
+        char[] inserted = new char[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, at);
+        inserted[at] = value;
+        System.arraycopy(values, at, inserted, at + 1, values.length - at);
+        return inserted;
+    }
+
+    private static PrefixTrie[] insert(PrefixTrie[] values, int at, PrefixTrie value) {
+        PrefixTrie[] inserted = new PrefixTrie[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, at);
+        inserted[at] = value;
+        System.arraycopy(values, at, inserted, at + 1, values.length - at);
+        return inserted;
+    }
+
+    private static int[] delete(int[] values, int at) {
+        int[] deleted = new int[values.length - 1];
+        System.arraycopy(values, 0, deleted, 0, at);
+        System.arraycopy(values, at + 1, deleted, at, values.length - at - 1);
+        return deleted;
+    }
+
+    private static char[] delete(char[] values, int at) {
+        char[] deleted = new char[values.length - 1];
+        System.arraycopy(values, 0, deleted, 0, at);
+        System.arraycopy(values, at + 1, deleted, at, values.length - at - 1);
+        return deleted;
+    }
+
+    private static PrefixTrie[] delete(PrefixTrie[] values, int at) {
+        PrefixTrie[] deleted = new PrefixTrie[values.length - 1];
+        System.arraycopy(values, 0, deleted, 0, at);
+        System.arraycopy(values, at + 1, deleted, at, values.length - at - 1);
+        return deleted;
+    }
+}
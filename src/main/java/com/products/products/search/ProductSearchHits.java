@@ -0,0 +1,24 @@
+package com.products.products.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Résultat d'une recherche plein texte : ids de la page par pertinence décroissante et nombre total de résultats
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSearchHits {
+
+    /**
+     * Ids des produits de la page, du plus pertinent au moins pertinent
+     */
+    private List<Integer> ids;
+
+    /**
+     * Nombre total de produits correspondants
+     */
+    private long totalHits;
+}
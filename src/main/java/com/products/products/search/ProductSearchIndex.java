@@ -0,0 +1,357 @@
+package com.products.products.search;
+
+import com.products.products.entity.Product;
+import com.products.products.repository.ProductRepository;
+import com.products.products.specification.metaModel.Product_;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Index plein texte embarqué (Lucene, en mémoire) sur le titre et la description des produits.
+ * Il est reconstruit au démarrage puis maintenu à jour par les écritures de ProductServiceImpl ; tant qu'il n'est pas
+ * chargé, les recherches passent par la base.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String PRICE = "price";
+    private static final float EXACT_TERM_BOOST = 2F;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+
+    @Value("${app.search.enabled}")
+    private boolean enabled;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory = new ByteBuffersDirectory();
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    /**
+     * Mises à jour validées pendant un chargement, à rejouer ensuite (null hors chargement), protégées par le verrou de l'instance
+     */
+    private List<IndexAction> pendingActions;
+
+    /**
+     * Ouvre l'index
+     * @throws IOException Exception d'entrée/sortie
+     */
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    /**
+     * Ferme l'index
+     * @throws IOException Exception d'entrée/sortie
+     */
+    @PreDestroy
+    void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * Indique si la recherche plein texte est activée et l'index chargé
+     * @return Vrai s'il peut servir les recherches
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Reconstruit l'index à partir de la base, par lots triés par id, une fois l'application démarrée. Les écritures
+     * validées pendant le chargement sont mises en attente puis rejouées : sans cela, un produit supprimé après la
+     * lecture de sa page resterait dans l'index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            pendingActions = new ArrayList<>();
+        }
+        try {
+            indexWriter.deleteAll();
+            Page<Product> productPage;
+            int pageNo = 0;
+            do {
+                productPage = productRepository.findAll(PageRequest.of(pageNo++, REBUILD_BATCH_SIZE, Sort.by(Product_.ID)));
+                for (Product product : productPage) {
+                    indexWriter.updateDocument(new Term(ID, String.valueOf(product.getId())), toDocument(product));
+                }
+            } while (productPage.hasNext());
+            synchronized (this) {
+                for (IndexAction action : pendingActions) {
+                    action.run();
+                }
+                pendingActions = null;
+                searcherManager.maybeRefresh();
+                ready = true;
+            }
+            log.info("Product search index rebuilt with {} products", indexWriter.getDocStats().numDocs);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Indexe (ou réindexe) un produit, après validation de la transaction en cours s'il y en a une
+     * @param product Produit
+     */
+    public void index(Product product) {
+        if (!enabled) {
+            return;
+        }
+        Document document = toDocument(product);
+        Term id = new Term(ID, String.valueOf(product.getId()));
+        afterCommit(() -> {
+            indexWriter.updateDocument(id, document);
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    /**
+     * Indexe (ou réindexe) des produits en une seule mise à jour, après validation de la transaction en cours s'il y en a une
+     * @param products Produits
+     */
+    public void indexAll(List<Product> products) {
+        if (!enabled) {
+            return;
+        }
+        List<Document> documents = products.stream().map(this::toDocument).collect(Collectors.toList());
+        afterCommit(() -> {
+            for (Document document : documents) {
+                indexWriter.updateDocument(new Term(ID, document.get(ID)), document);
+            }
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    /**
+     * Retire un produit de l'index, après validation de la transaction en cours s'il y en a une
+     * @param productId Id du produit
+     */
+    public void remove(int productId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            indexWriter.deleteDocuments(new Term(ID, String.valueOf(productId)));
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    /**
+     * Recherche les produits dont le titre et la description contiennent les mots donnés, par pertinence décroissante
+     * @param title Mots du titre
+     * @param description Mots de la description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @return Ids de la page et nombre total de résultats
+     */
+    public ProductSearchHits search(String title, String description, Integer minPrice, Integer maxPrice, int pageNo, int pageSize) {
+        Query query = buildQuery(title, description, minPrice, maxPrice);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int totalHits = searcher.count(query);
+                // En long comme l'offset de PageRequest : une page au-delà des résultats est vide, sans débordement
+                long offset = (long) pageNo * pageSize;
+                if (offset >= totalHits) {
+                    return new ProductSearchHits(List.of(), totalHits);
+                }
+                TopDocs topDocs = searcher.search(query, (int) Math.min(offset + pageSize, totalHits));
+                StoredFields storedFields = searcher.storedFields();
+                List<Integer> ids = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = (int) offset; i < scoreDocs.length; i++) {
+                    ids.add(Integer.parseInt(storedFields.document(scoreDocs[i].doc).get(ID)));
+                }
+                return new ProductSearchHits(ids, totalHits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Construit la requête : chaque mot doit apparaître (exactement ou en préfixe) dans son champ, le prix filtre sans noter
+     * @param title Mots du titre
+     * @param description Mots de la description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @return La requête
+     */
+    private Query buildQuery(String title, String description, Integer minPrice, Integer maxPrice) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        addTextClauses(builder, TITLE, title);
+        addTextClauses(builder, DESCRIPTION, description);
+        if (minPrice != null || maxPrice != null) {
+            builder.add(FloatPoint.newRangeQuery(PRICE,
+                    minPrice == null ? Float.NEGATIVE_INFINITY : minPrice,
+                    maxPrice == null ? Float.POSITIVE_INFINITY : maxPrice), BooleanClause.Occur.FILTER);
+        }
+        BooleanQuery query = builder.build();
+        return query.clauses().isEmpty() ? new MatchAllDocsQuery() : query;
+    }
+
+    /**
+     * Ajoute une clause obligatoire par mot du texte
+     * @param builder Requête en construction
+     * @param field Champ
+     * @param text Texte recherché
+     */
+    private void addTextClauses(BooleanQuery.Builder builder, String field, String text) {
+        if (!StringUtils.hasText(text)) {
+            return;
+        }
+        for (String token : tokenize(field, text)) {
+            Term term = new Term(field, token);
+            builder.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(term), EXACT_TERM_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(term), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+    }
+
+    /**
+     * Découpe un texte avec l'analyseur de l'index
+     * @param field Champ
+     * @param text Texte
+     * @return Mots normalisés
+     */
+    private List<String> tokenize(String field, String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream tokenStream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return tokens;
+    }
+
+    /**
+     * Convertit un produit en document Lucene
+     * @param product Produit
+     * @return Document
+     */
+    private Document toDocument(Product product) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.YES));
+        document.add(new TextField(TITLE, product.getTitle(), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        document.add(new FloatPoint(PRICE, product.getPrice()));
+        return document;
+    }
+
+    /**
+     * Exécute une mise à jour de l'index après validation de la transaction en cours, ou immédiatement
+     * @param action Mise à jour
+     */
+    private void afterCommit(IndexAction action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(action);
+                }
+            });
+        } else {
+            apply(action);
+        }
+    }
+
+    /**
+     * Exécute une mise à jour de l'index, ou la met en attente pendant un chargement
+     * @param action Mise à jour
+     */
+    private synchronized void apply(IndexAction action) {
+        if (pendingActions != null) {
+            pendingActions.add(action);
+            return;
+        }
+        try {
+            action.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Mise à jour de l'index
+     */
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,336 @@
+package com.products.products.search;
+
+import com.products.products.dto.ProductSuggestionDto;
+import com.products.products.entity.Product;
+import com.products.products.repository.ProductRepository;
+import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.metaModel.Product_;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index préfixe en mémoire pour l'autocomplétion : les mots des titres, des marques et des catégories des produits
+ * sont rangés dans un arbre préfixe (PrefixTrie). Il est chargé au démarrage puis maintenu à jour, produit par produit,
+ * par les écritures de ProductServiceImpl ; les lecteurs ne se bloquent jamais.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSuggestIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Titre commençant par la saisie, puis mots du titre commençant par les mots saisis, puis correspondance
+     * sur la marque ou la catégorie ; à rang égal, les produits les mieux notés d'abord
+     */
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparing(match -> match.suggestion().rating(), Comparator.reverseOrder())
+            .thenComparing(match -> match.suggestion().titleKey())
+            .thenComparingInt(match -> match.suggestion().id());
+
+    private final ProductRepository productRepository;
+
+    @Value("${app.suggest.enabled}")
+    private boolean enabled;
+
+    /**
+     * Longueur minimale d'au moins un mot saisi : un préfixe plus court désigne presque tout le catalogue
+     */
+    @Value("${app.suggest.min-prefix-length}")
+    private int minPrefixLength;
+
+    private final Map<Integer, Suggestion> suggestions = new ConcurrentHashMap<>();
+    private volatile PrefixTrie trie = PrefixTrie.EMPTY;
+    private volatile boolean ready;
+
+    /**
+     * Mises à jour validées pendant un chargement, à rejouer ensuite (null hors chargement), protégées par le verrou de l'instance
+     */
+    private List<Runnable> pendingChanges;
+
+    /**
+     * Indique si l'index est activé et chargé
+     * @return Vrai s'il peut servir les suggestions
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Charge l'index complet depuis la base, une fois l'application démarrée. Le serveur accepte déjà des requêtes :
+     * les écritures validées pendant la lecture sont mises en attente puis rejouées sur l'index chargé, sans quoi une
+     * suppression lue avant sa validation laisserait le produit dans l'index jusqu'au prochain démarrage.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+        List<Suggestion> loaded = new ArrayList<>();
+        Page<Product> productPage;
+        int pageNo = 0;
+        do {
+            productPage = productRepository.findAll(new GenericSpecification<>(), PageRequest.of(pageNo++, REBUILD_BATCH_SIZE, Sort.by(Product_.ID)));
+            productPage.forEach(product -> loaded.add(Suggestion.of(product)));
+        } while (productPage.hasNext());
+
+        synchronized (this) {
+            suggestions.clear();
+            PrefixTrie rebuilt = PrefixTrie.EMPTY;
+            for (Suggestion suggestion : loaded) {
+                suggestions.put(suggestion.id(), suggestion);
+                for (String term : suggestion.terms()) {
+                    rebuilt = rebuilt.add(term, suggestion.id());
+                }
+            }
+            trie = rebuilt;
+            pendingChanges.forEach(Runnable::run);
+            log.info("Product suggest index loaded with {} products, {} writes replayed", loaded.size(), pendingChanges.size());
+            pendingChanges = null;
+            ready = true;
+        }
+    }
+
+    /**
+     * Ajoute ou remplace un produit, après validation de la transaction en cours s'il y en a une
+     * @param product Produit enregistré
+     */
+    public void upsert(Product product) {
+        upsertAll(List.of(product));
+    }
+
+    /**
+     * Ajoute ou remplace des produits, après validation de la transaction en cours s'il y en a une
+     * @param products Produits enregistrés
+     */
+    public void upsertAll(List<Product> products) {
+        if (!enabled) {
+            return;
+        }
+        // Marques et catégories lues dans la transaction de l'écriture
+        List<Suggestion> updated = products.stream().map(Suggestion::of).collect(Collectors.toList());
+        afterCommit(() -> apply(() -> {
+            PrefixTrie current = trie;
+            for (Suggestion suggestion : updated) {
+                Suggestion previous = suggestions.put(suggestion.id(), suggestion);
+                Set<String> terms = Set.of(suggestion.terms());
+                if (previous != null) {
+                    for (String term : previous.terms()) {
+                        if (!terms.contains(term)) {
+                            current = current.remove(term, suggestion.id());
+                        }
+                    }
+                }
+                for (String term : suggestion.terms()) {
+                    current = current.add(term, suggestion.id());
+                }
+            }
+            trie = current;
+        }));
+    }
+
+    /**
+     * Retire un produit, après validation de la transaction en cours s'il y en a une
+     * @param productId Id du produit
+     */
+    public void remove(int productId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(() -> {
+            Suggestion previous = suggestions.remove(productId);
+            if (previous != null) {
+                PrefixTrie current = trie;
+                for (String term : previous.terms()) {
+                    current = current.remove(term, productId);
+                }
+                trie = current;
+            }
+        }));
+    }
+
+    /**
+     * Suggère les produits dont chaque mot saisi commence un mot du titre, de la marque ou de la catégorie,
+     * si l'un des mots saisis atteint la longueur minimale
+     * @param query Saisie
+     * @param limit Nombre maximum de suggestions
+     * @return Suggestions, de la plus pertinente à la moins pertinente
+     */
+    public List<ProductSuggestionDto> suggest(String query, int limit) {
+        String[] tokens = tokenize(query).toArray(String[]::new);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        String titlePrefix = String.join(" ", tokens);
+        // Le mot le plus long est a priori le plus sélectif : les autres sont vérifiés sur chaque candidat
+        String longest = Arrays.stream(tokens).max(Comparator.comparingInt(String::length)).orElseThrow();
+        if (longest.length() < minPrefixLength) {
+            return List.of();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        trie.forEachId(longest, id -> {
+            Suggestion suggestion = suggestions.get(id);
+            // Un id lu pendant une écriture peut ne plus correspondre : le rang est recalculé sur le produit courant
+            if (suggestion == null || !seen.add(id)) {
+                return;
+            }
+            int rank = suggestion.rank(titlePrefix, tokens);
+            if (rank >= 0) {
+                best.add(new Match(suggestion, rank));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+
+        return best.stream()
+                .sorted(RANKING)
+                .map(match -> new ProductSuggestionDto(match.suggestion().id(), match.suggestion().title()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Découpe un texte en mots sans accents ni majuscules
+     * @param text Texte
+     * @return Mots normalisés
+     */
+    static Stream<String> tokenize(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(normalized).filter(token -> !token.isEmpty());
+    }
+
+    /**
+     * Applique une mise à jour validée, ou la met en attente pendant un chargement
+     * @param change Mise à jour
+     */
+    private synchronized void apply(Runnable change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Exécute une mise à jour après validation de la transaction en cours, ou immédiatement
+     * @param action Mise à jour
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Produit indexé
+     * @param id Id du produit
+     * @param title Titre affiché
+     * @param titleKey Mots du titre normalisés, séparés par une espace
+     * @param titleTerms Mots distincts du titre, triés
+     * @param terms Mots distincts du titre, de la marque et de la catégorie, triés
+     * @param rating Note (0 si absente)
+     */
+    private record Suggestion(int id, String title, String titleKey, String[] titleTerms, String[] terms, float rating) {
+
+        static Suggestion of(Product product) {
+            List<String> titleTokens = tokenize(product.getTitle()).toList();
+            String[] terms = Stream.of(
+                            titleTokens.stream(),
+                            tokenize(product.getBrand() == null ? null : product.getBrand().getName()),
+                            tokenize(product.getCategory() == null ? null : product.getCategory().getName()))
+                    .flatMap(stream -> stream)
+                    .distinct()
+                    .sorted()
+                    .toArray(String[]::new);
+            return new Suggestion(
+                    product.getId(),
+                    product.getTitle(),
+                    String.join(" ", titleTokens),
+                    titleTokens.stream().distinct().sorted().toArray(String[]::new),
+                    terms,
+                    product.getRating() == null ? 0F : product.getRating());
+        }
+
+        /**
+         * @param titlePrefix Mots saisis, séparés par une espace
+         * @param tokens Mots saisis
+         * @return 0 si le titre commence par la saisie, 1 si chaque mot saisi commence un mot du titre,
+         * 2 s'il faut la marque ou la catégorie, -1 si le produit ne correspond pas
+         */
+        int rank(String titlePrefix, String[] tokens) {
+            if (titleKey.startsWith(titlePrefix)) {
+                return 0;
+            }
+            if (allPrefixed(titleTerms, tokens)) {
+                return 1;
+            }
+            return allPrefixed(terms, tokens) ? 2 : -1;
+        }
+
+        /**
+         * @param sortedTerms Mots triés
+         * @param tokens Mots saisis
+         * @return Vrai si chaque mot saisi commence l'un des mots
+         */
+        private static boolean allPrefixed(String[] sortedTerms, String[] tokens) {
+            for (String token : tokens) {
+                int index = Arrays.binarySearch(sortedTerms, token);
+                int candidate = index >= 0 ? index : -index - 1;
+                if (candidate == sortedTerms.length || !sortedTerms[candidate].startsWith(token)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Produit correspondant à la saisie et son rang
+     */
+    private record Match(Suggestion suggestion, int rank) {
+    }
+}
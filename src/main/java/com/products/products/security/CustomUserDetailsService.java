@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -18,7 +19,7 @@ import java.util.Set;
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -40,4 +41,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getPassword(),
                 authorities);
     }
+
+    /**
+     * Remplace le hachage du mot de passe d'un utilisateur, appelé après une connexion réussie quand le hachage
+     * enregistré est plus faible que la force configurée de l'encodeur
+     * @param userDetails Utilisateur authentifié
+     * @param newPassword Nouveau hachage du mot de passe
+     * @return L'utilisateur avec le nouveau hachage
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found with username or email: "+ userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return new org.springframework.security.core.userdetails.User(user.getUsername(),
+                newPassword,
+                userDetails.getAuthorities());
+    }
 }
@@ -0,0 +1,276 @@
+package com.products.products.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Vérification rapide des tokens HMAC émis par JwtTokenProvider : la signature est calculée sur les octets bruts du token
+ * avec une clé précalculée et un Mac réutilisé (pris dans un pool plutôt que par thread, pour rester efficace
+ * sur des threads virtuels), puis seuls les claims sub, exp et roles sont lus, sans
+ * construire de Map intermédiaire. Un token d'une autre forme (en-tête différent, claim inconnu) n'est pas traité ici.
+ */
+final class HmacJwtVerifier {
+
+    private static final String SIGNATURE_MISMATCH = "JWT signature does not match locally computed signature. "
+            + "JWT validity cannot be asserted and should not be trusted.";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final Key key;
+    private final String macAlgorithm;
+    private final String encodedHeader;
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param key Clé de signature ; l'algorithme est celui que jjwt choisit pour signer avec cette clé
+     */
+    HmacJwtVerifier(Key key) {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forSigningKey(key);
+        this.key = key;
+        this.macAlgorithm = signatureAlgorithm.getJcaName();
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"alg\":\"" + signatureAlgorithm.getValue() + "\"}").getBytes(StandardCharsets.UTF_8));
+        // échoue dès le démarrage si la clé ne convient pas à l'algorithme
+        newMac();
+    }
+
+    /**
+     * Vérifie un token
+     * @param token Token
+     * @return Token vérifié, ou null si le token n'a pas la forme attendue et doit passer par le parseur générique
+     * @throws MalformedJwtException Si le token ne contient pas exactement deux points
+     * @throws SignatureException Si la signature ne correspond pas
+     * @throws ExpiredJwtException Si le token est expiré
+     */
+    VerifiedToken verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+        }
+        if (firstDot != encodedHeader.length() || !token.startsWith(encodedHeader)) {
+            return null;
+        }
+
+        Scratch buffers = scratchPool.poll();
+        if (buffers == null) {
+            buffers = new Scratch(newMac());
+        }
+        try {
+            if (!hasValidSignature(token, secondDot, buffers)) {
+                return null;
+            }
+
+            int payloadLength = decodeBase64Url(token, firstDot + 1, secondDot, buffers.buffer(secondDot - firstDot));
+            return payloadLength < 0 ? null : readClaims(buffers.buffer, payloadLength);
+        } finally {
+            scratchPool.offer(buffers);
+        }
+    }
+
+    /**
+     * Vérifie la signature du token en temps constant
+     * @param token Token
+     * @param secondDot Position du point précédant la signature
+     * @param buffers Tampons de travail
+     * @return Faux si le token ne peut pas être vérifié ici
+     * @throws SignatureException Si la signature ne correspond pas
+     */
+    private boolean hasValidSignature(String token, int secondDot, Scratch buffers) {
+        byte[] signingInput = buffers.buffer(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c >= BASE64_URL_VALUES.length) {
+                return false;
+            }
+            signingInput[i] = (byte) c;
+        }
+        buffers.mac.update(signingInput, 0, secondDot);
+        try {
+            buffers.mac.doFinal(buffers.computed, 0);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        int signatureLength = decodeBase64Url(token, secondDot + 1, token.length(), buffers.signature);
+        if (signatureLength < 0) {
+            return false;
+        }
+        int difference = signatureLength ^ buffers.computed.length;
+        for (int i = 0; i < buffers.computed.length; i++) {
+            difference |= buffers.computed[i] ^ buffers.signature[i];
+        }
+        if (difference != 0) {
+            throw new SignatureException(SIGNATURE_MISMATCH);
+        }
+        return true;
+    }
+
+    /**
+     * Lit les claims sub, exp et roles
+     * @param payload Claims en JSON
+     * @param length Longueur du JSON
+     * @return Token vérifié, ou null si un claim n'est pas géré ici
+     * @throws ExpiredJwtException Si le token est expiré
+     */
+    private VerifiedToken readClaims(byte[] payload, int length) {
+        String subject = null;
+        long expiration = -1;
+        List<GrantedAuthority> authorities = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT payload is not a JSON object.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        subject = parser.getText();
+                    }
+                    case "exp" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return null;
+                        }
+                        expiration = parser.getLongValue();
+                    }
+                    case "iat" -> parser.skipChildren();
+                    case JwtTokenProvider.ROLES_CLAIM -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            return null;
+                        }
+                        authorities = new ArrayList<>(1);
+                        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                            authorities.add(new SimpleGrantedAuthority(parser.getText()));
+                        }
+                        if (parser.currentToken() != JsonToken.END_ARRAY) {
+                            return null;
+                        }
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new MalformedJwtException("Unable to read JWT payload: " + ex.getMessage(), ex);
+        }
+
+        if (subject == null || expiration < 0) {
+            return null;
+        }
+        if (System.currentTimeMillis() > expiration * 1000) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + Instant.ofEpochSecond(expiration));
+        }
+        return new VerifiedToken(subject, authorities == null ? null : Collections.unmodifiableList(authorities),
+                Instant.ofEpochSecond(expiration));
+    }
+
+    /**
+     * Décode une partie du token en base64url (sans remplissage)
+     * @param token Token
+     * @param from Début de la partie
+     * @param to Fin de la partie (exclue)
+     * @param target Tableau de destination
+     * @return Nombre d'octets décodés, -1 si la partie contient un caractère hors de l'alphabet ou dépasse la destination
+     */
+    private static int decodeBase64Url(String token, int from, int to, byte[] target) {
+        int bits = 0;
+        int bitCount = 0;
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < BASE64_URL_VALUES.length ? BASE64_URL_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (length == target.length) {
+                    return -1;
+                }
+                target[length++] = (byte) (bits >> bitCount);
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Crée un Mac initialisé avec la clé
+     * @return Mac
+     */
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize " + macAlgorithm, ex);
+        }
+    }
+
+    /**
+     * Mac et tampons utilisés par une seule vérification à la fois
+     */
+    private static final class Scratch {
+
+        private final Mac mac;
+        private final byte[] computed;
+        private final byte[] signature;
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+        private Scratch(Mac mac) {
+            this.mac = mac;
+            this.computed = new byte[mac.getMacLength()];
+            this.signature = new byte[mac.getMacLength()];
+        }
+
+        /**
+         * @param capacity Taille minimum
+         * @return Tampon de travail d'au moins la taille demandée
+         */
+        private byte[] buffer(int capacity) {
+            if (buffer.length < capacity) {
+                buffer = new byte[Math.max(capacity, buffer.length * 2)];
+            }
+            return buffer;
+        }
+    }
+}
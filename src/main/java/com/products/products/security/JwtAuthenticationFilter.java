@@ -15,6 +15,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filtre pour l'authentification JWT
@@ -25,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Filtre pour l'authentification JWT
@@ -42,19 +44,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // get JWT token from http request
         String token = getTokenFromRequest(request);
 
-        // validate token
-        if(StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)){
+        if(StringUtils.hasText(token)){
 
-            // get username from token
-            String username = jwtTokenProvider.getUsername(token);
-
-            // load the user associated with token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // validate token, or reuse a token already verified: username and roles come from its claims
+            VerifiedToken verifiedToken = verifiedTokenCache.get(token, this::verify);
 
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
+                    verifiedToken.getUsername(),
                     null,
-                    userDetails.getAuthorities()
+                    verifiedToken.getAuthorities()
             );
 
             authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -66,6 +64,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Vérifie un token ; les rôles d'un token émis sans le claim des rôles sont chargés une seule fois depuis la base
+     * @param token Token JWT
+     * @return Token vérifié
+     */
+    private VerifiedToken verify(String token) {
+        VerifiedToken verifiedToken = jwtTokenProvider.verify(token);
+        if (verifiedToken.getAuthorities() != null) {
+            return verifiedToken;
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.getUsername());
+        return verifiedToken.withAuthorities(List.copyOf(userDetails.getAuthorities()));
+    }
+
     /**
      * Récupère le token JWT depuis la requête
      * @param request Requête
@@ -4,13 +4,20 @@ import com.products.products.exception.ProductAPIException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Service pour la gestion des tokens JWT
@@ -18,11 +25,28 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt-secret}")
-    private String jwtSecret;
+    /**
+     * Claim portant les rôles de l'utilisateur
+     */
+    static final String ROLES_CLAIM = "roles";
 
-    @Value("${app.jwt-expiration-milliseconds}")
-    private long jwtExpirationDate;
+    private final Key key;
+    private final JwtParser jwtParser;
+    private final HmacJwtVerifier hmacJwtVerifier;
+    private final long jwtExpirationDate;
+
+    /**
+     * La clé, le parseur et le vérificateur sont calculés une fois pour toutes
+     * @param jwtSecret Clé secrète encodée en base64
+     * @param jwtExpirationDate Durée de validité d'un token en millisecondes
+     */
+    public JwtTokenProvider(@Value("${app.jwt-secret}") String jwtSecret,
+                            @Value("${app.jwt-expiration-milliseconds}") long jwtExpirationDate) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.hmacJwtVerifier = new HmacJwtVerifier(key);
+        this.jwtExpirationDate = jwtExpirationDate;
+    }
 
     /**
      * Génère un token JWT
@@ -32,40 +56,48 @@ public class JwtTokenProvider {
     public String generateToken(Authentication authentication){
         String username = authentication.getName();
 
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
         Date currentDate = new Date();
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
 
         return Jwts.builder()
                 .setSubject(username)
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(expireDate)
-                .signWith(key())
+                .signWith(key)
                 .compact();
     }
 
-    /**
-     * Récupère la clé secrète
-     * @return Clé secrète
-     */
-    private Key key(){
-        return Keys.hmacShaKeyFor(
-                Decoders.BASE64.decode(jwtSecret)
-        );
-    }
-
     /**
      * Récupère le nom d'utilisateur à partir du token
      * @param token Token
      * @return Nom d'utilisateur
      */
     public String getUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token).getUsername();
+    }
 
-        return claims.getSubject();
+    /**
+     * Vérifie le token en une seule analyse et en extrait le nom d'utilisateur, les rôles et l'expiration.
+     * Les tokens émis par generateToken passent par le chemin rapide, les autres par le parseur jjwt.
+     * @param token Token
+     * @return Token vérifié (rôles à null si le token a été émis sans le claim des rôles)
+     */
+    @Timed("jwt.verification")
+    public VerifiedToken verify(String token) {
+        try {
+            if (!StringUtils.hasText(token)) {
+                throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+            }
+            VerifiedToken verifiedToken = hmacJwtVerifier.verify(token);
+            return verifiedToken != null ? verifiedToken : parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw toProductAPIException(ex);
+        }
     }
 
     /**
@@ -74,21 +106,43 @@ public class JwtTokenProvider {
      * @return Vrai si le token est valide
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parse(token);
-
-            return true;
-        } catch (MalformedJwtException ex) {
-            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid JWT token");
-        }catch (ExpiredJwtException ex) {
-            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Expired JWT token");
-        }catch (UnsupportedJwtException ex) {
-            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Unsupported JWT token");
-        }catch (IllegalArgumentException ex) {
-            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "JWT claims string is empty");
+        verify(token);
+        return true;
+    }
+
+    /**
+     * Vérifie le token avec le parseur jjwt
+     * @param token Token
+     * @return Token vérifié
+     */
+    private VerifiedToken parseClaims(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new UnsupportedJwtException("JWT tokens without expiration are not supported.");
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        Collection<GrantedAuthority> authorities = roles == null ? null : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toUnmodifiableList());
+
+        return new VerifiedToken(claims.getSubject(), authorities, claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Convertit une exception de vérification du token
+     * @param exception Exception de vérification
+     * @return Exception de l'API, ou l'exception d'origine si elle n'a pas d'équivalent
+     */
+    private static RuntimeException toProductAPIException(RuntimeException exception) {
+        if (exception instanceof MalformedJwtException) {
+            return new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid JWT token");
+        } else if (exception instanceof ExpiredJwtException) {
+            return new ProductAPIException(HttpStatus.BAD_REQUEST, "Expired JWT token");
+        } else if (exception instanceof UnsupportedJwtException) {
+            return new ProductAPIException(HttpStatus.BAD_REQUEST, "Unsupported JWT token");
+        } else if (exception instanceof IllegalArgumentException) {
+            return new ProductAPIException(HttpStatus.BAD_REQUEST, "JWT claims string is empty");
         }
+        return exception;
     }
 }
@@ -0,0 +1,85 @@
+package com.products.products.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.products.exception.ProductAPIException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Limitation des tentatives de connexion : au-delà d'un nombre d'échecs par nom d'utilisateur ou par adresse IP
+ * sur une fenêtre glissante, les tentatives sont rejetées (429) avant tout hachage de mot de passe.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String ADDRESS_PREFIX = "address:";
+    private static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final int maxFailures;
+    private final Cache<String, Integer> failures;
+
+    /**
+     * @param maxFailures Nombre d'échecs autorisés sur la fenêtre
+     * @param window Durée de la fenêtre, depuis le dernier échec
+     */
+    public LoginAttemptThrottle(@Value("${app.auth.throttle.max-failures}") int maxFailures,
+                                @Value("${app.auth.throttle.window}") Duration window) {
+        this.maxFailures = maxFailures;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Vérifie qu'une tentative de connexion est autorisée
+     * @param username Nom d'utilisateur
+     * @param address Adresse IP du client
+     * @throws ProductAPIException 429 si le nom d'utilisateur ou l'adresse a atteint le nombre d'échecs autorisés
+     */
+    public void checkAllowed(String username, String address) {
+        if (isBlocked(USERNAME_PREFIX + username) || isBlocked(ADDRESS_PREFIX + address)) {
+            throw new ProductAPIException(HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts, please try again later");
+        }
+    }
+
+    /**
+     * Enregistre un échec de connexion
+     * @param username Nom d'utilisateur
+     * @param address Adresse IP du client
+     */
+    public void loginFailed(String username, String address) {
+        increment(USERNAME_PREFIX + username);
+        increment(ADDRESS_PREFIX + address);
+    }
+
+    /**
+     * Remet à zéro les échecs du nom d'utilisateur après une connexion réussie
+     * @param username Nom d'utilisateur
+     */
+    public void loginSucceeded(String username) {
+        failures.invalidate(USERNAME_PREFIX + username);
+    }
+
+    /**
+     * @param key Clé
+     * @return Vrai si la clé a atteint le nombre d'échecs autorisés
+     */
+    private boolean isBlocked(String key) {
+        Integer count = failures.getIfPresent(key);
+        return count != null && count >= maxFailures;
+    }
+
+    /**
+     * Ajoute un échec et repousse l'expiration de la clé
+     * @param key Clé
+     */
+    private void increment(String key) {
+        failures.asMap().merge(key, 1, Integer::sum);
+    }
+}
@@ -0,0 +1,85 @@
+package com.products.products.security;
+
+import com.products.products.exception.ProductAPIException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cloison isolant le hachage des mots de passe (bcrypt, volontairement coûteux) : il s'exécute sur un pool borné
+ * avec une file bornée, si bien qu'une rafale de connexions ne consomme jamais plus que ce pool et est rejetée
+ * immédiatement (503) quand la file est pleine, au lieu de ralentir les autres requêtes.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final String SATURATED_MESSAGE = "Too many authentication requests, please try again later";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMilliseconds;
+
+    /**
+     * @param threads Nombre de threads de hachage
+     * @param queueCapacity Nombre maximum de hachages en attente
+     * @param timeoutMilliseconds Attente maximum d'un hachage, file comprise
+     */
+    public PasswordHashingExecutor(@Value("${app.auth.hashing.threads}") int threads,
+                                   @Value("${app.auth.hashing.queue-capacity}") int queueCapacity,
+                                   @Value("${app.auth.hashing.timeout-milliseconds}") long timeoutMilliseconds) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMilliseconds = timeoutMilliseconds;
+    }
+
+    /**
+     * Arrête le pool
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Exécute une tâche de hachage sur le pool et attend son résultat
+     * @param task Tâche (authentification ou encodage d'un mot de passe)
+     * @param <T> Type du résultat
+     * @return Résultat de la tâche
+     * @throws ProductAPIException 503 si le pool est saturé ou si la tâche n'a pas abouti à temps
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new ProductAPIException(HttpStatus.SERVICE_UNAVAILABLE, SATURATED_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMilliseconds, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ProductAPIException(HttpStatus.SERVICE_UNAVAILABLE, SATURATED_MESSAGE);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProductAPIException(HttpStatus.SERVICE_UNAVAILABLE, SATURATED_MESSAGE);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
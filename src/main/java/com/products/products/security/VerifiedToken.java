@@ -0,0 +1,40 @@
+package com.products.products.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Token JWT dont la signature et l'expiration ont été vérifiées
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    /**
+     * Nom d'utilisateur (sujet du token)
+     */
+    private final String username;
+
+    /**
+     * Rôles portés par le token, null si le token a été émis sans rôles
+     */
+    private final Collection<GrantedAuthority> authorities;
+
+    /**
+     * Date d'expiration du token
+     */
+    private final Instant expiration;
+
+    /**
+     * Copie le token vérifié avec d'autres rôles
+     * @param authorities Rôles
+     * @return Token vérifié
+     */
+    public VerifiedToken withAuthorities(Collection<GrantedAuthority> authorities) {
+        return new VerifiedToken(username, authorities, expiration);
+    }
+}
@@ -0,0 +1,93 @@
+package com.products.products.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Cache borné des tokens JWT déjà vérifiés, indexé par l'empreinte SHA-256 du token (le token lui-même n'est pas conservé).
+ * Une entrée expire au plus tard avec son token : une requête répétée ne refait ni l'analyse du token ni d'accès à la base.
+ * Ses succès / échecs sont exposés dans les métriques (cache.gets, cache verifiedTokens).
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final Cache<String, VerifiedToken> cache;
+
+    /**
+     * @param maxSize Nombre maximum de tokens conservés
+     */
+    public VerifiedTokenCache(@Value("${app.jwt-cache.max-size}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Récupère un token vérifié, ou le vérifie et le met en cache
+     * @param token Token
+     * @param verifier Vérification du token (ses exceptions sont propagées et rien n'est mis en cache)
+     * @return Token vérifié
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Calcule l'empreinte d'un token
+     * @param token Token
+     * @return Empreinte encodée en base64
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Expiration d'une entrée à l'expiration de son token
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
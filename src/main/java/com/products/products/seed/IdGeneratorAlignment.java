@@ -0,0 +1,45 @@
+package com.products.products.seed;
+
+import com.products.products.entity.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Aligne le compteur d'ids des produits sur les ids existants, avant toute insertion : une base créée avec des ids
+ * auto-incrémentés n'a pas encore de ligne dans la table des compteurs (la migration V3 l'initialise, l'alignement
+ * couvre les ids insérés hors application depuis). Il s'exécute une fois les beans créés, donc après les migrations
+ * et avant le démarrage du serveur web : aucune requête ne peut insérer un produit avant lui.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorAlignment implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        Integer maxId = jdbcTemplate.queryForObject("select max(id) from products", Integer.class);
+        if (maxId == null) {
+            return;
+        }
+        // La table stocke la dernière valeur utilisée et l'optimiseur "pooled" distribue les ids (valeur suivante - taille du bloc, valeur suivante] :
+        // le premier bloc réservé commence juste après maxId
+        long storedValue = (long) maxId + Product.ID_ALLOCATION_SIZE - 1;
+        int updated = jdbcTemplate.update("update id_generators set next_val = ? where sequence_name = ? and next_val < ?",
+                storedValue, Product.ID_GENERATOR, storedValue);
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from id_generators where sequence_name = ?", Integer.class, Product.ID_GENERATOR);
+        if (rows != null && rows == 0) {
+            jdbcTemplate.update("insert into id_generators (sequence_name, next_val) values (?, ?)", Product.ID_GENERATOR, storedValue);
+            updated = 1;
+        }
+        if (updated > 0) {
+            log.info("Product id generator aligned on existing ids (first new id {})", maxId + 1);
+        }
+    }
+}
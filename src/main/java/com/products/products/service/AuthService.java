@@ -11,9 +11,10 @@ public interface AuthService {
     /**
      * Connexion
      * @param loginDto LoginDto
+     * @param clientAddress Adresse IP du client
      * @return Token
      */
-    String login(LoginDto loginDto);
+    String login(LoginDto loginDto, String clientAddress);
 
     /**
      * Inscription
@@ -0,0 +1,17 @@
+package com.products.products.service;
+
+import com.products.products.dto.CacheStatisticsDto;
+
+import java.util.List;
+
+/**
+ * Service pour les statistiques des caches
+ */
+public interface CacheStatisticsService {
+
+    /**
+     * Récupère les statistiques de chaque région de cache (second niveau Hibernate et caches Spring)
+     * @return Liste des statistiques par région
+     */
+    List<CacheStatisticsDto> getCacheStatistics();
+}
@@ -1,7 +1,16 @@
 package com.products.products.service;
 
 import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductBatchResultDto;
 import com.products.products.dto.ProductDto;
+import com.products.products.dto.ProductFacetsDto;
+import com.products.products.dto.ProductSuggestionDto;
+import com.products.products.utils.CountMode;
+import com.products.products.utils.ResourceVersion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
  * Interface ProductService
@@ -18,9 +27,12 @@ public interface ProductService {
      * @param description Description
      * @param minPrice Prix minimum
      * @param maxPrice Prix maximum
+     * @param filter Filtre (syntaxe de ProductFilterParser)
+     * @param cursor Curseur de la page précédente (remplace pageNo s'il est renseigné)
+     * @param countMode Mode de calcul du nombre total de produits
      * @return Liste de produits paginée et triée
      */
-    PageResponse<ProductDto> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String description, Integer minPrice, Integer maxPrice);
+    PageResponse<ProductDto> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String description, Integer minPrice, Integer maxPrice, String filter, String cursor, CountMode countMode);
 
     /**
      * Récupère une liste de produits paginée et triée par catégorie
@@ -29,9 +41,48 @@ public interface ProductService {
      * @param pageSize Taille de la page
      * @param sortBy Champ de tri
      * @param sortDir Direction du tri
+     * @param cursor Curseur de la page précédente (remplace pageNo s'il est renseigné)
+     * @param countMode Mode de calcul du nombre total de produits
      * @return Liste de produits paginée et triée par catégorie
      */
-    PageResponse<ProductDto> getAllProductsByCategoryId(int categoryId, int pageNo, int pageSize, String sortBy, String sortDir);
+    PageResponse<ProductDto> getAllProductsByCategoryId(int categoryId, int pageNo, int pageSize, String sortBy, String sortDir, String cursor, CountMode countMode);
+
+    /**
+     * Récupère les produits dont le titre contient la chaîne donnée
+     * @param title Titre
+     * @return Liste de produits
+     */
+    List<ProductDto> getProductsByTitle(String title);
+
+    /**
+     * Suggère des produits pour l'autocomplétion d'une saisie, depuis l'index préfixe en mémoire
+     * @param query Saisie
+     * @param limit Nombre maximum de suggestions
+     * @return Suggestions (id et titre), de la plus pertinente à la moins pertinente
+     */
+    List<ProductSuggestionDto> suggestProducts(String query, int limit);
+
+    /**
+     * Compte les produits filtrés par catégorie, par marque et par tranche de prix, en une seule requête
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @param filter Filtre (syntaxe de ProductFilterParser)
+     * @return Facettes des produits filtrés
+     */
+    ProductFacetsDto getProductFacets(String title, String description, Integer minPrice, Integer maxPrice, String filter);
+
+    /**
+     * Exporte tous les produits filtrés au format NDJSON (un produit JSON par ligne), en flux et à mémoire constante
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @param outputStream Flux de sortie
+     * @throws IOException Exception d'écriture
+     */
+    void exportProducts(String title, String description, Integer minPrice, Integer maxPrice, OutputStream outputStream) throws IOException;
 
     /**
      * Récupère un produit par son id
@@ -40,6 +91,27 @@ public interface ProductService {
      */
     ProductDto getProductById(int productId);
 
+    /**
+     * Récupère la version d'un produit (date de dernière modification), sans charger le produit
+     * @param productId Id du produit
+     * @return Version du produit
+     */
+    ResourceVersion getProductVersion(int productId);
+
+    /**
+     * Récupère la version de l'ensemble des produits, lue en base ; toute écriture la change, quels que soient les
+     * filtres d'une liste, y compris celles faites hors de cette instance
+     * @return Version des produits
+     */
+    ResourceVersion getProductsVersion();
+
+    /**
+     * Récupère la version des produits d'une catégorie, lue en base ; ResourceNotFoundException si la catégorie n'existe pas
+     * @param categoryId Id de la catégorie
+     * @return Version des produits de la catégorie
+     */
+    ResourceVersion getProductsVersionByCategoryId(int categoryId);
+
     /**
      * Crée un produit
      * @param productDto Produit à créer
@@ -47,6 +119,14 @@ public interface ProductService {
      */
     ProductDto createProduct(ProductDto productDto);
 
+    /**
+     * Crée ou met à jour des produits par lot : chaque produit est validé séparément, les produits valides sont
+     * enregistrés ensemble avec des requêtes groupées
+     * @param productDtos Produits (id à 0 pour créer, id du produit à mettre à jour sinon)
+     * @return Résultat de chaque produit, dans l'ordre du lot
+     */
+    List<ProductBatchResultDto> saveProducts(List<ProductDto> productDtos);
+
     /**
      * Met à jour un produit
      * @param productDto Produit à mettre à jour
@@ -0,0 +1,23 @@
+package com.products.products.service;
+
+import com.products.products.dto.SlowQueryDto;
+
+import java.util.List;
+
+/**
+ * Service pour le journal des requêtes lentes
+ */
+public interface SlowQueryService {
+
+    /**
+     * Récupère les formes de requêtes les plus lentes, avec leur plan d'exécution s'il a été capturé
+     * @param limit Nombre maximum de formes
+     * @return Formes triées par durée maximale décroissante
+     */
+    List<SlowQueryDto> getSlowQueries(int limit);
+
+    /**
+     * Vide le journal des requêtes lentes
+     */
+    void clearSlowQueries();
+}
@@ -7,12 +7,16 @@ import com.products.products.exception.ProductAPIException;
 import com.products.products.reference.RoleReference;
 import com.products.products.repository.UserRepository;
 import com.products.products.security.JwtTokenProvider;
+import com.products.products.security.LoginAttemptThrottle;
+import com.products.products.security.PasswordHashingExecutor;
 import com.products.products.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,17 +26,29 @@ import org.springframework.stereotype.Service;
  */
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     @Override
-    public String login(LoginDto loginDto) {
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-                loginDto.getUsername(), loginDto.getPassword()));
+    public String login(LoginDto loginDto, String clientAddress) {
+        loginAttemptThrottle.checkAllowed(loginDto.getUsername(), clientAddress);
+
+        Authentication authentication;
+        try {
+            authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword())));
+        } catch (AuthenticationException ex) {
+            loginAttemptThrottle.loginFailed(loginDto.getUsername(), clientAddress);
+            throw ex;
+        }
+        loginAttemptThrottle.loginSucceeded(loginDto.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -47,7 +63,7 @@ public class AuthServiceImpl implements AuthService {
 
         User user = User.builder()
                 .username(registerDto.getUsername())
-                .password(passwordEncoder.encode(registerDto.getPassword()))
+                .password(passwordHashingExecutor.execute(() -> passwordEncoder.encode(registerDto.getPassword())))
                 .build();
 
         user.setRole(RoleReference.ROLE_ADMIN);
@@ -4,14 +4,17 @@ import com.products.products.dto.BrandDto;
 import com.products.products.mapper.BrandMapper;
 import com.products.products.repository.BrandRepository;
 import com.products.products.service.BrandService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
@@ -22,6 +25,7 @@ public class BrandServiceImpl implements BrandService {
      * @return Return all brands
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BrandDto> getAllBrands() {
         return brandRepository.findAll().stream().map(brandMapper::mapToDto).collect(Collectors.toList());
     }
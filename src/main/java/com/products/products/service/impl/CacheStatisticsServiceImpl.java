@@ -0,0 +1,122 @@
+package com.products.products.service.impl;
+
+import com.products.products.dto.CacheStatisticsDto;
+import com.products.products.service.CacheStatisticsService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service pour les statistiques des caches : lit les MXBeans de statistiques JCache de chaque région,
+ * et les expose aussi dans les métriques (cache.gets, cache.puts, cache.evictions par région)
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService, MeterBinder {
+
+    private static final String CACHE_KEY = "Cache";
+    private static final ObjectName STATISTICS_PATTERN = statisticsPattern();
+    private static final List<String> SPRING_CACHE_NAMES = List.of("roles", ProductCountEstimator.CACHE_NAME, ProductCountEstimator.FACETS_CACHE_NAME);
+    private static final String CACHE_TAG = "cache";
+    private static final String RESULT_TAG = "result";
+
+    private final CacheManager cacheManager;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Override
+    public List<CacheStatisticsDto> getCacheStatistics() {
+        return mBeanServer.queryNames(STATISTICS_PATTERN, null).stream()
+                .map(this::toDto)
+                .sorted(Comparator.comparing(CacheStatisticsDto::getRegion))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Expose les statistiques de chaque région dans les métriques. Les caches Spring, créés au premier accès,
+     * sont créés ici pour être mesurés dès le démarrage.
+     * @param registry Registre des métriques
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SPRING_CACHE_NAMES.forEach(cacheManager::getCache);
+        for (ObjectName name : mBeanServer.queryNames(STATISTICS_PATTERN, null)) {
+            CacheStatisticsMXBean statistics = JMX.newMXBeanProxy(mBeanServer, name, CacheStatisticsMXBean.class);
+            String region = regionName(name);
+            counter(registry, "cache.gets", region, statistics, CacheStatisticsMXBean::getCacheHits, "hit");
+            counter(registry, "cache.gets", region, statistics, CacheStatisticsMXBean::getCacheMisses, "miss");
+            counter(registry, "cache.puts", region, statistics, CacheStatisticsMXBean::getCachePuts, null);
+            counter(registry, "cache.evictions", region, statistics, CacheStatisticsMXBean::getCacheEvictions, null);
+        }
+    }
+
+    /**
+     * Enregistre un compteur lu dans les statistiques JCache d'une région
+     * @param registry Registre des métriques
+     * @param meterName Nom de la métrique
+     * @param region Nom de la région
+     * @param statistics Statistiques de la région
+     * @param count Lecture du compteur
+     * @param result Résultat (hit / miss) ou null
+     */
+    private void counter(MeterRegistry registry, String meterName, String region, CacheStatisticsMXBean statistics,
+                         ToDoubleFunction<CacheStatisticsMXBean> count, String result) {
+        FunctionCounter.Builder<CacheStatisticsMXBean> builder = FunctionCounter.builder(meterName, statistics, count)
+                .tag(CACHE_TAG, region);
+        if (result != null) {
+            builder.tag(RESULT_TAG, result);
+        }
+        builder.register(registry);
+    }
+
+    /**
+     * Convertit les statistiques JCache d'une région en DTO
+     * @param name Nom JMX des statistiques de la région
+     * @return Statistiques de la région
+     */
+    private CacheStatisticsDto toDto(ObjectName name) {
+        CacheStatisticsMXBean statistics = JMX.newMXBeanProxy(mBeanServer, name, CacheStatisticsMXBean.class);
+        return CacheStatisticsDto.builder()
+                .region(regionName(name))
+                .hits(statistics.getCacheHits())
+                .misses(statistics.getCacheMisses())
+                .hitPercentage(statistics.getCacheHitPercentage())
+                .puts(statistics.getCachePuts())
+                .evictions(statistics.getCacheEvictions())
+                .build();
+    }
+
+    /**
+     * Extrait le nom de la région, qui peut être entre guillemets selon le fournisseur JCache
+     * @param name Nom JMX des statistiques de la région
+     * @return Nom de la région
+     */
+    private String regionName(ObjectName name) {
+        String region = name.getKeyProperty(CACHE_KEY);
+        return region.startsWith("\"") ? ObjectName.unquote(region) : region;
+    }
+
+    /**
+     * @return Le motif JMX des statistiques de toutes les régions JCache
+     */
+    private static ObjectName statisticsPattern() {
+        try {
+            return new ObjectName("javax.cache:type=CacheStatistics,*");
+        } catch (MalformedObjectNameException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.products.products.entity.Category;
 import com.products.products.mapper.CategoryMapper;
 import com.products.products.repository.CategoryRepository;
 import com.products.products.service.CategoryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,12 +18,14 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
         List<Category> categoryList = categoryRepository.findAll();
 
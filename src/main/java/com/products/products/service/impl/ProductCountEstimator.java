@@ -0,0 +1,114 @@
+package com.products.products.service.impl;
+
+import com.products.products.dto.ProductFacetsDto;
+import com.products.products.entity.Product;
+import com.products.products.specification.GenericSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Estimation du nombre de produits par filtre : le comptage exact et les facettes sont mis en cache par filtre normalisé
+ * et invalidés après validation de chaque écriture. Une valeur calculée pendant une invalidation n'est pas mise en
+ * cache : elle a pu être lue avant la validation.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCountEstimator {
+
+    public static final String CACHE_NAME = "productCounts";
+    public static final String FACETS_CACHE_NAME = "productFacets";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Numéro de l'invalidation courante, protégé par le verrou de l'instance avec les écritures dans les caches
+     */
+    private long generation;
+
+    /**
+     * Renvoie le nombre de produits en cache pour la spécification, ou le calcule
+     * @param specification Spécification des filtres
+     * @param counter Comptage exact, appelé en cas d'absence dans le cache
+     * @return Nombre de produits
+     */
+    public long estimate(GenericSpecification<Product> specification, Supplier<Long> counter) {
+        Long count = getOrCompute(CACHE_NAME, specification.getKey(), counter);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Renvoie les facettes en cache pour la spécification, ou les calcule
+     * @param specification Spécification des filtres
+     * @param counter Comptage des facettes, appelé en cas d'absence dans le cache
+     * @return Facettes des produits
+     */
+    public ProductFacetsDto facets(GenericSpecification<Product> specification, Supplier<ProductFacetsDto> counter) {
+        return getOrCompute(FACETS_CACHE_NAME, specification.getKey(), counter);
+    }
+
+    /**
+     * Invalide toutes les estimations et facettes après validation de la transaction en cours, ou immédiatement :
+     * invalidées avant, une lecture concurrente les remettrait en cache avec les valeurs antérieures à l'écriture
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Renvoie la valeur en cache, ou la calcule et la met en cache si aucune invalidation n'a eu lieu pendant le calcul
+     * @param name Nom du cache
+     * @param key Clé
+     * @param loader Calcul de la valeur
+     * @return Valeur
+     */
+    private <T> T getOrCompute(String name, Object key, Supplier<T> loader) {
+        Cache cache = cache(name);
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+        T value = loader.get();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private synchronized void invalidate() {
+        generation++;
+        cache(CACHE_NAME).clear();
+        cache(FACETS_CACHE_NAME).clear();
+    }
+
+    /**
+     * @param name Nom du cache
+     * @return Le cache des comptages
+     */
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name));
+    }
+}
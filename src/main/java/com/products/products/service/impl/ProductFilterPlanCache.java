@@ -0,0 +1,49 @@
+package com.products.products.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.products.entity.Product;
+import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.ProductFilterParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache borné des filtres de produits déjà analysés et validés, indexé par l'expression normalisée : une expression
+ * répétée ne refait pas l'analyse. Les expressions invalides ne sont pas mises en cache.
+ * Ses succès / échecs sont exposés dans les métriques (cache.gets, cache productFilterPlans).
+ */
+@Component
+public class ProductFilterPlanCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "productFilterPlans";
+
+    private final Cache<String, GenericSpecification<Product>> plans;
+
+    /**
+     * @param maxSize Nombre maximum d'expressions conservées
+     */
+    public ProductFilterPlanCache(@Value("${app.filter.plan-cache.max-size}") long maxSize) {
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Récupère le filtre analysé d'une expression, ou l'analyse et le met en cache
+     * @param expression Expression du filtre
+     * @return Spécification partagée, à ne pas modifier
+     */
+    public GenericSpecification<Product> get(String expression) {
+        return plans.get(ProductFilterParser.normalize(expression), ProductFilterParser::parse);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, plans, CACHE_NAME);
+    }
+}
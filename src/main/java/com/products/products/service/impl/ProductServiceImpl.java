@@ -1,36 +1,108 @@
 package com.products.products.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.products.products.dto.FacetCountDto;
 import com.products.products.dto.PageResponse;
+import com.products.products.dto.PriceRangeFacetDto;
+import com.products.products.dto.ProductBatchResultDto;
 import com.products.products.dto.ProductDto;
+import com.products.products.dto.ProductFacetsDto;
+import com.products.products.dto.ProductSuggestionDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
 import com.products.products.entity.Product;
+import com.products.products.exception.ProductAPIException;
 import com.products.products.exception.ResourceNotFoundException;
 import com.products.products.mapper.ProductMapper;
+import com.products.products.readmodel.ProductReadModel;
+import com.products.products.repository.BrandRepository;
 import com.products.products.repository.CategoryRepository;
+import com.products.products.repository.ProductFacetCount;
 import com.products.products.repository.ProductRepository;
+import com.products.products.search.ProductSearchHits;
+import com.products.products.search.ProductSearchIndex;
+import com.products.products.search.ProductSuggestIndex;
 import com.products.products.service.ProductService;
 import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.KeysetSpecification;
+import com.products.products.specification.ProductSearchCriteria;
+import com.products.products.specification.utils.KeysetCursor;
 import com.products.products.specification.utils.SearchCriteria;
 import com.products.products.specification.utils.SearchOperation;
 import com.products.products.specification.metaModel.Product_;
-import jakarta.transaction.Transactional;
+import com.products.products.utils.ConstantsUtils;
+import com.products.products.utils.CountMode;
+import com.products.products.utils.ResourceVersion;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class ProductServiceImpl implements ProductService {
 
+    private static final String ID = "id";
+    private static final int UNKNOWN_COUNT = -1;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
     private final ProductMapper productMapper;
+    private final ProductCountEstimator productCountEstimator;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductReadModel productReadModel;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductFilterPlanCache productFilterPlanCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.batch.max-size}")
+    private int batchMaxSize;
+
+    @Value("${app.export.fetch-size}")
+    private int exportFetchSize;
+
+    @Value("${app.facets.price-bounds}")
+    private BigDecimal[] facetPriceBounds;
+
+    @Value("${app.suggest.max-limit}")
+    private int suggestMaxLimit;
+
+    @Value("${app.suggest.min-prefix-length}")
+    private int suggestMinPrefixLength;
 
     /**
      * Get all products
@@ -38,28 +110,72 @@ public class ProductServiceImpl implements ProductService {
      * @param pageSize Page size
      * @param sortBy Sort by
      * @param sortDir Sort direction
+     * @param filter Filter expression (see ProductFilterParser)
+     * @param cursor Keyset cursor of the previous page (replaces pageNo when present)
+     * @param countMode Total count mode
      * @return PageResponse of products
      */
     @Override
-    public PageResponse<ProductDto> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String description, Integer minPrice, Integer maxPrice) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+    @Transactional(readOnly = true)
+    public PageResponse<ProductDto> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String description, Integer minPrice, Integer maxPrice, String filter, String cursor, CountMode countMode) {
+        // Recherche textuelle servie par l'index plein texte une fois chargé, triée par pertinence
+        if(productSearchIndex.isReady() && !StringUtils.hasText(cursor) && !StringUtils.hasText(filter) && (StringUtils.hasText(title) || StringUtils.hasText(description))) {
+            return searchProducts(pageNo, pageSize, title, description, minPrice, maxPrice, countMode);
+        }
+
+        // Filtres sur le prix seul servis par le modèle de lecture en mémoire
+        if(productReadModel.isReady() && !StringUtils.hasText(cursor) && !StringUtils.hasText(filter) && !StringUtils.hasText(title) && !StringUtils.hasText(description)) {
+            return productReadModel.getPage(pageNo, pageSize, validateSortBy(sortBy), sortDir, minPrice, maxPrice, null, countMode);
+        }
+
+        GenericSpecification<Product> productSpecification = buildSpecification(title, description, minPrice, maxPrice, filter);
+
+        if(StringUtils.hasText(cursor)) {
+            return getProductsAfterCursor(productSpecification, pageNo, pageSize, sortBy, sortDir, cursor, countMode);
+        }
 
         // Create pageable instance
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
+        Pageable pageable = PageRequest.of(pageNo, pageSize, buildSort(sortBy, sortDir));
 
-        GenericSpecification<Product> productSpecification = buildSpecification(title, description, minPrice, maxPrice);
+        if(countMode == CountMode.EXACT) {
+            Page<Product> productPage = productRepository.findAll(productSpecification, pageable);
+            return toPageResponse(productPage, productPage.getTotalElements(), sortBy, sortDir);
+        }
 
-        Page<Product> productPage = productRepository.findAll(productSpecification, pageable);
+        Slice<Product> productSlice = productRepository.findSlice(productSpecification, pageable);
+        return toPageResponse(productSlice, count(productSpecification, countMode), sortBy, sortDir);
+    }
 
-        List<ProductDto> content = productPage.getContent().stream().map(productMapper::mapToDto).collect(Collectors.toList());
+    /**
+     * Recherche les produits dans l'index plein texte, par pertinence décroissante
+     * @param pageNo Numéro de la page
+     * @param pageSize Taille de la page
+     * @param title Mots du titre
+     * @param description Mots de la description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @param countMode Mode de comptage
+     * @return Page de produits
+     */
+    private PageResponse<ProductDto> searchProducts(int pageNo, int pageSize, String title, String description, Integer minPrice, Integer maxPrice, CountMode countMode) {
+        ProductSearchHits hits = productSearchIndex.search(title, description, minPrice, maxPrice, pageNo, pageSize);
+
+        Map<Integer, Product> productsById = productRepository.findByIdIn(hits.getIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDto> content = hits.getIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::mapToDto)
+                .collect(Collectors.toList());
 
+        long totalElements = countMode == CountMode.NONE ? UNKNOWN_COUNT : hits.getTotalHits();
         return new PageResponse<>(
                 content,
-                productPage.getNumber(),
-                productPage.getSize(),
-                productPage.getTotalElements(),
-                productPage.getTotalPages(),
-                productPage.isLast()
+                pageNo,
+                pageSize,
+                totalElements,
+                totalElements == UNKNOWN_COUNT ? UNKNOWN_COUNT : (int) Math.ceil((double) totalElements / pageSize),
+                (long) (pageNo + 1) * pageSize >= hits.getTotalHits()
         );
     }
 
@@ -67,23 +183,14 @@ public class ProductServiceImpl implements ProductService {
      * Construit une spécification
      * @param title Titre
      * @param description Description
+     * @param filter Filtre, analysé une seule fois par expression normalisée
      * @return La spécification
      */
-    private GenericSpecification<Product> buildSpecification(String title, String description, Integer minPrice, Integer maxPrice) {
+    private GenericSpecification<Product> buildSpecification(String title, String description, Integer minPrice, Integer maxPrice, String filter) {
         GenericSpecification<Product> productSpecification = new GenericSpecification<>();
-        // Title
-        if(StringUtils.hasLength(title)) {
-            productSpecification.add(new SearchCriteria(Product_.TITLE, SearchOperation.LIKE, title));
-        }
-        // Description
-        if(StringUtils.hasLength(description)) {
-            productSpecification.add(new SearchCriteria(Product_.DESCRIPTION, SearchOperation.LIKE, description));
-        }
-        if(minPrice != null) {
-            productSpecification.add(new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, minPrice));
-        }
-        if(maxPrice != null) {
-            productSpecification.add(new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, maxPrice));
+        ProductSearchCriteria.of(title, description, minPrice, maxPrice).forEach(productSpecification::add);
+        if(StringUtils.hasText(filter)) {
+            productSpecification.add(productFilterPlanCache.get(filter));
         }
 
         return productSpecification;
@@ -96,39 +203,149 @@ public class ProductServiceImpl implements ProductService {
      * @param pageSize Page size
      * @param sortBy Sort by
      * @param sortDir Sort direction
+     * @param cursor Keyset cursor of the previous page (replaces pageNo when present)
+     * @param countMode Total count mode
      * @return PageResponse of products for the category id
      */
     @Override
-    public PageResponse<ProductDto> getAllProductsByCategoryId(int categoryId, int pageNo, int pageSize, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public PageResponse<ProductDto> getAllProductsByCategoryId(int categoryId, int pageNo, int pageSize, String sortBy, String sortDir, String cursor, CountMode countMode) {
         if(!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category", "id", String.valueOf(categoryId));
         }
 
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        if(productReadModel.isReady() && !StringUtils.hasText(cursor)) {
+            return productReadModel.getPage(pageNo, pageSize, validateSortBy(sortBy), sortDir, null, null, categoryId, countMode);
+        }
+
+        GenericSpecification<Product> productSpecification = new GenericSpecification<>();
+        productSpecification.add(new SearchCriteria(Product_.CATEGORY_ID, SearchOperation.EQUAL, categoryId));
+
+        if(StringUtils.hasText(cursor)) {
+            return getProductsAfterCursor(productSpecification, pageNo, pageSize, sortBy, sortDir, cursor, countMode);
+        }
 
         // Create pageable instance
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
+        Pageable pageable = PageRequest.of(pageNo, pageSize, buildSort(sortBy, sortDir));
+
+        if(countMode == CountMode.EXACT) {
+            Page<Product> productPage = productRepository.findByCategoryId(categoryId, pageable);
+            return toPageResponse(productPage, productPage.getTotalElements(), sortBy, sortDir);
+        }
+
+        Slice<Product> productSlice = productRepository.findSlice(productSpecification, pageable);
+        return toPageResponse(productSlice, count(productSpecification, countMode), sortBy, sortDir);
+    }
+
+    /**
+     * Construit le tri, départagé par l'id pour que l'ordre soit total et qu'un curseur puisse s'y positionner
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return Le tri
+     */
+    private Sort buildSort(String sortBy, String sortDir) {
+        validateSortBy(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy);
+        return ID.equals(sortBy) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Vérifie que le champ de tri fait partie des champs autorisés
+     * @param sortBy Champ de tri
+     * @return Le champ de tri
+     */
+    private String validateSortBy(String sortBy) {
+        if(!ConstantsUtils.SORTABLE_FIELDS.contains(sortBy)) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid sort field : " + sortBy);
+        }
+        return sortBy;
+    }
+
+    /**
+     * Compte les produits correspondant à la spécification selon le mode demandé
+     * @param specification Spécification des filtres
+     * @param countMode Mode de comptage
+     * @return Nombre de produits, -1 si le comptage n'est pas demandé
+     */
+    private long count(GenericSpecification<Product> specification, CountMode countMode) {
+        return switch (countMode) {
+            case EXACT -> productRepository.count(specification);
+            case ESTIMATE -> productCountEstimator.estimate(specification, () -> productRepository.count(specification));
+            case NONE -> UNKNOWN_COUNT;
+        };
+    }
 
-        Page<Product> productPage = productRepository.findByCategoryId(categoryId, pageable);
+    /**
+     * Lit la page située après le curseur (pagination par clé, sans OFFSET)
+     * @param specification Spécification des filtres
+     * @param pageNo Numéro de la page (renvoyé tel quel)
+     * @param pageSize Taille de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @param cursor Curseur de la page précédente
+     * @param countMode Mode de comptage
+     * @return Page de produits
+     */
+    private PageResponse<ProductDto> getProductsAfterCursor(GenericSpecification<Product> specification, int pageNo, int pageSize, String sortBy, String sortDir, String cursor, CountMode countMode) {
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        if(!keysetCursor.matches(sortBy, sortDir)) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Cursor does not match sortBy/sortDir");
+        }
 
-        List<ProductDto> content = productPage.getContent().stream().map(productMapper::mapToDto).collect(Collectors.toList());
+        // Une ligne de plus permet de savoir s'il existe une page suivante
+        List<Product> products = productRepository.findAllSeek(specification.and(new KeysetSpecification<>(keysetCursor)), buildSort(sortBy, sortDir), pageSize + 1);
+        boolean hasNext = products.size() > pageSize;
+        Pageable pageable = PageRequest.of(pageNo, pageSize);
+
+        return toPageResponse(new SliceImpl<>(hasNext ? products.subList(0, pageSize) : products, pageable, hasNext), count(specification, countMode), sortBy, sortDir);
+    }
+
+    /**
+     * Convertit une tranche de produits en PageResponse
+     * @param productSlice Tranche de produits
+     * @param totalElements Nombre total de produits, -1 s'il est inconnu
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return PageResponse
+     */
+    private PageResponse<ProductDto> toPageResponse(Slice<Product> productSlice, long totalElements, String sortBy, String sortDir) {
+        List<ProductDto> content = productSlice.getContent().stream().map(productMapper::mapToDto).collect(Collectors.toList());
 
         return new PageResponse<>(
                 content,
-                productPage.getNumber(),
-                productPage.getSize(),
-                productPage.getTotalElements(),
-                productPage.getTotalPages(),
-                productPage.isLast()
+                productSlice.getNumber(),
+                productSlice.getSize(),
+                totalElements,
+                totalElements == UNKNOWN_COUNT ? UNKNOWN_COUNT : (int) Math.ceil((double) totalElements / productSlice.getSize()),
+                productSlice.isLast(),
+                productSlice.isLast() ? null : nextCursor(productSlice.getContent(), sortBy, sortDir)
         );
     }
 
+    /**
+     * Construit le curseur pointant après le dernier produit de la page
+     * @param products Produits de la page
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return Curseur encodé
+     */
+    private String nextCursor(List<Product> products, String sortBy, String sortDir) {
+        if(products.isEmpty()) {
+            return null;
+        }
+        Product lastProduct = products.get(products.size() - 1);
+        Object lastValue = new BeanWrapperImpl(lastProduct).getPropertyValue(sortBy);
+        return new KeysetCursor(sortBy, sortDir, lastProduct.getId(), lastValue == null ? null : lastValue.toString()).encode();
+    }
+
     /**
      * Récupère un produit par son titre
      * @param title Titre
      * @return Le produit
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getProductsByTitle(String title) {
         return productRepository.findByTitleContaining(title)
                 .stream()
@@ -136,25 +353,276 @@ public class ProductServiceImpl implements ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Suggest products for a search box: served from the in-memory prefix index over titles, brands and categories,
+     * or from a title prefix query while the index is disabled or loading. Text shorter than the minimum prefix length
+     * matches most of the catalog and gets no suggestions
+     * @param query Typed text
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, most relevant first
+     */
+    @Override
+    public List<ProductSuggestionDto> suggestProducts(String query, int limit) {
+        if (limit < 1 || limit > suggestMaxLimit) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + suggestMaxLimit);
+        }
+        if (!StringUtils.hasText(query) || query.strip().length() < suggestMinPrefixLength) {
+            return List.of();
+        }
+        if (productSuggestIndex.isReady()) {
+            return productSuggestIndex.suggest(query, limit);
+        }
+
+        GenericSpecification<Product> productSpecification = new GenericSpecification<>();
+        productSpecification.add(new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_START, query.strip()));
+        return productRepository.findAllSeek(productSpecification, Sort.by(Product_.TITLE), limit).stream()
+                .map(product -> new ProductSuggestionDto(product.getId(), product.getTitle()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Count the filtered products per category, brand and price range in a single query, cached per normalized filter
+     * until the next product write
+     * @param title Title
+     * @param description Description
+     * @param minPrice Minimum price
+     * @param maxPrice Maximum price
+     * @param filter Filter expression (see ProductFilterParser)
+     * @return Facets of the filtered products
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsDto getProductFacets(String title, String description, Integer minPrice, Integer maxPrice, String filter) {
+        GenericSpecification<Product> productSpecification = buildSpecification(title, description, minPrice, maxPrice, filter);
+        return productCountEstimator.facets(productSpecification, () -> countFacets(productSpecification));
+    }
+
+    /**
+     * Agrège les comptages par combinaison (catégorie, marque, tranche de prix) en facettes
+     * @param specification Spécification des filtres
+     * @return Facettes des produits
+     */
+    private ProductFacetsDto countFacets(GenericSpecification<Product> specification) {
+        List<BigDecimal> priceBounds = Arrays.stream(facetPriceBounds).sorted().distinct().toList();
+        Map<Integer, FacetCountDto> categories = new HashMap<>();
+        Map<Integer, FacetCountDto> brands = new HashMap<>();
+        long[] priceRangeCounts = new long[priceBounds.size() + 1];
+        long totalElements = 0;
+
+        for (ProductFacetCount facetCount : productRepository.countFacets(specification, priceBounds)) {
+            FacetCountDto category = categories.computeIfAbsent(facetCount.getCategoryId(), id -> new FacetCountDto(id, facetCount.getCategoryName(), 0));
+            category.setCount(category.getCount() + facetCount.getCount());
+            FacetCountDto brand = brands.computeIfAbsent(facetCount.getBrandId(), id -> new FacetCountDto(id, facetCount.getBrandName(), 0));
+            brand.setCount(brand.getCount() + facetCount.getCount());
+            priceRangeCounts[facetCount.getPriceRange()] += facetCount.getCount();
+            totalElements += facetCount.getCount();
+        }
+
+        List<PriceRangeFacetDto> priceRanges = new ArrayList<>();
+        for (int i = 0; i < priceRangeCounts.length; i++) {
+            priceRanges.add(new PriceRangeFacetDto(
+                    i == 0 ? null : priceBounds.get(i - 1),
+                    i == priceBounds.size() ? null : priceBounds.get(i),
+                    priceRangeCounts[i]));
+        }
+        return ProductFacetsDto.builder()
+                .totalElements(totalElements)
+                .categories(sortFacets(categories.values()))
+                .brands(sortFacets(brands.values()))
+                .priceRanges(priceRanges)
+                .build();
+    }
+
+    /**
+     * @param facets Valeurs d'une facette
+     * @return Valeurs par nombre de produits décroissant, puis par nom
+     */
+    private List<FacetCountDto> sortFacets(Collection<FacetCountDto> facets) {
+        return facets.stream()
+                .sorted(Comparator.comparingLong(FacetCountDto::getCount).reversed().thenComparing(FacetCountDto::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Export the filtered products as NDJSON, streamed from a forward-only cursor
+     * @param title Title
+     * @param description Description
+     * @param minPrice Minimum price
+     * @param maxPrice Maximum price
+     * @param outputStream Output stream
+     * @throws IOException Write exception
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(String title, String description, Integer minPrice, Integer maxPrice, OutputStream outputStream) throws IOException {
+        // Une ligne par produit, vidée vers le client à chaque lot plutôt qu'à chaque produit
+        ObjectWriter productWriter = objectMapper.writerFor(ProductDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            productRepository.scroll(buildSpecification(title, description, minPrice, maxPrice, null), exportFetchSize, products -> {
+                try {
+                    for (Product product : products) {
+                        productWriter.writeValue(generator, productMapper.mapToDto(product));
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     /**
      * Get a product by id
      * @param productId Product id
      * @return Found product
      */
     @Override
+    @Transactional(readOnly = true)
     public ProductDto getProductById(int productId) {
         Product product = productRepository.findById(productId).orElseThrow(() -> new ResourceNotFoundException("Product", "id", String.valueOf(productId)));
         return productMapper.mapToDto(product);
     }
 
+    /**
+     * Get the version of a product without loading it
+     * @param productId Product id
+     * @return Product version
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductVersion(int productId) {
+        return productRepository.findVersionById(productId).orElseThrow(() -> new ResourceNotFoundException("Product", "id", String.valueOf(productId)));
+    }
+
+    /**
+     * Get the version of the whole catalog
+     * @return Products version
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductsVersion() {
+        return productRepository.findVersion();
+    }
+
+    /**
+     * Get the version of the products of a category
+     * @param categoryId Category id
+     * @return Products version
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductsVersionByCategoryId(int categoryId) {
+        return productRepository.findVersionByCategoryId(categoryId).orElseThrow(() -> new ResourceNotFoundException("Category", "id", String.valueOf(categoryId)));
+    }
+
     /**
      * Create a product
      * @param productDto Product to create
      * @return Created product
      */
     @Override
+    @Transactional
     public ProductDto createProduct(ProductDto productDto) {
-        return productMapper.mapToDto(productRepository.save(productMapper.mapToEntity(productDto)));
+        Product createdProduct = productRepository.save(productMapper.mapToEntity(productDto));
+        productCountEstimator.invalidateAfterCommit();
+        productSearchIndex.index(createdProduct);
+        productReadModel.upsert(createdProduct);
+        productSuggestIndex.upsert(createdProduct);
+        return productMapper.mapToDto(createdProduct);
+    }
+
+    /**
+     * Create or update products in batch: every product is validated on its own, the valid ones are saved
+     * together so that Hibernate groups their INSERT / UPDATE statements in JDBC batches
+     * @param productDtos Products to save (id 0 to create, id of the product to update otherwise)
+     * @return Result of each product, in the batch order
+     */
+    @Override
+    @Transactional
+    public List<ProductBatchResultDto> saveProducts(List<ProductDto> productDtos) {
+        if (productDtos.size() > batchMaxSize) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "A batch cannot contain more than " + batchMaxSize + " products");
+        }
+
+        // Références chargées en une requête par type, et non une par produit
+        Map<Integer, Category> categories = categoryRepository.findAllById(collectIds(productDtos, this::categoryId)).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<Integer, Brand> brands = brandRepository.findAllById(collectIds(productDtos, this::brandId)).stream()
+                .collect(Collectors.toMap(Brand::getId, Function.identity()));
+        Map<Integer, Product> existingProducts = productRepository.findAllById(collectIds(productDtos, productDto -> productDto.getId() == 0 ? null : productDto.getId())).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Titre (insensible à la casse, comme la contrainte d'unicité MySQL) => id du produit qui l'utilise
+        Map<String, Integer> titleOwners = new HashMap<>();
+        productRepository.findByTitleIn(productDtos.stream().map(ProductDto::getTitle).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .forEach(product -> titleOwners.put(normalizeTitle(product.getTitle()), product.getId()));
+
+        List<ProductBatchResultDto> results = new ArrayList<>(productDtos.size());
+        List<Product> products = new ArrayList<>();
+        for (int index = 0; index < productDtos.size(); index++) {
+            ProductDto productDto = productDtos.get(index);
+            Product existingProduct = existingProducts.get(productDto.getId());
+            Category category = categories.get(categoryId(productDto));
+            Brand brand = brands.get(brandId(productDto));
+            // Les produits à créer n'ont pas encore d'id : un id négatif propre à leur position les distingue
+            int ownerId = productDto.getId() == 0 ? -index - 1 : productDto.getId();
+            Integer titleOwner = productDto.getTitle() == null ? null : titleOwners.get(normalizeTitle(productDto.getTitle()));
+
+            List<String> errors = validator.validate(productDto).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!errors.isEmpty()) {
+                results.add(batchFailure(index, HttpStatus.BAD_REQUEST, errors));
+            } else if (productDto.getId() != 0 && existingProduct == null) {
+                results.add(batchFailure(index, HttpStatus.NOT_FOUND, List.of("Product not found with id : '" + productDto.getId() + "'")));
+            } else if (existingProduct == null && (category == null || brand == null)) {
+                results.add(batchFailure(index, HttpStatus.NOT_FOUND, List.of(category == null
+                        ? "Category not found with id : '" + categoryId(productDto) + "'"
+                        : "Brand not found with id : '" + brandId(productDto) + "'")));
+            } else if (titleOwner != null && titleOwner != ownerId) {
+                results.add(batchFailure(index, HttpStatus.CONFLICT, List.of("title: '" + productDto.getTitle() + "' is already used")));
+            } else {
+                titleOwners.put(normalizeTitle(productDto.getTitle()), ownerId);
+                Product product;
+                if (existingProduct == null) {
+                    product = productMapper.mapToEntity(productDto);
+                    product.setId(0);
+                    product.setCategory(category);
+                    product.setBrand(brand);
+                } else {
+                    product = existingProduct;
+                    applyUpdate(product, productDto);
+                }
+                products.add(product);
+                results.add(ProductBatchResultDto.builder()
+                        .index(index)
+                        .status(existingProduct == null ? HttpStatus.CREATED.value() : HttpStatus.OK.value())
+                        .build());
+            }
+        }
+
+        // Les ids sont réservés par blocs à la persistance : les INSERT peuvent être envoyés par lots au flush
+        productRepository.saveAll(products);
+        productRepository.flush();
+        int saved = 0;
+        for (ProductBatchResultDto result : results) {
+            if (result.getErrors() == null) {
+                result.setId(products.get(saved++).getId());
+            }
+        }
+
+        if (!products.isEmpty()) {
+            productCountEstimator.invalidateAfterCommit();
+            productSearchIndex.indexAll(products);
+            productReadModel.upsertAll(products);
+            productSuggestIndex.upsertAll(products);
+        }
+        return results;
     }
 
     /**
@@ -168,11 +636,14 @@ public class ProductServiceImpl implements ProductService {
     public ProductDto updateProduct(ProductDto productDto, int productId) {
         Product foundProduct = productRepository.findById(productId).orElseThrow(() -> new ResourceNotFoundException("Product", "id", String.valueOf(productId)));
 
-        foundProduct.setTitle(productDto.getTitle());
-        foundProduct.setDescription(productDto.getDescription());
-        foundProduct.setPrice(productDto.getPrice());
+        applyUpdate(foundProduct, productDto);
 
-        return productMapper.mapToDto(productRepository.save(foundProduct));
+        Product updatedProduct = productRepository.save(foundProduct);
+        productCountEstimator.invalidateAfterCommit();
+        productSearchIndex.index(updatedProduct);
+        productReadModel.upsert(updatedProduct);
+        productSuggestIndex.upsert(updatedProduct);
+        return productMapper.mapToDto(updatedProduct);
     }
 
     /**
@@ -180,8 +651,75 @@ public class ProductServiceImpl implements ProductService {
      * @param productId Product id
      */
     @Override
+    @Transactional
     public void deleteProductById(int productId) {
         Product product = productRepository.findById(productId).orElseThrow(() -> new ResourceNotFoundException("Product", "id", String.valueOf(productId)));
         productRepository.delete(product);
+        productCountEstimator.invalidateAfterCommit();
+        productSearchIndex.remove(productId);
+        productReadModel.remove(productId);
+        productSuggestIndex.remove(productId);
+    }
+
+    /**
+     * Apply the updatable fields of a DTO to a product
+     * @param product Product to update
+     * @param productDto New values
+     */
+    private void applyUpdate(Product product, ProductDto productDto) {
+        product.setTitle(productDto.getTitle());
+        product.setDescription(productDto.getDescription());
+        product.setPrice(productDto.getPrice());
+    }
+
+    /**
+     * Collect the distinct non null ids of a batch
+     * @param productDtos Products of the batch
+     * @param idExtractor Id of a product
+     * @return Ids
+     */
+    private Set<Integer> collectIds(Collection<ProductDto> productDtos, Function<ProductDto, Integer> idExtractor) {
+        return productDtos.stream().map(idExtractor).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    /**
+     * @param productDto Product
+     * @return The category id of the product, from category_id or category
+     */
+    private Integer categoryId(ProductDto productDto) {
+        return productDto.getCategory_id() != null ? productDto.getCategory_id()
+                : productDto.getCategory() == null ? null : Integer.valueOf(productDto.getCategory().getId());
+    }
+
+    /**
+     * @param productDto Product
+     * @return The brand id of the product, from brand_id or brand
+     */
+    private Integer brandId(ProductDto productDto) {
+        return productDto.getBrand_id() != null ? productDto.getBrand_id()
+                : productDto.getBrand() == null ? null : Integer.valueOf(productDto.getBrand().getId());
+    }
+
+    /**
+     * @param title Title
+     * @return The title as compared by the unique constraint
+     */
+    private String normalizeTitle(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Build the result of a rejected product
+     * @param index Position in the batch
+     * @param status Status
+     * @param errors Errors
+     * @return Result
+     */
+    private ProductBatchResultDto batchFailure(int index, HttpStatus status, List<String> errors) {
+        return ProductBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .errors(errors)
+                .build();
     }
 }
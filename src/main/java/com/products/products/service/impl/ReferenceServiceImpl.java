@@ -4,6 +4,7 @@ import com.products.products.entity.Role;
 import com.products.products.reference.RoleReference;
 import com.products.products.repository.RoleRepository;
 import com.products.products.service.ReferenceService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,7 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class ReferenceServiceImpl implements ReferenceService {
 
     private final RoleRepository roleRepository;
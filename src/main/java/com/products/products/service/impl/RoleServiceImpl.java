@@ -3,6 +3,7 @@ package com.products.products.service.impl;
 import com.products.products.entity.Role;
 import com.products.products.repository.RoleRepository;
 import com.products.products.service.RoleService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
@@ -0,0 +1,50 @@
+package com.products.products.service.impl;
+
+import com.products.products.dto.SlowQueryDto;
+import com.products.products.monitoring.SlowQuery;
+import com.products.products.monitoring.SlowQueryLog;
+import com.products.products.service.SlowQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service pour le journal des requêtes lentes
+ */
+@Service
+@RequiredArgsConstructor
+public class SlowQueryServiceImpl implements SlowQueryService {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Override
+    public List<SlowQueryDto> getSlowQueries(int limit) {
+        return slowQueryLog.getSlowest(limit).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+
+    /**
+     * Convertit une forme de requête lente en DTO
+     * @param slowQuery Forme de requête lente
+     * @return DTO
+     */
+    private SlowQueryDto toDto(SlowQuery slowQuery) {
+        return SlowQueryDto.builder()
+                .shape(slowQuery.getShape())
+                .executions(slowQuery.getExecutions())
+                .maxMillis(slowQuery.getMaxMillis())
+                .averageMillis(slowQuery.getTotalMillis() / Math.max(1, slowQuery.getExecutions()))
+                .sql(slowQuery.getSql())
+                .parameters(slowQuery.getParameters().stream().map(String::valueOf).collect(Collectors.toList()))
+                .plan(slowQuery.getPlan())
+                .build();
+    }
+}
@@ -1,29 +1,69 @@
 package com.products.products.specification;
 
+import com.products.products.exception.ProductAPIException;
 import com.products.products.specification.utils.SearchCriteria;
 import com.products.products.specification.utils.SearchOperation;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Spécification générique
+ * Spécification générique : chaque critère devient un prédicat typé selon l'attribut visé
  * @param <T> Type de l'entité
  */
 public class GenericSpecification<T> implements Specification<T> {
 
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+    private static final String ALWAYS_TRUE = "1 = 1";
+    private static final String ALWAYS_FALSE = "1 = 0";
+
     private List<SearchCriteria> searchCriteriaList;
+    private final List<GenericSpecification<T>> groups = new ArrayList<>();
+    private final boolean anyOf;
 
     /**
-     * Constructeur
+     * Constructeur : les critères et groupes sont combinés par ET
      */
     public GenericSpecification() {
+        this(false);
+    }
+
+    /**
+     * @param anyOf Vrai pour combiner les critères et groupes par OU
+     */
+    private GenericSpecification(boolean anyOf) {
         this.searchCriteriaList = new ArrayList<>();
+        this.anyOf = anyOf;
+    }
+
+    /**
+     * Crée une spécification dont les critères et groupes sont combinés par OU
+     * @param <T> Type de l'entité
+     * @return Spécification vide
+     */
+    public static <T> GenericSpecification<T> anyOf() {
+        return new GenericSpecification<>(true);
     }
 
     /**
@@ -34,6 +74,26 @@ public class GenericSpecification<T> implements Specification<T> {
         searchCriteriaList.add(searchCriteria);
     }
 
+    /**
+     * Ajouter un groupe de critères (sous-arbre du prédicat), qui n'est pas modifié ensuite
+     * @param group Groupe de critères
+     */
+    public void add(GenericSpecification<T> group) {
+        groups.add(group);
+    }
+
+    /**
+     * Clé normalisée de la spécification, indépendante de l'ordre d'ajout des critères
+     * @return Clé de la spécification
+     */
+    public String getKey() {
+        return Stream.concat(
+                        searchCriteriaList.stream().map(SearchCriteria::toString),
+                        groups.stream().map(group -> "(" + group.getKey() + ")"))
+                .sorted()
+                .collect(Collectors.joining(anyOf ? "|" : ";"));
+    }
+
     /**
      * Convertir la spécification en prédicat
      * @param root Root
@@ -46,29 +106,277 @@ public class GenericSpecification<T> implements Specification<T> {
         List<Predicate> predicates = new ArrayList<>();
 
         for (SearchCriteria searchCriteria : searchCriteriaList) {
-            if(searchCriteria.getOperation().equals(SearchOperation.EQUAL)) {
-                predicates.add(criteriaBuilder.equal(root.get(searchCriteria.getKey()), searchCriteria.getValue()));
-            }
-            else if(searchCriteria.getOperation().equals(SearchOperation.NOT_EQUAL)) {
-                predicates.add(criteriaBuilder.greaterThan(root.get(searchCriteria.getKey()), searchCriteria.getValue().toString()));
-            }
-            else if(searchCriteria.getOperation().equals(SearchOperation.GREATER_THAN)) {
-                predicates.add(criteriaBuilder.greaterThan(root.get(searchCriteria.getKey()), searchCriteria.getValue().toString()));
+            predicates.add(toPredicate(getPath(root, searchCriteria.getKey()), searchCriteria, criteriaBuilder));
+        }
+        for (GenericSpecification<T> group : groups) {
+            predicates.add(group.toPredicate(root, query, criteriaBuilder));
+        }
+
+        Predicate[] predicateArray = predicates.toArray(new Predicate[0]);
+        return anyOf ? criteriaBuilder.or(predicateArray) : criteriaBuilder.and(predicateArray);
+    }
+
+    /**
+     * Convertir un critère en prédicat : la valeur est convertie dans le type de l'attribut, pour que la base compare
+     * des nombres (et puisse parcourir un index par plage) plutôt que des chaînes
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param criteriaBuilder CriteriaBuilder
+     * @return Prédicat
+     */
+    private Predicate toPredicate(Path<Object> path, SearchCriteria searchCriteria, CriteriaBuilder criteriaBuilder) {
+        SearchOperation operation = searchCriteria.getOperation();
+        Class<?> type = path.getJavaType();
+        if (operation.isLike()) {
+            return like(path, searchCriteria, type, criteriaBuilder);
+        }
+        return switch (operation) {
+            case EQUAL -> criteriaBuilder.equal(path, convert(searchCriteria, searchCriteria.getValue(), type));
+            case NOT_EQUAL -> criteriaBuilder.notEqual(path, convert(searchCriteria, searchCriteria.getValue(), type));
+            case IN -> in(path, searchCriteria, type, criteriaBuilder);
+            case NOT_IN -> criteriaBuilder.not(in(path, searchCriteria, type, criteriaBuilder));
+            default -> compare(path, searchCriteria, type, criteriaBuilder);
+        };
+    }
+
+    /**
+     * Prédicat LIKE sur un attribut texte
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param type Type de l'attribut
+     * @param criteriaBuilder CriteriaBuilder
+     * @return Prédicat
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate like(Path<Object> path, SearchCriteria searchCriteria, Class<?> type, CriteriaBuilder criteriaBuilder) {
+        if (!String.class.equals(type)) {
+            throw invalidOperation(searchCriteria);
+        }
+        return criteriaBuilder.like((Expression<String>) (Expression<?>) path, searchCriteria.getOperation().likePattern(searchCriteria.getValue()), SearchOperation.LIKE_ESCAPE);
+    }
+
+    /**
+     * Prédicat IN sur une liste de valeurs liées (une collection, un tableau ou une chaîne séparée par des virgules)
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param type Type de l'attribut
+     * @param criteriaBuilder CriteriaBuilder
+     * @return Prédicat, toujours faux pour une liste vide
+     */
+    private Predicate in(Path<Object> path, SearchCriteria searchCriteria, Class<?> type, CriteriaBuilder criteriaBuilder) {
+        List<Object> values = new ArrayList<>();
+        for (Object value : toList(searchCriteria.getValue())) {
+            values.add(convert(searchCriteria, value, type));
+        }
+        return values.isEmpty() ? criteriaBuilder.disjunction() : path.in(values);
+    }
+
+    /**
+     * Comparaison typée (>, >=, <, <=) sur un attribut comparable
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param type Type de l'attribut
+     * @param criteriaBuilder CriteriaBuilder
+     * @return Prédicat
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate compare(Path<Object> path, SearchCriteria searchCriteria, Class<?> type, CriteriaBuilder criteriaBuilder) {
+        if (!Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(type))) {
+            throw invalidOperation(searchCriteria);
+        }
+        // Pas de path.as(...) : Hibernate le traduirait par un cast qui empêche l'usage de l'index
+        Expression<Comparable> expression = (Expression<Comparable>) (Expression<?>) path;
+        Comparable value = (Comparable) convert(searchCriteria, searchCriteria.getValue(), type);
+        return switch (searchCriteria.getOperation()) {
+            case GREATER_THAN -> criteriaBuilder.greaterThan(expression, value);
+            case GREATER_THAN_EQUAL -> criteriaBuilder.greaterThanOrEqualTo(expression, value);
+            case LESS_THAN -> criteriaBuilder.lessThan(expression, value);
+            case LESS_THAN_EQUAL -> criteriaBuilder.lessThanOrEqualTo(expression, value);
+            default -> throw new IllegalStateException("Unexpected operation : " + searchCriteria.getOperation());
+        };
+    }
+
+    /**
+     * Forme paramétrée de la spécification en JPQL : chaque valeur, convertie dans le type de l'attribut, est ajoutée
+     * aux paramètres et remplacée par un paramètre positionnel. Deux spécifications ayant les mêmes critères (attributs,
+     * opérations, taille arrondie des listes IN) donnent la même condition quelles que soient leurs valeurs, ce qui permet
+     * à Hibernate de réutiliser le plan de la requête.
+     * @param alias Alias de l'entité dans la requête
+     * @param type Type de l'entité dans le métamodèle
+     * @param parameters Valeurs des paramètres, complétées dans l'ordre
+     * @return Condition JPQL
+     */
+    public String toJpql(String alias, ManagedType<T> type, List<Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        for (SearchCriteria searchCriteria : searchCriteriaList) {
+            conditions.add(toJpql(alias + "." + searchCriteria.getKey(), searchCriteria, getJavaType(type, searchCriteria.getKey()), parameters));
+        }
+        for (GenericSpecification<T> group : groups) {
+            conditions.add("(" + group.toJpql(alias, type, parameters) + ")");
+        }
+
+        if (conditions.isEmpty()) {
+            return anyOf ? ALWAYS_FALSE : ALWAYS_TRUE;
+        }
+        return String.join(anyOf ? " or " : " and ", conditions);
+    }
+
+    /**
+     * Convertir un critère en condition JPQL paramétrée, avec les mêmes conversions et contrôles que toPredicate
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param type Type de l'attribut
+     * @param parameters Valeurs des paramètres
+     * @return Condition JPQL
+     */
+    private String toJpql(String path, SearchCriteria searchCriteria, Class<?> type, List<Object> parameters) {
+        SearchOperation operation = searchCriteria.getOperation();
+        if (operation.isLike()) {
+            if (!String.class.equals(type)) {
+                throw invalidOperation(searchCriteria);
             }
-            else if(searchCriteria.getOperation().equals(SearchOperation.GREATER_THAN_EQUAL)) {
-                predicates.add(criteriaBuilder.greaterThan(root.get(searchCriteria.getKey()), searchCriteria.getValue().toString()));
+            return path + " like " + parameter(parameters, operation.likePattern(searchCriteria.getValue())) + " escape '" + SearchOperation.LIKE_ESCAPE + "'";
+        }
+        return switch (operation) {
+            case EQUAL -> path + " = " + parameter(parameters, convert(searchCriteria, searchCriteria.getValue(), type));
+            case NOT_EQUAL -> path + " <> " + parameter(parameters, convert(searchCriteria, searchCriteria.getValue(), type));
+            case IN, NOT_IN -> inJpql(path, searchCriteria, type, parameters);
+            default -> {
+                if (!Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(type))) {
+                    throw invalidOperation(searchCriteria);
+                }
+                String comparison = switch (operation) {
+                    case GREATER_THAN -> " > ";
+                    case GREATER_THAN_EQUAL -> " >= ";
+                    case LESS_THAN -> " < ";
+                    case LESS_THAN_EQUAL -> " <= ";
+                    default -> throw new IllegalStateException("Unexpected operation : " + operation);
+                };
+                yield path + comparison + parameter(parameters, convert(searchCriteria, searchCriteria.getValue(), type));
             }
-            else if(searchCriteria.getOperation().equals(SearchOperation.LESS_THAN)) {
-                predicates.add(criteriaBuilder.lessThan(root.get(searchCriteria.getKey()), searchCriteria.getValue().toString()));
+        };
+    }
+
+    /**
+     * Condition IN / NOT IN à un paramètre par valeur : une collection liée à un seul paramètre empêcherait Hibernate de
+     * mettre le plan en cache. La liste est complétée jusqu'à la puissance de deux suivante en répétant sa dernière valeur,
+     * pour limiter le nombre de formes différentes.
+     * @param path Chemin de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param type Type de l'attribut
+     * @param parameters Valeurs des paramètres
+     * @return Condition JPQL, toujours fausse (IN) ou vraie (NOT_IN) pour une liste vide
+     */
+    private String inJpql(String path, SearchCriteria searchCriteria, Class<?> type, List<Object> parameters) {
+        boolean negated = searchCriteria.getOperation() == SearchOperation.NOT_IN;
+        List<Object> values = new ArrayList<>();
+        for (Object value : toList(searchCriteria.getValue())) {
+            values.add(convert(searchCriteria, value, type));
+        }
+        if (values.isEmpty()) {
+            return negated ? ALWAYS_TRUE : ALWAYS_FALSE;
+        }
+
+        int paddedSize = Integer.highestOneBit(values.size() - 1) << 1;
+        List<String> placeholders = new ArrayList<>();
+        for (int i = 0; i < Math.max(paddedSize, values.size()); i++) {
+            placeholders.add(parameter(parameters, values.get(Math.min(i, values.size() - 1))));
+        }
+        return path + (negated ? " not in (" : " in (") + String.join(", ", placeholders) + ")";
+    }
+
+    /**
+     * Ajoute une valeur aux paramètres
+     * @param parameters Valeurs des paramètres
+     * @param value Valeur
+     * @return Paramètre positionnel de la valeur
+     */
+    private static String parameter(List<Object> parameters, Object value) {
+        parameters.add(value);
+        return "?" + parameters.size();
+    }
+
+    /**
+     * Convertit une valeur dans le type de l'attribut
+     * @param searchCriteria Critère de recherche
+     * @param value Valeur
+     * @param type Type de l'attribut
+     * @return Valeur convertie
+     */
+    private static Object convert(SearchCriteria searchCriteria, Object value, Class<?> type) {
+        try {
+            Object converted = CONVERSION_SERVICE.convert(value, ClassUtils.resolvePrimitiveIfNecessary(type));
+            if (converted == null) {
+                throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Missing filter value for " + searchCriteria.getKey());
             }
-            else if(searchCriteria.getOperation().equals(SearchOperation.LESS_THAN_EQUAL)) {
-                predicates.add(criteriaBuilder.lessThan(root.get(searchCriteria.getKey()), searchCriteria.getValue().toString()));
+            return converted;
+        } catch (ConversionException ex) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter value for " + searchCriteria.getKey() + " : " + value);
+        }
+    }
+
+    /**
+     * @param searchCriteria Critère de recherche
+     * @return Erreur 400 : opération impossible sur le type de l'attribut
+     */
+    private static ProductAPIException invalidOperation(SearchCriteria searchCriteria) {
+        return new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter operation " + searchCriteria.getOperation() + " for " + searchCriteria.getKey());
+    }
+
+    /**
+     * @param value Collection, tableau ou chaîne de valeurs séparées par des virgules
+     * @return Liste des valeurs
+     */
+    private static List<?> toList(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        if (value != null && value.getClass().isArray()) {
+            return Arrays.asList(ObjectUtils.toObjectArray(value));
+        }
+        if (value instanceof String string) {
+            return Arrays.stream(StringUtils.commaDelimitedListToStringArray(string)).map(String::trim).collect(Collectors.toList());
+        }
+        return value == null ? List.of() : List.of(value);
+    }
+
+    /**
+     * Résout le type d'un attribut, éventuellement imbriqué (ex : "category.id"), dans le métamodèle
+     * @param type Type de l'entité
+     * @param key Clé de l'attribut
+     * @return Type Java de l'attribut
+     */
+    private static Class<?> getJavaType(ManagedType<?> type, String key) {
+        ManagedType<?> managedType = type;
+        Attribute<?, ?> attribute = null;
+        for (String name : key.split("\\.")) {
+            if (managedType == null) {
+                throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter attribute : " + key);
             }
-            else if(searchCriteria.getOperation().equals(SearchOperation.LIKE)) {
-                predicates.add(criteriaBuilder.like(root.get(searchCriteria.getKey()), "%" + searchCriteria.getValue() + "%"));
+            try {
+                attribute = managedType.getAttribute(name);
+            } catch (IllegalArgumentException ex) {
+                throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter attribute : " + key);
             }
+            managedType = attribute instanceof SingularAttribute<?, ?> singular && singular.getType() instanceof ManagedType<?> nested
+                    ? nested : null;
         }
+        return attribute.getJavaType();
+    }
 
-        return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    /**
+     * Résout le chemin d'un attribut, éventuellement imbriqué (ex : "category.id")
+     * @param root Root
+     * @param key Clé de l'attribut
+     * @return Chemin de l'attribut
+     */
+    private <Y> Path<Y> getPath(Root<T> root, String key) {
+        Path<?> path = root;
+        for (String attribute : key.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Y> typedPath = (Path<Y>) path;
+        return typedPath;
     }
 }
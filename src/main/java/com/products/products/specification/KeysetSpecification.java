@@ -0,0 +1,90 @@
+package com.products.products.specification;
+
+import com.products.products.exception.ProductAPIException;
+import com.products.products.specification.utils.KeysetCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spécification de pagination par clé : ne retient que les lignes situées après la position (valeur de tri, id) du curseur.
+ * Les valeurs nulles sont considérées comme les plus petites (ordre MySQL).
+ * @param <T> Type de l'entité
+ */
+public class KeysetSpecification<T> implements Specification<T> {
+
+    private static final String ID = "id";
+
+    private final KeysetCursor cursor;
+
+    /**
+     * Constructeur
+     * @param cursor Curseur
+     */
+    public KeysetSpecification(KeysetCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Convertir la spécification en prédicat
+     * @param root Root
+     * @param query CriteriaQuery
+     * @param criteriaBuilder CriteriaBuilder
+     * @return Prédicat
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Path<Integer> id = root.get(ID);
+        Predicate afterId = cursor.isAscending()
+                ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                : criteriaBuilder.lessThan(id, cursor.getLastId());
+
+        if (ID.equals(cursor.getSortBy())) {
+            return afterId;
+        }
+
+        Path field = root.get(cursor.getSortBy());
+        if (cursor.getLastValue() == null) {
+            Predicate sameNullValue = criteriaBuilder.and(criteriaBuilder.isNull(field), afterId);
+            return cursor.isAscending()
+                    ? criteriaBuilder.or(sameNullValue, criteriaBuilder.isNotNull(field))
+                    : sameNullValue;
+        }
+
+        Comparable value = parseValue(field.getJavaType(), cursor.getLastValue());
+        Predicate sameValue = criteriaBuilder.and(criteriaBuilder.equal(field, value), afterId);
+        return cursor.isAscending()
+                ? criteriaBuilder.or(criteriaBuilder.greaterThan(field, value), sameValue)
+                : criteriaBuilder.or(criteriaBuilder.lessThan(field, value), sameValue, criteriaBuilder.isNull(field));
+    }
+
+    /**
+     * Convertit la valeur du curseur dans le type de l'attribut trié
+     * @param type Type de l'attribut
+     * @param value Valeur du curseur
+     * @return Valeur typée
+     */
+    private static Comparable<?> parseValue(Class<?> type, String value) {
+        try {
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Float.class || type == float.class) {
+                return Float.valueOf(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return value;
+        } catch (RuntimeException ex) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.products.products.specification;
+
+import com.products.products.entity.Product;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analyseur des expressions de filtre des produits (paramètre filter), dans une syntaxe proche de RSQL :
+ * <pre>
+ * expression  = et { "," et }                        (OU)
+ * et          = contrainte { ";" contrainte }        (ET)
+ * contrainte  = "(" expression ")" | attribut opérateur arguments
+ * opérateur   = "==" | "!=" | "=gt=" | ">" | "=ge=" | ">=" | "=lt=" | "<" | "=le=" | "<=" | "=in=" | "=out="
+ * arguments   = valeur | "(" valeur { "," valeur } ")"
+ * valeur      = texte sans caractère réservé ni espace | 'texte' | "texte"   (\ échappe un caractère entre guillemets)
+ * </pre>
+ * Exemple : {@code rating=ge=4;(brand=in=(1,2),title==phone*)}. Avec ==, une valeur sans guillemets commençant et/ou
+ * finissant par * recherche un suffixe, un préfixe ou une sous-chaîne.
+ * Seuls les attributs de la liste blanche sont filtrables ; les valeurs sont converties dans leur type dès l'analyse.
+ */
+public final class ProductFilterParser {
+
+    /**
+     * Longueur maximale d'une expression
+     */
+    public static final int MAX_LENGTH = 2000;
+
+    private static final int MAX_DEPTH = 8;
+    private static final String RESERVED = "'\"();,=!<>";
+    private static final char WILDCARD = '*';
+    private static final String[] OPERATORS = {"=gt=", "=ge=", "=lt=", "=le=", "=in=", "=out=", "==", "!=", ">=", "<=", ">", "<"};
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    /**
+     * Attributs filtrables : nom dans l'expression => attribut du métamodèle et type
+     */
+    private static final Map<String, FilterAttribute> ATTRIBUTES = Map.of(
+            Product_.ID, new FilterAttribute(Product_.ID, Integer.class),
+            Product_.TITLE, new FilterAttribute(Product_.TITLE, String.class),
+            Product_.DESCRIPTION, new FilterAttribute(Product_.DESCRIPTION, String.class),
+            Product_.PRICE, new FilterAttribute(Product_.PRICE, Float.class),
+            Product_.DISCOUNT_PERCENTAGE, new FilterAttribute(Product_.DISCOUNT_PERCENTAGE, Integer.class),
+            Product_.RATING, new FilterAttribute(Product_.RATING, Float.class),
+            Product_.STOCK, new FilterAttribute(Product_.STOCK, Integer.class),
+            "category", new FilterAttribute(Product_.CATEGORY_ID, Integer.class),
+            "brand", new FilterAttribute(Product_.BRAND_ID, Integer.class)
+    );
+
+    private final String input;
+    private int position;
+    private int depth;
+
+    private ProductFilterParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * Analyse une expression de filtre
+     * @param expression Expression
+     * @return Spécification (arbre de critères)
+     * @throws ProductAPIException 400 si l'expression est invalide
+     */
+    public static GenericSpecification<Product> parse(String expression) {
+        if (expression.length() > MAX_LENGTH) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter : longer than " + MAX_LENGTH + " characters");
+        }
+        ProductFilterParser parser = new ProductFilterParser(expression);
+        GenericSpecification<Product> specification = parser.parseOr();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw parser.error("unexpected '" + parser.peek() + "'");
+        }
+        return specification;
+    }
+
+    /**
+     * Forme normalisée d'une expression, sans les espaces non significatifs : deux expressions de même forme
+     * normalisée ont la même analyse
+     * @param expression Expression
+     * @return Expression normalisée
+     */
+    public static String normalize(String expression) {
+        StringBuilder normalized = new StringBuilder(expression.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (quote != 0) {
+                normalized.append(c);
+                if (c == '\\' && i + 1 < expression.length()) {
+                    normalized.append(expression.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+            } else {
+                // Un espace entre deux valeurs reste une erreur de syntaxe : il est conservé
+                if (pendingSpace && !normalized.isEmpty() && !isReserved(c) && !isReserved(normalized.charAt(normalized.length() - 1))) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+                if (c == '\'' || c == '"') {
+                    quote = c;
+                }
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * expression = et { "," et }
+     * @return Spécification
+     */
+    private GenericSpecification<Product> parseOr() {
+        List<GenericSpecification<Product>> alternatives = new ArrayList<>();
+        alternatives.add(parseAnd());
+        while (consume(',')) {
+            alternatives.add(parseAnd());
+        }
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        GenericSpecification<Product> anyOf = GenericSpecification.anyOf();
+        alternatives.forEach(anyOf::add);
+        return anyOf;
+    }
+
+    /**
+     * et = contrainte { ";" contrainte }
+     * @return Spécification
+     */
+    private GenericSpecification<Product> parseAnd() {
+        GenericSpecification<Product> allOf = new GenericSpecification<>();
+        do {
+            if (consume('(')) {
+                if (++depth > MAX_DEPTH) {
+                    throw error("more than " + MAX_DEPTH + " nested groups");
+                }
+                allOf.add(parseOr());
+                expect(')');
+                depth--;
+            } else {
+                allOf.add(parseComparison());
+            }
+        } while (consume(';'));
+        return allOf;
+    }
+
+    /**
+     * contrainte = attribut opérateur arguments
+     * @return Critère de recherche
+     */
+    private SearchCriteria parseComparison() {
+        skipWhitespace();
+        int start = position;
+        while (!atEnd() && (Character.isLetterOrDigit(peek()) || peek() == '_')) {
+            position++;
+        }
+        String selector = input.substring(start, position);
+        if (selector.isEmpty()) {
+            throw error("expected an attribute");
+        }
+        FilterAttribute attribute = ATTRIBUTES.get(selector);
+        if (attribute == null) {
+            position = start;
+            throw error("unknown attribute '" + selector + "', expected one of " + ATTRIBUTES.keySet().stream().sorted().toList());
+        }
+
+        String operator = parseOperator();
+        List<Argument> arguments = parseArguments();
+        boolean list = operator.equals("=in=") || operator.equals("=out=");
+        if (!list && arguments.size() != 1) {
+            throw error("operator " + operator + " takes a single value");
+        }
+        if (list) {
+            List<Object> values = new ArrayList<>();
+            for (Argument argument : arguments) {
+                values.add(convert(attribute, selector, argument.value()));
+            }
+            return new SearchCriteria(attribute.key(), operator.equals("=in=") ? SearchOperation.IN : SearchOperation.NOT_IN, values);
+        }
+
+        Argument argument = arguments.get(0);
+        if (operator.equals("==") && argument.hasWildcard()) {
+            return wildcardCriteria(attribute, selector, argument.value());
+        }
+        if (argument.hasWildcard()) {
+            throw error("wildcards are only supported with ==");
+        }
+        SearchOperation operation = switch (operator) {
+            case "==" -> SearchOperation.EQUAL;
+            case "!=" -> SearchOperation.NOT_EQUAL;
+            case "=gt=", ">" -> SearchOperation.GREATER_THAN;
+            case "=ge=", ">=" -> SearchOperation.GREATER_THAN_EQUAL;
+            case "=lt=", "<" -> SearchOperation.LESS_THAN;
+            default -> SearchOperation.LESS_THAN_EQUAL;
+        };
+        return new SearchCriteria(attribute.key(), operation, convert(attribute, selector, argument.value()));
+    }
+
+    /**
+     * Critère LIKE d'une valeur avec jokers (*x, x* ou *x*)
+     * @param attribute Attribut
+     * @param selector Nom de l'attribut
+     * @param value Valeur brute
+     * @return Critère de recherche
+     */
+    private SearchCriteria wildcardCriteria(FilterAttribute attribute, String selector, String value) {
+        if (!String.class.equals(attribute.type())) {
+            throw error("wildcards are only supported on text attributes, not on '" + selector + "'");
+        }
+        boolean leading = value.charAt(0) == WILDCARD;
+        boolean trailing = value.length() > 1 && value.charAt(value.length() - 1) == WILDCARD;
+        String text = value.substring(leading ? 1 : 0, trailing ? value.length() - 1 : value.length());
+        if (text.isEmpty() || text.indexOf(WILDCARD) >= 0) {
+            throw error("wildcards are only supported at the start and the end of a value");
+        }
+        SearchOperation operation = leading && trailing ? SearchOperation.CONTAIN
+                : leading ? SearchOperation.MATCH_END : SearchOperation.MATCH_START;
+        return new SearchCriteria(attribute.key(), operation, text);
+    }
+
+    /**
+     * @return Opérateur
+     */
+    private String parseOperator() {
+        skipWhitespace();
+        for (String operator : OPERATORS) {
+            if (input.startsWith(operator, position)) {
+                position += operator.length();
+                return operator;
+            }
+        }
+        throw error("expected an operator");
+    }
+
+    /**
+     * arguments = valeur | "(" valeur { "," valeur } ")"
+     * @return Valeurs
+     */
+    private List<Argument> parseArguments() {
+        List<Argument> arguments = new ArrayList<>();
+        if (consume('(')) {
+            do {
+                arguments.add(parseValue());
+            } while (consume(','));
+            expect(')');
+        } else {
+            arguments.add(parseValue());
+        }
+        return arguments;
+    }
+
+    /**
+     * @return Valeur, entre guillemets ou non
+     */
+    private Argument parseValue() {
+        skipWhitespace();
+        if (!atEnd() && (peek() == '\'' || peek() == '"')) {
+            char quote = input.charAt(position++);
+            StringBuilder value = new StringBuilder();
+            while (!atEnd() && peek() != quote) {
+                char c = input.charAt(position++);
+                if (c == '\\' && !atEnd()) {
+                    c = input.charAt(position++);
+                }
+                value.append(c);
+            }
+            if (atEnd()) {
+                throw error("unterminated quoted value");
+            }
+            position++;
+            return new Argument(value.toString(), true);
+        }
+        int start = position;
+        while (!atEnd() && !isReserved(peek()) && !Character.isWhitespace(peek())) {
+            position++;
+        }
+        if (start == position) {
+            throw error("expected a value");
+        }
+        return new Argument(input.substring(start, position), false);
+    }
+
+    /**
+     * Convertit une valeur dans le type de l'attribut
+     * @param attribute Attribut
+     * @param selector Nom de l'attribut
+     * @param value Valeur
+     * @return Valeur convertie
+     */
+    private Object convert(FilterAttribute attribute, String selector, String value) {
+        try {
+            return CONVERSION_SERVICE.convert(value, attribute.type());
+        } catch (ConversionException ex) {
+            throw error("invalid value '" + value + "' for '" + selector + "'");
+        }
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        if (!atEnd() && peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (!atEnd() && Character.isWhitespace(peek())) {
+            position++;
+        }
+    }
+
+    private boolean atEnd() {
+        return position >= input.length();
+    }
+
+    private char peek() {
+        return input.charAt(position);
+    }
+
+    private static boolean isReserved(char c) {
+        return RESERVED.indexOf(c) >= 0;
+    }
+
+    /**
+     * @param message Détail de l'erreur
+     * @return Erreur 400 avec la position dans l'expression
+     */
+    private ProductAPIException error(String message) {
+        return new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid filter at position " + (position + 1) + " : " + message);
+    }
+
+    /**
+     * Attribut filtrable
+     * @param key Clé de l'attribut dans la spécification
+     * @param type Type de l'attribut
+     */
+    private record FilterAttribute(String key, Class<?> type) {
+    }
+
+    /**
+     * Valeur d'un argument
+     * @param value Texte de la valeur
+     * @param quoted Vrai si la valeur était entre guillemets (les jokers y sont littéraux)
+     */
+    private record Argument(String value, boolean quoted) {
+
+        boolean hasWildcard() {
+            return !quoted && value.indexOf(WILDCARD) >= 0;
+        }
+    }
+}
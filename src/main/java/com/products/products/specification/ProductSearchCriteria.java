@@ -0,0 +1,45 @@
+package com.products.products.specification;
+
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères de filtre des listes de produits, partagés par l'API JPA (GenericSpecification) et l'API réactive (SQL)
+ */
+public final class ProductSearchCriteria {
+
+    private ProductSearchCriteria() {
+    }
+
+    /**
+     * Construit les critères de filtre d'une liste de produits
+     * @param title Titre
+     * @param description Description
+     * @param minPrice Prix minimum
+     * @param maxPrice Prix maximum
+     * @return Critères de recherche
+     */
+    public static List<SearchCriteria> of(String title, String description, Integer minPrice, Integer maxPrice) {
+        List<SearchCriteria> searchCriteriaList = new ArrayList<>();
+        // Title
+        if(StringUtils.hasLength(title)) {
+            searchCriteriaList.add(new SearchCriteria(Product_.TITLE, SearchOperation.LIKE, title));
+        }
+        // Description
+        if(StringUtils.hasLength(description)) {
+            searchCriteriaList.add(new SearchCriteria(Product_.DESCRIPTION, SearchOperation.LIKE, description));
+        }
+        if(minPrice != null) {
+            searchCriteriaList.add(new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, minPrice));
+        }
+        if(maxPrice != null) {
+            searchCriteriaList.add(new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, maxPrice));
+        }
+        return searchCriteriaList;
+    }
+}
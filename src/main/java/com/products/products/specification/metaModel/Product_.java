@@ -14,11 +14,17 @@ public abstract class Product_ {
     public static volatile SingularAttribute<Product, Float> price;
     public static volatile SingularAttribute<Product, Integer> discountPercentage;
     public static volatile SingularAttribute<Product, Float> rating;
+    public static final String ID = "id";
     public static final String TITLE = "title";
     public static final String DESCRIPTION = "description";
     public static final String PRICE = "price";
     public static final String DISCOUNT_PERCENTAGE = "discountPercentage";
     public static final String RATING = "rating";
+    public static final String STOCK = "stock";
+    public static final String DATE_CREATED = "dateCreated";
+    public static final String LAST_UPDATED = "lastUpdated";
+    public static final String CATEGORY_ID = "category.id";
+    public static final String BRAND_ID = "brand.id";
 
     /**
      * Constructeur privé
@@ -0,0 +1,86 @@
+package com.products.products.specification.utils;
+
+import com.products.products.exception.ProductAPIException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination par clé (keyset) : position (valeur du champ de tri, id) du dernier élément lu
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Champ de tri
+     */
+    private String sortBy;
+
+    /**
+     * Direction du tri
+     */
+    private String sortDir;
+
+    /**
+     * Id du dernier élément lu
+     */
+    private int lastId;
+
+    /**
+     * Valeur du champ de tri du dernier élément lu (null si la valeur est nulle)
+     */
+    private String lastValue;
+
+    /**
+     * Encode le curseur en chaîne opaque
+     * @return Curseur encodé
+     */
+    public String encode() {
+        String raw = sortBy + SEPARATOR + sortDir + SEPARATOR + lastId + SEPARATOR + (lastValue == null ? "n" : "v" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur opaque
+     * @param cursor Curseur encodé
+     * @return Le curseur
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // La valeur est en dernière position et peut elle-même contenir le séparateur
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            String lastValue = parts[3].charAt(0) == 'n' ? null : parts[3].substring(1);
+            return new KeysetCursor(parts[0], parts[1], Integer.parseInt(parts[2]), lastValue);
+        } catch (IllegalArgumentException ex) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Vérifie que le curseur a été produit pour le même tri
+     * @param sortBy Champ de tri
+     * @param sortDir Direction du tri
+     * @return Vrai si le tri correspond
+     */
+    public boolean matches(String sortBy, String sortDir) {
+        return this.sortBy.equals(sortBy) && this.sortDir.equalsIgnoreCase(sortDir);
+    }
+
+    /**
+     * Indique si le tri est ascendant
+     * @return Vrai si ascendant
+     */
+    public boolean isAscending() {
+        return "asc".equalsIgnoreCase(sortDir);
+    }
+}
@@ -16,4 +16,13 @@ public class SearchCriteria {
     private String key;
     private SearchOperation operation;
     private Object value;
+
+    /**
+     * Représentation normalisée du critère
+     * @return Clé, opération et valeur
+     */
+    @Override
+    public String toString() {
+        return key + ":" + operation + ":" + value;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.products.products.specification.utils;
 
+/**
+ * Opérations des critères de recherche
+ */
 public enum SearchOperation {
     EQUAL,
     NOT_EQUAL,
@@ -12,6 +15,50 @@ public enum SearchOperation {
     MATCH_END,
     MATCH_START,
     IN,
-    NOT_IN
-}
+    NOT_IN;
+
+    /**
+     * Caractère d'échappement des motifs LIKE, à déclarer explicitement (ESCAPE '!') : Hibernate désactive l'échappement
+     * par défaut, et la barre oblique inverse n'a pas la même syntaxe littérale dans toutes les bases
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    /**
+     * Indique si l'opération se traduit par un LIKE
+     * @return Vrai pour LIKE, CONTAIN, MATCH_START et MATCH_END
+     */
+    public boolean isLike() {
+        return this == LIKE || this == CONTAIN || this == MATCH_START || this == MATCH_END;
+    }
 
+    /**
+     * Motif LIKE de l'opération, les caractères spéciaux de la valeur étant échappés avec LIKE_ESCAPE :
+     * MATCH_START donne un préfixe 'x%', utilisable par un index
+     * @param value Valeur recherchée
+     * @return Motif LIKE
+     */
+    public String likePattern(Object value) {
+        String escaped = escapeLike(String.valueOf(value));
+        return switch (this) {
+            case LIKE, CONTAIN -> "%" + escaped + "%";
+            case MATCH_START -> escaped + "%";
+            case MATCH_END -> "%" + escaped;
+            default -> throw new IllegalStateException(this + " is not a LIKE operation");
+        };
+    }
+
+    /**
+     * @param value Valeur
+     * @return Valeur dont %, _ et le caractère d'échappement sont littéraux dans un motif LIKE
+     */
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -1,8 +1,12 @@
 package com.products.products.utils;
 
+import java.util.Set;
+
 public class ConstantsUtils {
     public static final String DEFAULT_PAGE_NUMBER = "0";
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
+    public static final String DEFAULT_COUNT_MODE = "exact";
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "price", "discountPercentage", "rating", "stock", "dateCreated", "lastUpdated");
 }
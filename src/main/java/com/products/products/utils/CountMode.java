@@ -0,0 +1,37 @@
+package com.products.products.utils;
+
+import com.products.products.exception.ProductAPIException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * Mode de calcul du nombre total d'éléments d'une liste paginée
+ */
+public enum CountMode {
+    /**
+     * Requête COUNT exacte à chaque appel
+     */
+    EXACT,
+    /**
+     * Nombre mis en cache par filtre, invalidé à chaque écriture
+     */
+    ESTIMATE,
+    /**
+     * Aucun comptage : seul l'indicateur de dernière page est renseigné
+     */
+    NONE;
+
+    /**
+     * Convertit le paramètre de requête en mode de comptage
+     * @param value Valeur du paramètre (exact, estimate ou none)
+     * @return Le mode de comptage
+     */
+    public static CountMode from(String value) {
+        try {
+            return CountMode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ProductAPIException(HttpStatus.BAD_REQUEST, "Invalid count mode : " + value);
+        }
+    }
+}
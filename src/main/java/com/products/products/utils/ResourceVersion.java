@@ -0,0 +1,66 @@
+package com.products.products.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version d'une ressource (ou d'un ensemble de ressources) servant aux requêtes conditionnelles HTTP :
+ * date de dernière modification et nombre d'éléments, lus sans charger les entités
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private static final long UNKNOWN_LAST_MODIFIED = -1;
+
+    /**
+     * Date de dernière modification (la plus récente pour un ensemble)
+     */
+    private final LocalDateTime lastModified;
+
+    /**
+     * Nombre d'éléments (un ajout ou une suppression change la version même sans changer la date maximale)
+     */
+    private final long count;
+
+    /**
+     * ETag fort, pour une représentation identique octet par octet tant que la version ne change pas
+     * @param key Identité de la ressource
+     * @return ETag fort
+     */
+    public String strongETag(String key) {
+        return "\"" + digest(key) + "\"";
+    }
+
+    /**
+     * ETag faible, pour une représentation équivalente tant que la version ne change pas
+     * @param key Identité de la ressource (filtres et pagination compris)
+     * @return ETag faible
+     */
+    public String weakETag(String key) {
+        return "W/\"" + digest(key) + "\"";
+    }
+
+    /**
+     * @return La date de dernière modification en millisecondes, ou -1 si inconnue
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null
+                ? UNKNOWN_LAST_MODIFIED
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Empreinte de la ressource et de sa version
+     * @param key Identité de la ressource
+     * @return Empreinte hexadécimale
+     */
+    private String digest(String key) {
+        return DigestUtils.md5DigestAsHex((key + "|" + lastModified + "|" + count).getBytes(StandardCharsets.UTF_8));
+    }
+}
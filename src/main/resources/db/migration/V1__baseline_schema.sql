@@ -0,0 +1,61 @@
+-- Schéma initial, tel que le créait spring.jpa.hibernate.ddl-auto=update avant les migrations (y compris le nom
+-- généré de la clé étrangère des images) : ne plus modifier, les évolutions vont dans les versions suivantes.
+-- Une base existante est marquée à cette version sans l'exécuter (spring.flyway.baseline-on-migrate).
+
+create table brands (
+    id integer not null auto_increment,
+    date_created datetime(6),
+    last_updated datetime(6),
+    name varchar(30) not null,
+    primary key (id),
+    constraint UQ_Brands_Name unique (name)
+);
+
+create table categories (
+    id integer not null auto_increment,
+    date_created datetime(6),
+    last_updated datetime(6),
+    name varchar(30) not null,
+    primary key (id),
+    constraint UQ_Categories_Name unique (name)
+);
+
+create table products (
+    id integer not null auto_increment,
+    date_created datetime(6),
+    description varchar(1000) not null,
+    discount_percentage integer,
+    last_updated datetime(6),
+    price float not null,
+    rating float,
+    stock integer not null,
+    thumbnail varchar(255),
+    title varchar(50) not null,
+    brand_id integer not null,
+    category_id integer not null,
+    primary key (id),
+    constraint UQ_Products_Title unique (title),
+    constraint FK_Brands_Products foreign key (brand_id) references brands (id),
+    constraint FK_Categories_Products foreign key (category_id) references categories (id)
+);
+
+create table product_images (
+    product_id integer not null,
+    images varchar(255),
+    constraint FKqnq71xsohugpqwf3c9gxmsuy foreign key (product_id) references products (id)
+);
+
+create table roles (
+    code varchar(20) not null,
+    label varchar(20) not null,
+    primary key (code)
+);
+
+create table users (
+    id integer not null auto_increment,
+    password varchar(100) not null,
+    role varchar(255) not null,
+    username varchar(100) not null,
+    primary key (id),
+    constraint UQ_Users_Username unique (username)
+);
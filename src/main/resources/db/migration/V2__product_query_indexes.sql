@@ -0,0 +1,21 @@
+-- Index des requêtes sur les produits (ProductRepository, GenericSpecification, pagination par clé).
+-- InnoDB ajoute la clé primaire (id) à chaque index secondaire : un index sur une colonne de tri sert aussi le
+-- départage par id de la pagination par clé.
+
+-- Filtre et tri par prix
+create index IX_Products_Price on products (price);
+
+-- Filtre et tri par note
+create index IX_Products_Rating on products (rating);
+
+-- Version de la liste (max(last_updated)) et tri par date de mise à jour
+create index IX_Products_Last_Updated on products (last_updated);
+
+-- Produits d'une catégorie triés par id (getAllProductsByCategoryId, curseur), remplace l'index de la clé étrangère
+create index IX_Products_Category_Id on products (category_id, id);
+
+-- Version des produits d'une catégorie (count et max(last_updated)) lue dans l'index seul
+create index IX_Products_Category_Last_Updated on products (category_id, last_updated);
+
+-- Filtre par marque (brand=in=...) et facettes, remplace l'index de la clé étrangère
+create index IX_Products_Brand_Id on products (brand_id, id);
@@ -0,0 +1,11 @@
+-- Compteurs du générateur d'ids des produits (@TableGenerator, blocs de 50 ids).
+-- L'optimiseur "pooled" stocke la dernière valeur du bloc réservé : le premier bloc commence juste après les ids
+-- existants, attribués jusque-là par auto-incrément.
+create table id_generators (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+);
+
+insert into id_generators (sequence_name, next_val)
+select 'products', coalesce(max(id) + 49, 0) from products;
@@ -0,0 +1,272 @@
+package com.products.products.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.products.dto.BrandDto;
+import com.products.products.dto.CategoryDto;
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.monitoring.SqlStatementBudgetFilter;
+import com.products.products.repository.BrandRepository;
+import com.products.products.repository.CategoryRepository;
+import com.products.products.repository.ProductRepository;
+import com.products.products.security.JwtTokenProvider;
+import com.products.products.service.ProductService;
+import com.products.products.utils.ConstantsUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Classe de test du nombre d'ordres SQL de chaque route de ProductController (en-tête X-SQL-Statement-Count),
+ * sur une base H2 et des caches vides : une régression N+1 fait échouer le test de la route. Les budgets sont ceux
+ * de application.properties, dont le dépassement fait échouer la requête : ils doivent tenir sur des listes de plus
+ * d'une page, qui exécutent la requête de comptage.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-statements;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.sql-budget.fail-on-exceeded=true"
+})
+class ProductControllerSqlStatementTest {
+
+    /**
+     * Plus d'une page par défaut : la requête de comptage n'est pas évitée
+     */
+    private static final int PRODUCT_COUNT = Integer.parseInt(ConstantsUtils.DEFAULT_PAGE_SIZE) + 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Category category;
+    private Brand brand;
+    private int productId;
+    private String adminToken;
+
+    /**
+     * Initialisation des données de test, sans les données de démarrage : un peu plus d'une page de produits avec deux
+     * images chacun, caches vides
+     */
+    @BeforeEach
+    void init() {
+        clean();
+        category = categoryRepository.save(Category.builder().name("category").build());
+        brand = brandRepository.save(Brand.builder().name("brand").build());
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productId = productRepository.save(Product.builder()
+                    .title("title " + i)
+                    .description("description " + i)
+                    .price(10F + i)
+                    .stock(1)
+                    .images(Set.of("image-" + i + "-1", "image-" + i + "-2"))
+                    .category(category)
+                    .brand(brand)
+                    .build()).getId();
+        }
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        adminToken = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    /**
+     * Suppression des données de test
+     */
+    @AfterEach
+    void clean() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        brandRepository.deleteAll();
+    }
+
+    /**
+     * Test GetAllProducts => version de la liste, page avec catégories et marques, comptage, images de la page
+     */
+    @Test
+    void productController_getAllProducts_statementCount() throws Exception {
+        perform(get("/api/products"), 4)
+                .andExpect(jsonPath("$.content.length()").value(Integer.parseInt(ConstantsUtils.DEFAULT_PAGE_SIZE)))
+                .andExpect(jsonPath("$.totalElements").value(PRODUCT_COUNT));
+    }
+
+    /**
+     * Test GetProductById => version du produit, produit, images, catégorie et marque
+     */
+    @Test
+    void productController_getProductById_statementCount() throws Exception {
+        perform(get("/api/products/{id}", productId), 5)
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test GetAllProductsByCategoryId => version des produits de la catégorie (404 si elle n'existe pas), existence de la
+     * catégorie, page avec catégories et marques, comptage, images de la page
+     */
+    @Test
+    void productController_getAllProductsByCategoryId_statementCount() throws Exception {
+        perform(get("/api/products/category/{id}", category.getId()), 5)
+                .andExpect(jsonPath("$.content.length()").value(Integer.parseInt(ConstantsUtils.DEFAULT_PAGE_SIZE)))
+                .andExpect(jsonPath("$.totalElements").value(PRODUCT_COUNT));
+    }
+
+    /**
+     * Test GetProductFacets => une seule requête pour toutes les facettes, puis aucune jusqu'à la modification d'un produit
+     */
+    @Test
+    void productController_getProductFacets_statementCount() throws Exception {
+        perform(get("/api/products/facets").param("max_price", "11"), 1)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.categories[0].name").value("category"))
+                .andExpect(jsonPath("$.categories[0].count").value(2))
+                .andExpect(jsonPath("$.brands[0].count").value(2))
+                .andExpect(jsonPath("$.priceRanges[0].count").value(0))
+                .andExpect(jsonPath("$.priceRanges[1].min").value(10))
+                .andExpect(jsonPath("$.priceRanges[1].count").value(2));
+        perform(get("/api/products/facets").param("max_price", "11"), 0)
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(delete("/api/products/{id}", productId).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        perform(get("/api/products/facets").param("max_price", "11"), 1)
+                .andExpect(jsonPath("$.totalElements").value(2));
+        perform(get("/api/products/facets"), 1)
+                .andExpect(jsonPath("$.totalElements").value(PRODUCT_COUNT - 1));
+    }
+
+    /**
+     * Test GetProductFacets pendant une écriture => les facettes lues avant la validation (valeurs antérieures) ne restent
+     * pas en cache : la lecture suivante tient compte de l'écriture
+     */
+    @Test
+    void productController_getProductFacets_concurrentWrite_notStale() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> {
+                productService.updateProduct(productDto(), productId);
+                Future<ResultActions> concurrentRead = executor.submit(() -> mockMvc.perform(get("/api/products/facets").param("max_price", "20")));
+                try {
+                    concurrentRead.get().andExpect(jsonPath("$.totalElements").value(PRODUCT_COUNT - 1));
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        perform(get("/api/products/facets").param("max_price", "20"), 1)
+                .andExpect(jsonPath("$.totalElements").value(PRODUCT_COUNT));
+    }
+
+    /**
+     * Test CreateProduct => un lot d'insertion pour le produit, un pour ses images
+     */
+    @Test
+    void productController_createProduct_statementCount() throws Exception {
+        perform(post("/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto())), 2)
+                .andExpect(status().isCreated());
+    }
+
+    /**
+     * Test UpdateProduct => lecture du produit, de ses images, de sa catégorie et de sa marque, puis mise à jour
+     */
+    @Test
+    void productController_updateProduct_statementCount() throws Exception {
+        perform(put("/api/products/{id}", productId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto())), 5)
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test DeleteProduct => lecture puis suppression du produit et de ses images
+     */
+    @Test
+    void productController_deleteProduct_statementCount() throws Exception {
+        perform(delete("/api/products/{id}", productId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken), 3)
+                .andExpect(status().isNoContent());
+    }
+
+    /**
+     * Exécute une requête et vérifie son nombre d'ordres SQL
+     * @param request Requête
+     * @param statementCount Nombre d'ordres SQL attendu
+     * @return Résultat de la requête
+     * @throws Exception Exception
+     */
+    private ResultActions perform(RequestBuilder request, int statementCount) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().string(SqlStatementBudgetFilter.STATEMENT_COUNT_HEADER, String.valueOf(statementCount)));
+    }
+
+    /**
+     * @return Produit à créer ou mettre à jour
+     */
+    private ProductDto productDto() {
+        return ProductDto.builder()
+                .title("new title")
+                .description("new description")
+                .price(20F)
+                .stock(2)
+                .images(Set.of("image-new"))
+                .category_id(category.getId())
+                .category(CategoryDto.builder().id(category.getId()).name(category.getName()).build())
+                .brand_id(brand.getId())
+                .brand(BrandDto.builder().id(brand.getId()).name(brand.getName()).build())
+                .build();
+    }
+}
@@ -4,10 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.products.products.dto.BrandDto;
 import com.products.products.dto.CategoryDto;
 import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductBatchResultDto;
 import com.products.products.dto.ProductDto;
 import com.products.products.exception.ResourceNotFoundException;
 import com.products.products.security.JwtAuthenticationFilter;
 import com.products.products.service.ProductService;
+import com.products.products.utils.CountMode;
+import com.products.products.utils.ResourceVersion;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,14 +20,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -47,6 +59,7 @@ class ProductControllerTest {
     private BrandDto brandDto;
     private ProductDto productDto;
     private PageResponse<ProductDto> pageResponse;
+    private ResourceVersion version;
 
     /**
      * Initialisation des données de test
@@ -75,6 +88,11 @@ class ProductControllerTest {
                 .build();
 
         pageResponse = new PageResponse<>(Collections.singletonList(productDto), 0, 10, 20, 2, false);
+
+        version = new ResourceVersion(LocalDateTime.of(2023, 3, 1, 12, 0), 20);
+        when(productService.getProductVersion(anyInt())).thenReturn(version);
+        when(productService.getProductsVersion()).thenReturn(version);
+        when(productService.getProductsVersionByCategoryId(anyInt())).thenReturn(version);
     }
 
     /**
@@ -83,23 +101,74 @@ class ProductControllerTest {
      */
     @Test
     void productController_getAllProducts_returnPageResponse() throws Exception {
-        when(productService.getAllProducts(anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(null), eq(null), eq(null))).thenReturn(pageResponse);
+        when(productService.getAllProducts(anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(CountMode.EXACT))).thenReturn(pageResponse);
 
         mockMvc.perform(get("/api/products")
                         .contentType(MediaType.APPLICATION_JSON)
                         .param("pageNo","0")
                         .param("pageSize", "10"))
                 .andExpect(status().isPartialContent())
+                .andExpect(header().exists(HttpHeaders.ETAG))
                 .andExpect(jsonPath("$.content[0].title").value("title"));
     }
 
+    /**
+     * Test GetAllProducts with the current ETag => Return NotModified without reading the page
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getAllProducts_withCurrentETag_returnNotModified() throws Exception {
+        when(productService.getAllProducts(anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(CountMode.EXACT))).thenReturn(pageResponse);
+        String eTag = mockMvc.perform(get("/api/products").param("pageSize", "10"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products")
+                        .param("pageSize", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/products")
+                        .param("pageSize", "20")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isPartialContent());
+
+        verify(productService, times(2)).getAllProducts(anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(CountMode.EXACT));
+    }
+
+    /**
+     * Test GetAllProducts without count => Return PartialContent from the last flag only
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getAllProducts_withoutCount_returnPartialContent() throws Exception {
+        PageResponse<ProductDto> uncountedPageResponse = new PageResponse<>(Collections.singletonList(productDto), 0, 10, -1, -1, false);
+        when(productService.getAllProducts(anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(CountMode.NONE))).thenReturn(uncountedPageResponse);
+
+        mockMvc.perform(get("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("count", "none"))
+                .andExpect(status().isPartialContent())
+                .andExpect(jsonPath("$.totalElements").value(-1));
+    }
+
+    /**
+     * Test GetAllProducts with an unknown count mode => Return BadRequest
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getAllProducts_withInvalidCount_returnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("count", "approximately"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test GetProductsByCategoryId => Return PageResponse of products
      * @throws Exception Exception
      */
     @Test
     void productController_getProductsByCategoryId_returnPageResponse() throws Exception {
-        when(productService.getAllProductsByCategoryId(anyInt(), anyInt(), anyInt(), anyString(), anyString())).thenReturn(pageResponse);
+        when(productService.getAllProductsByCategoryId(anyInt(), anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(CountMode.EXACT))).thenReturn(pageResponse);
 
         mockMvc.perform(get("/api/products/category/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -115,7 +184,7 @@ class ProductControllerTest {
      */
     @Test
     void productController_getProductsByCategoryId_returnNotFound() throws Exception {
-        when(productService.getAllProductsByCategoryId(anyInt(), anyInt(), anyInt(), anyString(), anyString())).thenThrow(ResourceNotFoundException.class);
+        when(productService.getAllProductsByCategoryId(anyInt(), anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(CountMode.EXACT))).thenThrow(ResourceNotFoundException.class);
 
         mockMvc.perform(get("/api/products/category/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -124,6 +193,23 @@ class ProductControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Test GetProductsByCategoryId with an ETag of a deleted category => Return NotFound, never NotModified
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getProductsByCategoryId_deletedCategoryWithETag_returnNotFound() throws Exception {
+        when(productService.getAllProductsByCategoryId(anyInt(), anyInt(), anyInt(), anyString(), anyString(), eq(null), eq(CountMode.EXACT))).thenReturn(pageResponse);
+        String eTag = mockMvc.perform(get("/api/products/category/1").param("pageSize", "10"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(productService.getProductsVersionByCategoryId(anyInt())).thenThrow(ResourceNotFoundException.class);
+
+        mockMvc.perform(get("/api/products/category/1")
+                        .param("pageSize", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Test GetProductById => Return found product
      * @throws Exception Exception
@@ -134,16 +220,72 @@ class ProductControllerTest {
 
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.strongETag("1")))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, version.getLastModifiedMillis()))
                 .andExpect(jsonPath("$..title").value("title"));
     }
 
+    /**
+     * Test GetProductById with the current ETag => Return NotModified without loading the product
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getProductById_withCurrentETag_returnNotModified() throws Exception {
+        mockMvc.perform(get("/api/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, version.strongETag("1")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.strongETag("1")));
+
+        verify(productService, never()).getProductById(anyInt());
+    }
+
+    /**
+     * Test GetProductById modified since the given date => Return product
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_getProductById_modifiedSince_returnProductDto() throws Exception {
+        when(productService.getProductById(anyInt())).thenReturn(productDto);
+
+        mockMvc.perform(get("/api/products/1")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, version.getLastModifiedMillis() - 60_000))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/1")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, version.getLastModifiedMillis()))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Test ExportProducts => Return NDJSON stream
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_exportProducts_returnNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(4);
+            outputStream.write("{\"title\":\"title\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productService).exportProducts(eq("title"), eq(null), eq(null), eq(10), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/products/export")
+                        .param("title", "title")
+                        .param("max_price", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"title\":\"title\"}\n"));
+    }
+
     /**
      * Test GetProductById => Return NotFound
      * @throws Exception Exception
      */
     @Test
     void productController_getProductById_returnNotFound() throws Exception {
-        when(productService.getProductById(anyInt())).thenThrow(ResourceNotFoundException.class);
+        when(productService.getProductVersion(anyInt())).thenThrow(ResourceNotFoundException.class);
 
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isNotFound());
@@ -164,6 +306,24 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.title").value("title"));
     }
 
+    /**
+     * Test SaveProducts with a rejected product => Return MultiStatus with a result per product
+     * @throws Exception Exception
+     */
+    @Test
+    void productController_saveProducts_returnMultiStatus() throws Exception {
+        when(productService.saveProducts(anyList())).thenReturn(List.of(
+                ProductBatchResultDto.builder().index(0).status(201).id(1).build(),
+                ProductBatchResultDto.builder().index(1).status(409).errors(List.of("title: 'title' is already used")).build()));
+
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(productDto, productDto))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].status").value(409));
+    }
+
     /**
      * Test UpdateProduct => Return product
      * @throws Exception Exception
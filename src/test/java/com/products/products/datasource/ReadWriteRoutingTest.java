@@ -0,0 +1,192 @@
+package com.products.products.datasource;
+
+import com.products.products.dto.CategoryDto;
+import com.products.products.dto.ProductDto;
+import com.products.products.service.CategoryService;
+import com.products.products.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Classe de test de la séparation lecture / écriture, avec deux bases H2 pour la base principale et le réplica.
+ * La réplication est simulée par une copie de la base principale avant chaque test : les écritures faites ensuite
+ * directement sur une base représentent le retard du réplica.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReadWriteRoutingTest.REPLICA_URL,
+        "app.datasource.read-your-writes-window=1m",
+        "app.search.enabled=false",
+        "app.suggest.enabled=false"
+})
+class ReadWriteRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    private int productId;
+    private String replicatedTitle;
+
+    /**
+     * Initialisation : réplica à jour de la base principale, cache de second niveau vide
+     */
+    @BeforeEach
+    void init() throws Exception {
+        replicate();
+        try (Connection primary = connect(PRIMARY_URL);
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id, title from Products order by id limit 1")) {
+            resultSet.next();
+            productId = resultSet.getInt(1);
+            replicatedTitle = resultSet.getString(2);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * Nettoyage du client courant et des caches, partagés par le fournisseur JCache avec les autres contextes de test
+     */
+    @AfterEach
+    void clean() {
+        SecurityContextHolder.clearContext();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Test des lectures => servies par le réplica, sans voir les écritures qu'il n'a pas encore reçues
+     * (client authentifié : la requête simulée du test partage son adresse IP avec les autres tests)
+     */
+    @Test
+    void readOnlyMethods_readFromReplica() throws SQLException {
+        authenticate("reader");
+        execute(PRIMARY_URL, "update Products set title = 'Primary only' where id = " + productId);
+        execute(REPLICA_URL, "insert into Categories (name) values ('Replica only')");
+
+        ProductDto product = productService.getProductById(productId);
+        List<CategoryDto> categories = categoryService.getAllCategories();
+
+        assertThat(product.getTitle()).isEqualTo(replicatedTitle);
+        assertThat(categories).extracting(CategoryDto::getName).contains("Replica only");
+    }
+
+    /**
+     * Test des écritures => sur la base principale uniquement
+     */
+    @Test
+    void updateProduct_writeToPrimary() throws SQLException {
+        productService.updateProduct(updateOf("Written title"), productId);
+
+        assertThat(titleIn(PRIMARY_URL)).isEqualTo("Written title");
+        assertThat(titleIn(REPLICA_URL)).isEqualTo(replicatedTitle);
+    }
+
+    /**
+     * Test de la fenêtre après écriture => le client qui a écrit relit sur la base principale, les autres sur le réplica
+     */
+    @Test
+    void getProductById_afterWrite_readFromPrimaryForWriter() {
+        authenticate("writer");
+        productService.updateProduct(updateOf("Read your writes"), productId);
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(productService.getProductById(productId).getTitle()).isEqualTo("Read your writes");
+
+        authenticate("reader");
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(productService.getProductById(productId).getTitle()).isEqualTo(replicatedTitle);
+    }
+
+    /**
+     * Copie la base principale dans le réplica
+     */
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("routing-primary", ".sql");
+        try {
+            execute(PRIMARY_URL, "script to '" + script + "'");
+            execute(REPLICA_URL, "drop all objects");
+            execute(REPLICA_URL, "runscript from '" + script + "'");
+        } finally {
+            Files.delete(script);
+        }
+    }
+
+    /**
+     * @param url URL de la base
+     * @return Titre du produit de test dans la base
+     */
+    private String titleIn(String url) throws SQLException {
+        try (Connection connection = connect(url);
+             PreparedStatement statement = connection.prepareStatement("select title from Products where id = ?")) {
+            statement.setInt(1, productId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    /**
+     * @param title Nouveau titre
+     * @return Mise à jour du produit de test
+     */
+    private ProductDto updateOf(String title) {
+        return ProductDto.builder()
+                .title(title)
+                .description("Description of the updated product")
+                .price(10F)
+                .build();
+    }
+
+    /**
+     * @param username Utilisateur authentifié courant
+     */
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, "sa", "");
+    }
+}
@@ -0,0 +1,137 @@
+package com.products.products.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe de test du journal des requêtes lentes, sur une base H2 (seuil à 0 : tout ordre est lent)
+ */
+class SlowQueryLogTest {
+
+    private DefaultListableBeanFactory beanFactory;
+    private SlowQueryLog slowQueryLog;
+    private DataSource dataSource;
+
+    /**
+     * Initialisation : source de données H2 enveloppée par le journal, table de produits
+     * @throws SQLException Exception SQL
+     */
+    @BeforeEach
+    void init() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query;DB_CLOSE_DELAY=-1");
+        beanFactory = new DefaultListableBeanFactory();
+        slowQueryLog = new SlowQueryLog(beanFactory.getBeanProvider(DataSource.class), 0, 10, 5);
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(slowQueryLog).build();
+        beanFactory.registerSingleton("dataSource", dataSource);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table products (id int primary key, title varchar(50), price float)");
+            statement.execute("insert into products values (1, 'title 1', 10), (2, 'title 2', 20), (3, 'title 3', 30)");
+        }
+        slowQueryLog.clear();
+    }
+
+    /**
+     * Suppression de la table
+     * @throws SQLException Exception SQL
+     */
+    @AfterEach
+    void clean() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table products");
+        }
+        slowQueryLog.close();
+    }
+
+    /**
+     * Test Shape => les listes IN de longueurs différentes ont la même forme, les autres listes sont conservées
+     */
+    @Test
+    void slowQueryLog_shape_collapsesInLists() {
+        Assertions.assertThat(SlowQueryLog.shape("select * from products where id in (?, ?, ?) and price>=?"))
+                .isEqualTo(SlowQueryLog.shape("select * from products where id in (?,?) and price>=?"))
+                .isEqualTo("select * from products where id in (?...) and price>=?");
+        Assertions.assertThat(SlowQueryLog.shape("insert into products (id, title) values (?, ?)"))
+                .isEqualTo("insert into products (id, title) values (?, ?)");
+    }
+
+    /**
+     * Test AfterQuery => une forme par filtre, avec ses exécutions, ses valeurs et son plan d'exécution
+     * @throws Exception Exception
+     */
+    @Test
+    void slowQueryLog_afterQuery_recordsShapeAndPlan() throws Exception {
+        query("select id, title from products where id in (?, ?) and price >= ?", 1, 2, 15F);
+        query("select id, title from products where id in (?, ?, ?) and price >= ?", 1, 2, 3, 25F);
+        query("select id, title from products where title like ?", "%title%");
+
+        List<SlowQuery> slowQueries = slowQueryLog.getSlowest(10);
+
+        Assertions.assertThat(slowQueries).hasSize(2);
+        SlowQuery inQuery = slowQueries.stream()
+                .filter(slowQuery -> slowQuery.getShape().contains("in (?...)"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertThat(inQuery.getExecutions()).isEqualTo(2);
+        Assertions.assertThat(inQuery.getParameters()).isNotEmpty();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (inQuery.getPlan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(inQuery.getPlan()).singleElement().asString().containsIgnoringCase("products");
+    }
+
+    /**
+     * Test AfterQuery => les valeurs d'une écriture ne sont pas conservées, ni son plan demandé
+     * @throws SQLException Exception SQL
+     */
+    @Test
+    void slowQueryLog_afterQuery_keepsNoWriteParameters() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update products set title = ? where id = ?")) {
+            statement.setString(1, "secret");
+            statement.setInt(2, 1);
+            statement.executeUpdate();
+        }
+
+        Assertions.assertThat(slowQueryLog.getSlowest(10)).singleElement().satisfies(slowQuery -> {
+            Assertions.assertThat(slowQuery.getSql()).isEqualTo("update products set title = ? where id = ?");
+            Assertions.assertThat(slowQuery.getParameters()).isEmpty();
+            Assertions.assertThat(slowQuery.getPlan()).isNull();
+        });
+    }
+
+    /**
+     * Exécute une requête et lit son résultat
+     * @param sql Requête
+     * @param parameters Valeurs des paramètres
+     * @throws SQLException Exception SQL
+     */
+    private void query(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getInt(1);
+                }
+            }
+        }
+    }
+}
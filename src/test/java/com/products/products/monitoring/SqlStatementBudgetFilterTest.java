@@ -0,0 +1,41 @@
+package com.products.products.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Classe de test du dépassement d'un budget d'ordres SQL avec fail-on-exceeded, sur une base H2
+ * (les budgets livrés sont vérifiés par ProductControllerSqlStatementTest)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.sql-budget.fail-on-exceeded=true",
+        "app.sql-budget.routes={'GET /api/products/category/{id}': 0}"
+})
+class SqlStatementBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Test GetAllProductsByCategoryId => le budget de la route (aucun ordre) est dépassé : la requête échoue
+     */
+    @Test
+    void sqlStatementBudget_exceeded_failsRequest() throws Exception {
+        mockMvc.perform(get("/api/products/category/{id}", 1))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("SQL statement budget of 0 exceeded for GET /api/products/category/{id}"));
+    }
+}
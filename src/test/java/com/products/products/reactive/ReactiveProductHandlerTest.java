@@ -0,0 +1,154 @@
+package com.products.products.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.products.dto.ProductDto;
+import io.r2dbc.spi.ConnectionFactories;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Classe de test pour l'API réactive, sur une base H2 embarquée
+ */
+public class ReactiveProductHandlerTest {
+
+    private static final List<String> SCHEMA = List.of(
+            "DROP ALL OBJECTS",
+            "CREATE TABLE categories (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL)",
+            "CREATE TABLE brands (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL)",
+            "CREATE TABLE products (id INT PRIMARY KEY, title VARCHAR(255) NOT NULL, description VARCHAR(255) NOT NULL, "
+                    + "price REAL NOT NULL, discount_percentage INT, rating REAL, stock INT NOT NULL, thumbnail VARCHAR(255), "
+                    + "date_created TIMESTAMP, last_updated TIMESTAMP, category_id INT NOT NULL, brand_id INT NOT NULL)",
+            "CREATE TABLE product_images (product_id INT NOT NULL, images VARCHAR(255))",
+            "INSERT INTO categories VALUES (1, 'smartphones'), (2, 'laptops'), (3, 'fragrances')",
+            "INSERT INTO brands VALUES (1, 'Apple'), (2, 'Samsung')",
+            "INSERT INTO products (id, title, description, price, discount_percentage, rating, stock, category_id, brand_id) VALUES "
+                    + "(1, 'iPhone 9', 'An apple mobile which is nothing like apple', 549, 12, 4.69, 94, 1, 1), "
+                    + "(2, 'iPhone X', 'SIM-Free, Model A19211 6.5-inch Super Retina HD display', 899, 17, 4.44, 34, 1, 1), "
+                    + "(3, 'Samsung Universe 9', 'Samsung new variant which goes beyond Galaxy', 1249, 15, 4.09, 36, 1, 2), "
+                    + "(4, 'MacBook Pro', 'MacBook Pro 2021 with mini-LED display', 1749, 11, 4.57, 83, 2, 1)",
+            "INSERT INTO product_images VALUES (1, 'https://i.dummyjson.com/data/products/1/1.jpg'), "
+                    + "(1, 'https://i.dummyjson.com/data/products/1/2.jpg'), (4, 'https://i.dummyjson.com/data/products/4/1.jpg')");
+
+    private RouterFunction<ServerResponse> routes;
+    private ReactiveProductHandler handler;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void init() {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1"));
+        Flux.fromIterable(SCHEMA).concatMap(sql -> databaseClient.sql(sql).then()).blockLast();
+
+        ReactiveProductService reactiveProductService = new ReactiveProductService(new ReactiveProductRepository(databaseClient));
+        ReflectionTestUtils.setField(reactiveProductService, "batchSize", 2);
+        handler = new ReactiveProductHandler(reactiveProductService);
+        routes = new ReactiveServerConfig().reactiveProductRoutes(handler);
+        webTestClient = WebTestClient.bindToRouterFunction(routes).build();
+    }
+
+    /**
+     * Test de la liste des produits : filtres de prix inclusifs, tri, pagination et images
+     */
+    @Test
+    void reactiveProductHandler_getAllProducts_returnFilteredPage() {
+        webTestClient.get().uri("/api/products?min_price=549&max_price=1249&sortBy=price&sortDir=desc&pageSize=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].id").isEqualTo(3)
+                .jsonPath("$.content[0].brand.name").isEqualTo("Samsung")
+                .jsonPath("$.content[1].id").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.last").isEqualTo(false);
+
+        webTestClient.get().uri("/api/products?title=iPhone&pageNo=0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].images.length()").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.last").isEqualTo(true);
+    }
+
+    /**
+     * Test de la liste des produits d'une catégorie, et d'une catégorie inexistante
+     */
+    @Test
+    void reactiveProductHandler_getAllProductsByCategoryId_returnPageOrNotFound() {
+        webTestClient.get().uri("/api/products/category/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("MacBook Pro")
+                .jsonPath("$.totalElements").isEqualTo(1);
+
+        webTestClient.get().uri("/api/products/category/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(0);
+
+        webTestClient.get().uri("/api/products/category/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Category not found with id : '99'");
+    }
+
+    /**
+     * Test de la lecture d'un produit, d'un produit inexistant et d'un tri invalide
+     */
+    @Test
+    void reactiveProductHandler_getProductById_returnProductOrError() {
+        webTestClient.get().uri("/api/products/4")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("MacBook Pro")
+                .jsonPath("$.category.name").isEqualTo("laptops")
+                .jsonPath("$.images[0]").isEqualTo("https://i.dummyjson.com/data/products/4/1.jpg");
+
+        webTestClient.get().uri("/api/products/99").exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/api/products/abc").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/products?sortBy=password").exchange().expectStatus().isBadRequest();
+    }
+
+    /**
+     * Test de la recherche par titre en flux NDJSON, à travers le serveur Reactor Netty
+     */
+    @Test
+    void reactiveProductHandler_getProductsByTitle_returnNdjsonStream() {
+        ReactiveServerConfig.ReactiveServer server = new ReactiveServerConfig().reactiveServer(routes, new ObjectMapper(), 0, 1);
+        server.start();
+        try {
+            List<ProductDto> products = WebTestClient.bindToServer()
+                    .baseUrl("http://localhost:" + server.getPort())
+                    .build()
+                    .get().uri("/api/products/search?title=i")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(ProductDto.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            Assertions.assertThat(products).extracting(ProductDto::getId).containsExactly(1, 2, 3);
+            Assertions.assertThat(products.get(0).getImages()).hasSize(2);
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.products.products.readmodel;
+
+import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.mapper.BrandMapper;
+import com.products.products.mapper.CategoryMapper;
+import com.products.products.mapper.ProductMapper;
+import com.products.products.repository.ProductRepository;
+import com.products.products.utils.CountMode;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour le modèle de lecture ProductReadModel
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductReadModelTest {
+
+    @Mock
+    ProductRepository productRepository;
+    private ProductReadModel productReadModel;
+
+    /**
+     * Initialisation du modèle avec cinq produits insérés dans le désordre
+     */
+    @BeforeEach
+    void init() {
+        productReadModel = new ProductReadModel(productRepository, new ProductMapper(new BrandMapper(), new CategoryMapper()));
+        ReflectionTestUtils.setField(productReadModel, "enabled", true);
+        ReflectionTestUtils.setField(productReadModel, "ready", true);
+
+        productReadModel.upsert(product(3, 30F, null, 1));
+        productReadModel.upsert(product(1, 10F, 4.5F, 1));
+        productReadModel.upsert(product(5, 50F, 3F, 2));
+        productReadModel.upsert(product(2, 20F, 4.5F, 2));
+        productReadModel.upsert(product(4, 40F, 1F, 1));
+    }
+
+    /**
+     * Test GetPage => Tri par prix décroissant et filtre sur le prix
+     */
+    @Test
+    void productReadModel_getPage_sortAndFilterOnPrice() {
+        PageResponse<ProductDto> page = productReadModel.getPage(0, 2, "price", "desc", 15, 45, null, CountMode.EXACT);
+
+        Assertions.assertThat(page.getContent()).extracting(ProductDto::getId).containsExactly(4, 3);
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(page.isLast()).isFalse();
+        Assertions.assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    /**
+     * Test GetPage => Valeurs nulles en premier puis départage par id
+     */
+    @Test
+    void productReadModel_getPage_sortNullsFirstAndTiesById() {
+        PageResponse<ProductDto> page = productReadModel.getPage(0, 10, "rating", "asc", null, null, null, CountMode.EXACT);
+
+        Assertions.assertThat(page.getContent()).extracting(ProductDto::getId).containsExactly(3, 4, 5, 1, 2);
+        Assertions.assertThat(page.isLast()).isTrue();
+    }
+
+    /**
+     * Test GetPage => Filtre sur la catégorie, deuxième page, sans comptage
+     */
+    @Test
+    void productReadModel_getPage_filterOnCategoryWithoutCount() {
+        PageResponse<ProductDto> page = productReadModel.getPage(1, 2, "id", "asc", null, null, 1, CountMode.NONE);
+
+        Assertions.assertThat(page.getContent()).extracting(ProductDto::getId).containsExactly(4);
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(-1);
+        Assertions.assertThat(page.isLast()).isTrue();
+    }
+
+    /**
+     * Test Upsert / Remove => Les permutations suivent les mises à jour
+     */
+    @Test
+    void productReadModel_upsertAndRemove_keepOrdersInSync() {
+        productReadModel.upsert(product(1, 60F, 4.5F, 1));
+        productReadModel.remove(5);
+
+        PageResponse<ProductDto> page = productReadModel.getPage(0, 10, "price", "asc", null, null, null, CountMode.EXACT);
+
+        Assertions.assertThat(page.getContent()).extracting(ProductDto::getId).containsExactly(2, 3, 4, 1);
+        Assertions.assertThat(page.getContent().get(3).getPrice()).isEqualTo(60F);
+    }
+
+    /**
+     * Test Rebuild => Une suppression et une mise à jour validées pendant le chargement sont rejouées sur l'instantané chargé
+     */
+    @Test
+    void productReadModel_rebuild_replayWritesCommittedDuringLoad() {
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenAnswer(invocation -> {
+            // Écritures validées après la lecture de la page
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                productReadModel.remove(2);
+                productReadModel.upsert(product(3, 35F, 2F, 1));
+                TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            return new PageImpl<>(List.of(product(1, 10F, 4.5F, 1), product(2, 20F, 4.5F, 2), product(3, 30F, null, 1)));
+        });
+
+        productReadModel.rebuild();
+
+        PageResponse<ProductDto> page = productReadModel.getPage(0, 10, "id", "asc", null, null, null, CountMode.EXACT);
+        Assertions.assertThat(page.getContent()).extracting(ProductDto::getId).containsExactly(1, 3);
+        Assertions.assertThat(page.getContent().get(1).getPrice()).isEqualTo(35F);
+    }
+
+    /**
+     * Construit un produit
+     * @param id Id
+     * @param price Prix
+     * @param rating Note
+     * @param categoryId Id de la catégorie
+     * @return Produit
+     */
+    private Product product(int id, Float price, Float rating, int categoryId) {
+        return Product.builder()
+                .id(id)
+                .title("title" + id)
+                .description("description" + id)
+                .price(price)
+                .rating(rating)
+                .stock(id)
+                .category(Category.builder().id(categoryId).name("category" + categoryId).build())
+                .brand(Brand.builder().id(1).name("brand").build())
+                .build();
+    }
+}
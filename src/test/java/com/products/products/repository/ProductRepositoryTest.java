@@ -0,0 +1,211 @@
+package com.products.products.repository;
+
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.mapper.BrandMapper;
+import com.products.products.mapper.CategoryMapper;
+import com.products.products.mapper.ProductMapper;
+import com.products.products.specification.GenericSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Classe de test pour le repository ProductRepository : nombre de requêtes SQL par page
+ */
+@DataJpaTest
+@Import({ProductMapper.class, CategoryMapper.class, BrandMapper.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductMapper productMapper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Category category;
+    private int brandId;
+    private Statistics statistics;
+
+    /**
+     * Initialisation des données de test : 12 produits répartis sur 3 catégories et 3 marques
+     */
+    @BeforeEach
+    void init() {
+        List<Category> categories = new ArrayList<>();
+        List<Brand> brands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category productCategory = Category.builder().name("category" + i).build();
+            Brand productBrand = Brand.builder().name("brand" + i).build();
+            entityManager.persist(productCategory);
+            entityManager.persist(productBrand);
+            categories.add(productCategory);
+            brands.add(productBrand);
+        }
+        category = categories.get(0);
+        brandId = brands.get(0).getId();
+
+        for (int i = 0; i < 12; i++) {
+            entityManager.persist(Product.builder()
+                    .title("title" + i)
+                    .description("description" + i)
+                    .price(10F + i)
+                    .stock(1)
+                    .images(Set.of("image" + i + "-1", "image" + i + "-2"))
+                    .category(categories.get(i % 3))
+                    .brand(brands.get(i % 3))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test FindAll(Specification) => page, count et images en 3 requêtes
+     */
+    @Test
+    void productRepository_findAllBySpecification_mapsPageInThreeStatements() {
+        Page<Product> productPage = productRepository.findAll(new GenericSpecification<>(), PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+
+        List<ProductDto> productDtoList = mapAll(productPage.getContent());
+
+        Assertions.assertThat(productDtoList).hasSize(PAGE_SIZE);
+        Assertions.assertThat(productDtoList).allSatisfy(productDto -> Assertions.assertThat(productDto.getImages()).hasSize(2));
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    /**
+     * Test FindByCategoryId => page et images en 2 requêtes (pas de comptage sur une page incomplète)
+     */
+    @Test
+    void productRepository_findByCategoryId_mapsPageInTwoStatements() {
+        Page<Product> productPage = productRepository.findByCategoryId(category.getId(), PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+
+        List<ProductDto> productDtoList = mapAll(productPage.getContent());
+
+        Assertions.assertThat(productDtoList).hasSize(4);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test FindByTitleContaining => liste et images en 2 requêtes
+     */
+    @Test
+    void productRepository_findByTitleContaining_mapsListInTwoStatements() {
+        List<ProductDto> productDtoList = mapAll(productRepository.findByTitleContaining("title"));
+
+        Assertions.assertThat(productDtoList).hasSize(12);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test FindVersion => date de modification maximale et nombre, globalement, par catégorie et par produit ;
+     * vide pour une catégorie ou un produit inconnus
+     */
+    @Test
+    void productRepository_findVersion_returnLastModifiedAndCount() {
+        Product product = productRepository.findByTitleContaining("title0").get(0);
+        Category emptyCategory = Category.builder().name("empty").build();
+        entityManager.persist(emptyCategory);
+
+        Assertions.assertThat(productRepository.findVersion().getCount()).isEqualTo(12);
+        Assertions.assertThat(productRepository.findVersion().getLastModified()).isNotNull();
+        Assertions.assertThat(productRepository.findVersionByCategoryId(category.getId()))
+                .hasValueSatisfying(version -> Assertions.assertThat(version.getCount()).isEqualTo(4));
+        Assertions.assertThat(productRepository.findVersionByCategoryId(emptyCategory.getId()))
+                .hasValueSatisfying(version -> Assertions.assertThat(version.getCount()).isZero());
+        Assertions.assertThat(productRepository.findVersionByCategoryId(-1)).isEmpty();
+
+        Assertions.assertThat(productRepository.findVersionById(product.getId()))
+                .hasValueSatisfying(version -> Assertions.assertThat(version.getLastModified()).isEqualTo(product.getLastUpdated()));
+        Assertions.assertThat(productRepository.findVersionById(-1)).isEmpty();
+    }
+
+    /**
+     * Test Scroll => tous les produits, par lots de la taille demandée, images chargées par lot puis détachés
+     */
+    @Test
+    void productRepository_scroll_consumesAllProductsInChunks() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<ProductDto> productDtoList = new ArrayList<>();
+        List<Product> firstProducts = new ArrayList<>();
+
+        productRepository.scroll(new GenericSpecification<>(), 5, products -> {
+            chunkSizes.add(products.size());
+            productDtoList.addAll(mapAll(products));
+            firstProducts.add(products.get(0));
+        });
+
+        Assertions.assertThat(chunkSizes).containsExactly(5, 5, 2);
+        Assertions.assertThat(productDtoList).extracting(ProductDto::getTitle).startsWith("title0", "title1");
+        Assertions.assertThat(productDtoList).allSatisfy(productDto -> Assertions.assertThat(productDto.getImages()).hasSize(2));
+        Assertions.assertThat(firstProducts).noneMatch(entityManager::contains);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    /**
+     * Test SaveAll => les INSERT des produits et de leurs images sont envoyés par lots JDBC, et non un par ligne
+     */
+    @Test
+    void productRepository_saveAll_insertsInJdbcBatches() {
+        Category productCategory = entityManager.find(Category.class, category.getId());
+        Brand productBrand = entityManager.find(Brand.class, brandId);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(Product.builder()
+                    .title("batch" + i)
+                    .description("description" + i)
+                    .price(1F)
+                    .stock(1)
+                    .images(Set.of("batch" + i + "-1", "batch" + i + "-2"))
+                    .category(productCategory)
+                    .brand(productBrand)
+                    .build());
+        }
+        statistics.clear();
+
+        productRepository.saveAll(products);
+        productRepository.flush();
+
+        // Un INSERT préparé pour les produits et un pour les images, réutilisés par chaque lot
+        // (les blocs d'ids sont réservés dans une transaction séparée)
+        Assertions.assertThat(products).extracting(Product::getId).doesNotHaveDuplicates().doesNotContain(0);
+        Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * Convertit les produits en DTO (ce qui initialise catégorie, marque et images)
+     * @param products Produits
+     * @return DTO
+     */
+    private List<ProductDto> mapAll(List<Product> products) {
+        return products.stream().map(productMapper::mapToDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,175 @@
+package com.products.products.repository;
+
+import com.products.products.dto.CacheStatisticsDto;
+import com.products.products.dto.ProductDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.mapper.BrandMapper;
+import com.products.products.mapper.CategoryMapper;
+import com.products.products.mapper.ProductMapper;
+import com.products.products.service.impl.CacheStatisticsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe de test du cache de second niveau des produits : chaque appel au repository ouvre sa propre session
+ */
+@DataJpaTest
+@Import({ProductMapper.class, CategoryMapper.class, BrandMapper.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private ProductMapper productMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private int productId;
+    private Statistics statistics;
+
+    /**
+     * Initialisation des données de test : un produit avec sa catégorie, sa marque et deux images
+     */
+    @BeforeEach
+    void init() {
+        Category category = categoryRepository.save(Category.builder().name("category").build());
+        Brand brand = brandRepository.save(Brand.builder().name("brand").build());
+        productId = productRepository.save(Product.builder()
+                .title("title")
+                .description("description")
+                .price(10F)
+                .stock(1)
+                .images(Set.of("image-1", "image-2"))
+                .category(category)
+                .brand(brand)
+                .build()).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    /**
+     * Suppression des données de test
+     */
+    @AfterEach
+    void clean() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        brandRepository.deleteAll();
+    }
+
+    /**
+     * Test FindById => la deuxième lecture (produit, catégorie, marque et images) est servie par le cache, sans SQL
+     */
+    @Test
+    void productRepository_findById_servedFromSecondLevelCache() {
+        readProduct();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        ProductDto productDto = readProduct();
+
+        Assertions.assertThat(productDto.getImages()).hasSize(2);
+        Assertions.assertThat(productDto.getCategory().getName()).isEqualTo("category");
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(Product.CACHE_REGION).getHitCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(Product.IMAGES_CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test CacheStatisticsService => les statistiques JCache de la région des produits comptent les lectures
+     */
+    @Test
+    void cacheStatisticsService_getCacheStatistics_returnProductRegion() {
+        readProduct();
+        readProduct();
+
+        List<CacheStatisticsDto> cacheStatistics = new CacheStatisticsServiceImpl(new NoOpCacheManager()).getCacheStatistics();
+
+        Assertions.assertThat(cacheStatistics)
+                .filteredOn(statistics -> Product.CACHE_REGION.equals(statistics.getRegion()))
+                .singleElement()
+                .satisfies(statistics -> Assertions.assertThat(statistics.getHits()).isPositive());
+    }
+
+    /**
+     * Test CacheStatisticsService => les succès de la région des produits sont exposés dans les métriques
+     */
+    @Test
+    void cacheStatisticsService_bindTo_registerRegionHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheStatisticsServiceImpl(new NoOpCacheManager()).bindTo(registry);
+
+        readProduct();
+        readProduct();
+
+        Assertions.assertThat(registry.get("cache.gets").tag("cache", Product.CACHE_REGION).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    /**
+     * Test Update => la lecture suivante renvoie la valeur mise à jour
+     */
+    @Test
+    void productRepository_update_refreshesSecondLevelCache() {
+        readProduct();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.setPrice(99F);
+            product.getImages().add("image-3");
+        });
+        ProductDto productDto = readProduct();
+
+        Assertions.assertThat(productDto.getPrice()).isEqualTo(99F);
+        Assertions.assertThat(productDto.getImages()).hasSize(3);
+    }
+
+    /**
+     * Test Delete => le produit supprimé n'est plus renvoyé par le cache
+     */
+    @Test
+    void productRepository_delete_evictsSecondLevelCache() {
+        readProduct();
+
+        productRepository.deleteById(productId);
+
+        Assertions.assertThat(productRepository.findById(productId)).isEmpty();
+    }
+
+    /**
+     * Lit le produit de test dans une nouvelle transaction et le convertit en DTO
+     * @return Produit
+     */
+    private ProductDto readProduct() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                productMapper.mapToDto(productRepository.findById(productId).orElseThrow()));
+    }
+}
@@ -0,0 +1,214 @@
+package com.products.products.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import org.assertj.core.api.Assertions;
+import com.products.products.entity.Product;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Classe de test des migrations du schéma (db/migration) : le contexte ne démarre que si Hibernate valide les entités
+ * sur le schéma migré (ddl-auto=validate), et les index et contraintes d'unicité déclarés sur les entités doivent
+ * correspondre exactement à ceux des migrations. Une entité modifiée sans migration fait échouer le build.
+ * Une base existante, créée avant les migrations, doit aboutir au même schéma qu'une base neuve.
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    private static final String INDEX_PREFIX = "IX_";
+    private static final String UNIQUE_PREFIX = "UQ_";
+    private static final String LATEST_VERSION = "3";
+    private static final String LEGACY_URL = "jdbc:h2:mem:legacy-schema;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test migrations => toutes appliquées, dernière version connue
+     */
+    @Test
+    void migrations_allApplied() {
+        Assertions.assertThat(flyway.info().pending()).isEmpty();
+        Assertions.assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo(LATEST_VERSION);
+    }
+
+    /**
+     * Test base existante (créée par ddl-auto=update, avec des produits) => marquée en V1 puis migrée : même schéma
+     * qu'une base neuve, et le compteur d'ids reprend après les ids existants
+     */
+    @Test
+    void migrations_legacyDatabase_baselineThenMigrate() {
+        SimpleDriverDataSource legacyDataSource = new SimpleDriverDataSource(new org.h2.Driver(), LEGACY_URL, "sa", "");
+        JdbcTemplate legacy = new JdbcTemplate(legacyDataSource);
+        legacy.execute((Connection connection) -> {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+            return null;
+        });
+        legacy.update("insert into categories (id, name) values (1, 'category')");
+        legacy.update("insert into brands (id, name) values (1, 'brand')");
+        legacy.update("insert into products (id, title, description, price, stock, category_id, brand_id) values (100, 'legacy', 'legacy product', 1, 1, 1, 1)");
+
+        Flyway legacyFlyway = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(legacyDataSource)
+                .load();
+        legacyFlyway.migrate();
+
+        Assertions.assertThat(legacyFlyway.info().applied()[0].getType()).isEqualTo(CoreMigrationType.BASELINE);
+        Assertions.assertThat(legacyFlyway.info().current().getVersion().getVersion()).isEqualTo(LATEST_VERSION);
+        Assertions.assertThat(columns(legacy)).isEqualTo(columns(jdbcTemplate));
+        Assertions.assertThat(migratedIndexes(legacy)).isEqualTo(migratedIndexes(jdbcTemplate));
+        Assertions.assertThat(legacy.queryForObject("select next_val from id_generators where sequence_name = 'products'", Long.class))
+                .isEqualTo(100L + Product.ID_ALLOCATION_SIZE - 1);
+    }
+
+    /**
+     * Test index => ceux déclarés sur les entités (@Table(indexes)) et ceux des migrations sont les mêmes, sur les mêmes colonnes
+     */
+    @Test
+    void entityIndexes_matchMigrations() {
+        Map<String, List<String>> declared = new TreeMap<>();
+        for (Table table : tables()) {
+            for (Index index : table.indexes()) {
+                declared.put(key(table.name(), index.name()), columns(index.columnList().split(",")));
+            }
+        }
+
+        Assertions.assertThat(migratedIndexes(jdbcTemplate)).isEqualTo(declared);
+    }
+
+    /**
+     * Test contraintes d'unicité => celles déclarées sur les entités (@Table(uniqueConstraints)) et celles des migrations sont les mêmes
+     */
+    @Test
+    void entityUniqueConstraints_matchMigrations() {
+        Map<String, List<String>> declared = new TreeMap<>();
+        for (Table table : tables()) {
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                declared.put(key(table.name(), constraint.name()), columns(constraint.columnNames()));
+            }
+        }
+
+        Map<String, List<String>> migrated = new TreeMap<>();
+        jdbcTemplate.query("""
+                        select tc.table_name, tc.constraint_name, kcu.column_name
+                        from information_schema.table_constraints tc
+                        join information_schema.key_column_usage kcu
+                          on kcu.constraint_name = tc.constraint_name and kcu.table_name = tc.table_name
+                        where tc.constraint_type = 'UNIQUE'
+                        order by tc.table_name, tc.constraint_name, kcu.ordinal_position""",
+                (ResultSet resultSet) -> {
+                    String name = resultSet.getString(2);
+                    if (name.toUpperCase(Locale.ROOT).startsWith(UNIQUE_PREFIX)) {
+                        migrated.computeIfAbsent(key(resultSet.getString(1), name), key -> new ArrayList<>())
+                                .add(resultSet.getString(3).toLowerCase(Locale.ROOT));
+                    }
+                });
+
+        Assertions.assertThat(migrated).isEqualTo(declared);
+    }
+
+    /**
+     * @return Annotations @Table des entités
+     */
+    private List<Table> tables() {
+        return entityManager.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .map(type -> type.getAnnotation(Table.class))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * @param database Base migrée
+     * @return Colonnes des tables applicatives (hors historique Flyway) : table.colonne => type et nullabilité
+     */
+    private static Map<String, String> columns(JdbcTemplate database) {
+        Map<String, String> columns = new TreeMap<>();
+        database.query("""
+                        select table_name, column_name, data_type, character_maximum_length, is_nullable
+                        from information_schema.columns
+                        where table_schema = schema() and lower(table_name) <> 'flyway_schema_history'""",
+                (ResultSet resultSet) -> {
+                    columns.put(key(resultSet.getString(1), resultSet.getString(2)),
+                            resultSet.getString(3) + "(" + resultSet.getString(4) + ") nullable=" + resultSet.getString(5));
+                });
+        return columns;
+    }
+
+    /**
+     * @param database Base migrée
+     * @return Index nommés IX_... du schéma migré, par table, avec leurs colonnes dans l'ordre
+     */
+    private static Map<String, List<String>> migratedIndexes(JdbcTemplate database) {
+        return database.execute((Connection connection) -> {
+            Map<String, List<String>> indexes = new TreeMap<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tablesResultSet = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+                while (tablesResultSet.next()) {
+                    String table = tablesResultSet.getString("TABLE_NAME");
+                    Map<String, String[]> columnsByPosition = new TreeMap<>();
+                    try (ResultSet indexResultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+                        while (indexResultSet.next()) {
+                            String name = indexResultSet.getString("INDEX_NAME");
+                            if (name != null && name.toUpperCase(Locale.ROOT).startsWith(INDEX_PREFIX)) {
+                                String[] columns = columnsByPosition.computeIfAbsent(key(table, name), key -> new String[16]);
+                                columns[indexResultSet.getShort("ORDINAL_POSITION") - 1] = indexResultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                            }
+                        }
+                    }
+                    columnsByPosition.forEach((key, columns) ->
+                            indexes.put(key, Arrays.stream(columns).takeWhile(Objects::nonNull).toList()));
+                }
+            }
+            return indexes;
+        });
+    }
+
+    /**
+     * @param table Nom de la table
+     * @param name Nom de l'index ou de la contrainte
+     * @return Clé table.nom, insensible à la casse
+     */
+    private static String key(String table, String name) {
+        return (table + "." + name).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Noms physiques des colonnes (stratégie de nommage de Spring : lastUpdated => last_updated)
+     * @param names Noms logiques des colonnes
+     * @return Noms physiques
+     */
+    private static List<String> columns(String... names) {
+        return Arrays.stream(names)
+                .map(String::trim)
+                .map(name -> name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT))
+                .toList();
+    }
+}
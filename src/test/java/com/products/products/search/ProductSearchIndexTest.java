@@ -0,0 +1,151 @@
+package com.products.products.search;
+
+import com.products.products.entity.Product;
+import com.products.products.repository.ProductRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour l'index plein texte ProductSearchIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    ProductRepository productRepository;
+    private ProductSearchIndex productSearchIndex;
+
+    /**
+     * Initialisation d'un index en mémoire avec trois produits
+     * @throws IOException Exception d'entrée/sortie
+     */
+    @BeforeEach
+    void init() throws IOException {
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        ReflectionTestUtils.setField(productSearchIndex, "enabled", true);
+        productSearchIndex.open();
+
+        productSearchIndex.index(product(1, "Phones charger", "Fast charger for all phones", 20F));
+        productSearchIndex.index(product(2, "iPhone 9", "An apple mobile phone which is nothing like apple", 549F));
+        productSearchIndex.index(product(3, "Phone", "Simple phone with a long lasting battery", 99F));
+    }
+
+    /**
+     * Fermeture de l'index
+     * @throws IOException Exception d'entrée/sortie
+     */
+    @AfterEach
+    void close() throws IOException {
+        productSearchIndex.close();
+    }
+
+    /**
+     * Test Search => Les mots exacts sont mieux classés que les préfixes
+     */
+    @Test
+    void productSearchIndex_search_returnExactMatchFirst() {
+        ProductSearchHits hits = productSearchIndex.search("phone", null, null, null, 0, 10);
+
+        Assertions.assertThat(hits.getTotalHits()).isEqualTo(2);
+        Assertions.assertThat(hits.getIds()).containsExactly(3, 1);
+    }
+
+    /**
+     * Test Search => Filtre sur le prix et sur la description
+     */
+    @Test
+    void productSearchIndex_search_filterOnPriceAndDescription() {
+        ProductSearchHits hits = productSearchIndex.search(null, "phone", 50, 600, 0, 10);
+
+        Assertions.assertThat(hits.getIds()).containsExactlyInAnyOrder(2, 3);
+    }
+
+    /**
+     * Test Search => Pagination des résultats
+     */
+    @Test
+    void productSearchIndex_search_returnRequestedPage() {
+        ProductSearchHits hits = productSearchIndex.search(null, "phone", null, null, 1, 2);
+
+        Assertions.assertThat(hits.getTotalHits()).isEqualTo(3);
+        Assertions.assertThat(hits.getIds()).hasSize(1);
+    }
+
+    /**
+     * Test Search => Page au-delà des résultats vide, même si l'offset dépasse un int
+     */
+    @Test
+    void productSearchIndex_search_pageBeyondResults_returnEmpty() {
+        ProductSearchHits hits = productSearchIndex.search(null, "phone", null, null, Integer.MAX_VALUE, 100);
+
+        Assertions.assertThat(hits.getTotalHits()).isEqualTo(3);
+        Assertions.assertThat(hits.getIds()).isEmpty();
+        Assertions.assertThat(productSearchIndex.search(null, "phone", null, null, 1, 3).getIds()).isEmpty();
+    }
+
+    /**
+     * Test Index / Remove => L'index suit les mises à jour et les suppressions
+     */
+    @Test
+    void productSearchIndex_indexAndRemove_keepIndexInSync() {
+        productSearchIndex.index(product(3, "Tablet", "Simple tablet with a long lasting battery", 99F));
+        productSearchIndex.remove(1);
+
+        Assertions.assertThat(productSearchIndex.search("phone", null, null, null, 0, 10).getTotalHits()).isZero();
+        Assertions.assertThat(productSearchIndex.search("tablet", null, null, null, 0, 10).getIds()).containsExactly(3);
+    }
+
+    /**
+     * Test Rebuild => Chargement par pages triées par id, puis index prêt avec les écritures validées pendant le chargement
+     */
+    @Test
+    void productSearchIndex_rebuild_replayWritesDuringLoad() {
+        Assertions.assertThat(productSearchIndex.isReady()).isFalse();
+        when(productRepository.findAll(argThat((Pageable pageable) -> pageable.getSort().equals(Sort.by("id"))))).thenAnswer(invocation -> {
+            // Suppression et mise à jour validées après la lecture de la page
+            productSearchIndex.remove(1);
+            productSearchIndex.index(product(2, "iPhone X", "An apple mobile phone", 899F));
+            return new PageImpl<>(List.of(
+                    product(1, "Phones charger", "Fast charger for all phones", 20F),
+                    product(2, "iPhone 9", "An apple mobile phone which is nothing like apple", 549F)));
+        });
+
+        productSearchIndex.rebuild();
+
+        Assertions.assertThat(productSearchIndex.isReady()).isTrue();
+        Assertions.assertThat(productSearchIndex.search("charger", null, null, null, 0, 10).getTotalHits()).isZero();
+        Assertions.assertThat(productSearchIndex.search("iphone", null, 800, null, 0, 10).getIds()).containsExactly(2);
+    }
+
+    /**
+     * Construit un produit
+     * @param id Id
+     * @param title Titre
+     * @param description Description
+     * @param price Prix
+     * @return Produit
+     */
+    private Product product(int id, String title, String description, Float price) {
+        return Product.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.products.products.search;
+
+import com.products.products.dto.ProductSuggestionDto;
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.repository.ProductRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour l'index préfixe d'autocomplétion ProductSuggestIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    ProductRepository productRepository;
+    private ProductSuggestIndex productSuggestIndex;
+
+    /**
+     * Initialisation d'un index avec quatre produits
+     */
+    @BeforeEach
+    void init() {
+        productSuggestIndex = new ProductSuggestIndex(productRepository);
+        ReflectionTestUtils.setField(productSuggestIndex, "enabled", true);
+        ReflectionTestUtils.setField(productSuggestIndex, "minPrefixLength", 3);
+
+        Category smartphones = Category.builder().id(1).name("smartphones").build();
+        Category laptops = Category.builder().id(2).name("laptops").build();
+        Brand apple = Brand.builder().id(1).name("Apple").build();
+        Brand samsung = Brand.builder().id(2).name("Samsung").build();
+        productSuggestIndex.upsertAll(List.of(
+                product(1, "iPhone 9", 4.7F, smartphones, apple),
+                product(2, "iPhone X", 4.4F, smartphones, apple),
+                product(3, "Samsung Universe 9", 4.1F, smartphones, samsung),
+                product(4, "MacBook Pro", 4.6F, laptops, apple)));
+    }
+
+    /**
+     * Test Suggest => Titre commençant par la saisie d'abord (le mieux noté en premier), puis marque ou catégorie
+     */
+    @Test
+    void productSuggestIndex_suggest_rankTitlePrefixFirst() {
+        Assertions.assertThat(titles(productSuggestIndex.suggest("iph", 10))).containsExactly("iPhone 9", "iPhone X");
+        Assertions.assertThat(titles(productSuggestIndex.suggest("APP", 10))).containsExactly("iPhone 9", "MacBook Pro", "iPhone X");
+        Assertions.assertThat(titles(productSuggestIndex.suggest("smart", 10))).containsExactly("iPhone 9", "iPhone X", "Samsung Universe 9");
+    }
+
+    /**
+     * Test Suggest => Aucune suggestion si tous les mots saisis sont plus courts que la longueur minimale
+     */
+    @Test
+    void productSuggestIndex_suggest_shortPrefix_returnEmpty() {
+        Assertions.assertThat(productSuggestIndex.suggest("9", 10)).isEmpty();
+        Assertions.assertThat(productSuggestIndex.suggest("ip 9", 10)).isEmpty();
+        Assertions.assertThat(titles(productSuggestIndex.suggest("ma pro", 10))).containsExactly("MacBook Pro");
+    }
+
+    /**
+     * Test Suggest => Chaque mot saisi doit commencer un mot du produit, quel que soit l'ordre
+     */
+    @Test
+    void productSuggestIndex_suggest_matchEveryWord() {
+        Assertions.assertThat(titles(productSuggestIndex.suggest("9 smart", 10))).containsExactly("iPhone 9", "Samsung Universe 9");
+        Assertions.assertThat(titles(productSuggestIndex.suggest("pro apple", 10))).containsExactly("MacBook Pro");
+        Assertions.assertThat(titles(productSuggestIndex.suggest("iphone lap", 10))).isEmpty();
+        Assertions.assertThat(productSuggestIndex.suggest(" - ", 10)).isEmpty();
+    }
+
+    /**
+     * Test Suggest => Nombre de suggestions limité aux plus pertinentes
+     */
+    @Test
+    void productSuggestIndex_suggest_keepBestWithinLimit() {
+        Assertions.assertThat(productSuggestIndex.suggest("apple", 2))
+                .extracting(ProductSuggestionDto::getId)
+                .containsExactly(1, 4);
+    }
+
+    /**
+     * Test Upsert / Remove => L'index suit les renommages et les suppressions
+     */
+    @Test
+    void productSuggestIndex_upsertAndRemove_keepIndexInSync() {
+        productSuggestIndex.upsert(product(2, "Galaxy Book", 4.4F, Category.builder().id(2).name("laptops").build(), Brand.builder().id(2).name("Samsung").build()));
+        productSuggestIndex.remove(1);
+
+        Assertions.assertThat(productSuggestIndex.suggest("iphone", 10)).isEmpty();
+        Assertions.assertThat(titles(productSuggestIndex.suggest("gal", 10))).containsExactly("Galaxy Book");
+        Assertions.assertThat(titles(productSuggestIndex.suggest("samsung", 10))).containsExactly("Samsung Universe 9", "Galaxy Book");
+    }
+
+    /**
+     * Test Rebuild => Les écritures validées pendant la lecture de la base sont rejouées sur l'index chargé
+     */
+    @Test
+    void productSuggestIndex_rebuild_replayWritesDuringLoad() {
+        Category smartphones = Category.builder().id(1).name("smartphones").build();
+        Brand apple = Brand.builder().id(1).name("Apple").build();
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenAnswer(invocation -> {
+            // Suppression et renommage validés après la lecture de la page
+            productSuggestIndex.remove(1);
+            productSuggestIndex.upsert(product(2, "iPhone 11", 4.4F, smartphones, apple));
+            return new PageImpl<>(List.of(
+                    product(1, "iPhone 9", 4.7F, smartphones, apple),
+                    product(2, "iPhone X", 4.4F, smartphones, apple)));
+        });
+
+        productSuggestIndex.rebuild();
+
+        Assertions.assertThat(productSuggestIndex.isReady()).isTrue();
+        Assertions.assertThat(titles(productSuggestIndex.suggest("iphone", 10))).containsExactly("iPhone 11");
+    }
+
+    private static List<String> titles(List<ProductSuggestionDto> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDto::getTitle).toList();
+    }
+
+    /**
+     * Construit un produit
+     * @param id Id
+     * @param title Titre
+     * @param rating Note
+     * @param category Catégorie
+     * @param brand Marque
+     * @return Produit
+     */
+    private Product product(int id, String title, Float rating, Category category, Brand brand) {
+        return Product.builder()
+                .id(id)
+                .title(title)
+                .rating(rating)
+                .category(category)
+                .brand(brand)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.products.products.security;
+
+import com.products.products.entity.User;
+import com.products.products.reference.RoleReference;
+import com.products.products.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour le service CustomUserDetailsService
+ */
+@ExtendWith(MockitoExtension.class)
+public class CustomUserDetailsServiceTest {
+
+    @Mock
+    UserRepository userRepository;
+    @InjectMocks
+    CustomUserDetailsService customUserDetailsService;
+
+    /**
+     * Test de la connexion : un hachage plus faible que la force configurée est refait et enregistré
+     */
+    @Test
+    void customUserDetailsService_updatePassword_rehashWeakerPasswordOnLogin() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(5);
+        User user = User.builder()
+                .username("admin")
+                .password(new BCryptPasswordEncoder(4).encode("password"))
+                .role(RoleReference.ROLE_ADMIN)
+                .build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+
+        authenticationProvider(passwordEncoder).authenticate(new UsernamePasswordAuthenticationToken("admin", "password"));
+
+        Assertions.assertThat(user.getPassword()).startsWith("$2a$05$");
+        Assertions.assertThat(passwordEncoder.matches("password", user.getPassword())).isTrue();
+        verify(userRepository).save(user);
+    }
+
+    /**
+     * Test de la connexion : un hachage à la force configurée n'est pas refait
+     */
+    @Test
+    void customUserDetailsService_updatePassword_keepPasswordAtConfiguredStrength() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        String password = passwordEncoder.encode("password");
+        User user = User.builder()
+                .username("admin")
+                .password(password)
+                .role(RoleReference.ROLE_ADMIN)
+                .build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+
+        authenticationProvider(passwordEncoder).authenticate(new UsernamePasswordAuthenticationToken("admin", "password"));
+
+        Assertions.assertThat(user.getPassword()).isEqualTo(password);
+        verify(userRepository, never()).save(user);
+    }
+
+    /**
+     * Fournisseur d'authentification configuré comme celui de Spring Security
+     * @param passwordEncoder Encodeur des mots de passe
+     * @return Fournisseur d'authentification
+     */
+    private DaoAuthenticationProvider authenticationProvider(BCryptPasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(customUserDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(customUserDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        return authenticationProvider;
+    }
+}
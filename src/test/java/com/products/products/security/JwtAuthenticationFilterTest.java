@@ -0,0 +1,119 @@
+package com.products.products.security;
+
+import com.products.products.exception.ProductAPIException;
+import jakarta.servlet.FilterChain;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour le filtre JwtAuthenticationFilter
+ */
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+
+    @Spy
+    JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(JWT_SECRET, 60000L);
+    @Mock
+    UserDetailsService userDetailsService;
+
+    JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    public void init() {
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, new VerifiedTokenCache(100));
+    }
+
+    @AfterEach
+    public void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test de l'authentification : les rôles viennent du token, sans accès à la base, et le token n'est analysé qu'une fois
+     */
+    @Test
+    void jwtAuthenticationFilter_doFilter_returnAuthenticationFromClaimsWithoutUserLookup() throws Exception {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        Assertions.assertThat(first.getName()).isEqualTo("admin");
+        Assertions.assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        Assertions.assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        verify(jwtTokenProvider, times(1)).verify(token);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    /**
+     * Test de l'authentification d'un token émis sans rôles : ils sont chargés une seule fois depuis la base
+     */
+    @Test
+    void jwtAuthenticationFilter_doFilter_returnAuthenticationFromUserForTokenWithoutRoles() throws Exception {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("admin", null));
+        when(jwtTokenProvider.verify(token)).thenAnswer(invocation -> {
+            VerifiedToken verifiedToken = (VerifiedToken) invocation.callRealMethod();
+            return verifiedToken.withAuthorities(null);
+        });
+        when(userDetailsService.loadUserByUsername("admin"))
+                .thenReturn(new User("admin", "password", List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        authenticate(token);
+        Authentication authentication = authenticate(token);
+
+        Assertions.assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+    }
+
+    /**
+     * Test de l'authentification d'un token invalide : l'erreur est propagée et rien n'est mis en cache
+     */
+    @Test
+    void jwtAuthenticationFilter_doFilter_throwProductAPIExceptionForInvalidToken() {
+        Assertions.assertThatThrownBy(() -> authenticate("invalid"))
+                .isInstanceOf(ProductAPIException.class)
+                .hasMessage("Invalid JWT token");
+        Assertions.assertThatThrownBy(() -> authenticate("invalid"))
+                .isInstanceOf(ProductAPIException.class);
+    }
+
+    /**
+     * Passe une requête portant le token dans le filtre
+     * @param token Token JWT
+     * @return Authentification obtenue
+     */
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), mock(FilterChain.class));
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,101 @@
+package com.products.products.security;
+
+import com.products.products.exception.ProductAPIException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Classe de test pour le fournisseur JwtTokenProvider
+ */
+public class JwtTokenProviderTest {
+
+    private static final String JWT_SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(JWT_SECRET, 60000L);
+    private final Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET));
+
+    /**
+     * Test de la méthode verify : nom d'utilisateur, rôles et expiration d'un token émis par generateToken
+     */
+    @Test
+    void jwtTokenProvider_verify_returnVerifiedToken() {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        VerifiedToken verifiedToken = jwtTokenProvider.verify(token);
+
+        Assertions.assertThat(verifiedToken.getUsername()).isEqualTo("admin");
+        Assertions.assertThat(verifiedToken.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        Assertions.assertThat(verifiedToken.getExpiration()).isAfter(Instant.now());
+        Assertions.assertThat(jwtTokenProvider.getUsername(token)).isEqualTo("admin");
+        Assertions.assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+    }
+
+    /**
+     * Test de la méthode verify : un token d'une autre forme passe par le parseur jjwt avec le même résultat
+     */
+    @Test
+    void jwtTokenProvider_verify_returnVerifiedTokenForOtherShape() {
+        String token = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject("admin")
+                .setIssuer("products")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000L))
+                .signWith(key)
+                .compact();
+
+        VerifiedToken verifiedToken = jwtTokenProvider.verify(token);
+
+        Assertions.assertThat(verifiedToken.getUsername()).isEqualTo("admin");
+        Assertions.assertThat(verifiedToken.getAuthorities()).isNull();
+    }
+
+    /**
+     * Test de la méthode verify : une signature modifiée est rejetée
+     */
+    @Test
+    void jwtTokenProvider_verify_throwSignatureExceptionForTamperedToken() {
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("admin", null));
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        Assertions.assertThatThrownBy(() -> jwtTokenProvider.verify(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    /**
+     * Test de la méthode verify : erreurs converties comme celles de validateToken
+     */
+    @Test
+    void jwtTokenProvider_verify_throwProductAPIException() {
+        String expired = Jwts.builder()
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000L))
+                .signWith(key)
+                .compact();
+        String unsigned = Jwts.builder()
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000L))
+                .compact();
+
+        Assertions.assertThatThrownBy(() -> jwtTokenProvider.verify(expired))
+                .isInstanceOf(ProductAPIException.class).hasMessage("Expired JWT token");
+        Assertions.assertThatThrownBy(() -> jwtTokenProvider.verify(unsigned))
+                .isInstanceOf(ProductAPIException.class).hasMessage("Unsupported JWT token");
+        Assertions.assertThatThrownBy(() -> jwtTokenProvider.verify("invalid"))
+                .isInstanceOf(ProductAPIException.class).hasMessage("Invalid JWT token");
+        Assertions.assertThatThrownBy(() -> jwtTokenProvider.verify(""))
+                .isInstanceOf(ProductAPIException.class).hasMessage("JWT claims string is empty");
+    }
+}
@@ -0,0 +1,71 @@
+package com.products.products.seed;
+
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.repository.BrandRepository;
+import com.products.products.repository.CategoryRepository;
+import com.products.products.repository.ProductRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Classe de test pour IdGeneratorAlignment : les blocs d'ids réservés après l'alignement ne chevauchent pas les ids existants
+ */
+@DataJpaTest
+@Import(IdGeneratorAlignment.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGeneratorAlignmentTest {
+
+    @Autowired
+    private IdGeneratorAlignment idGeneratorAlignment;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+
+    /**
+     * Suppression des données de test
+     */
+    @AfterEach
+    void clean() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        brandRepository.deleteAll();
+        jdbcTemplate.update("delete from id_generators");
+    }
+
+    /**
+     * Test AfterSingletonsInstantiated => un produit inséré avec un id auto-incrémenté (sans ligne de compteur) est suivi par les nouveaux ids
+     */
+    @Test
+    void idGeneratorAlignment_afterSingletonsInstantiated_nextIdFollowsExistingIds() {
+        Category category = categoryRepository.save(Category.builder().name("category").build());
+        Brand brand = brandRepository.save(Brand.builder().name("brand").build());
+        jdbcTemplate.update("insert into products (id, title, description, price, stock, category_id, brand_id) values (100, 'legacy', 'legacy product', 1, 1, ?, ?)",
+                category.getId(), brand.getId());
+
+        idGeneratorAlignment.afterSingletonsInstantiated();
+        Product product = productRepository.save(Product.builder()
+                .title("title")
+                .description("description")
+                .price(1F)
+                .stock(1)
+                .category(category)
+                .brand(brand)
+                .build());
+
+        Assertions.assertThat(product.getId()).isEqualTo(101);
+    }
+}
@@ -0,0 +1,123 @@
+package com.products.products.service;
+
+import com.products.products.dto.LoginDto;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.repository.UserRepository;
+import com.products.products.security.JwtTokenProvider;
+import com.products.products.security.LoginAttemptThrottle;
+import com.products.products.security.PasswordHashingExecutor;
+import com.products.products.service.impl.AuthServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de test pour le service AuthService
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuthServiceImplTest {
+
+    @Mock
+    AuthenticationManager authenticationManager;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    PasswordEncoder passwordEncoder;
+    @Mock
+    JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Test de la méthode login : après trop d'échecs, les tentatives sont rejetées en 429 sans authentification
+     */
+    @Test
+    void authService_login_throwTooManyRequestsAfterFailures() {
+        AuthServiceImpl authService = authService(new PasswordHashingExecutor(1, 1, 5000), new LoginAttemptThrottle(2, Duration.ofMinutes(15)));
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        LoginDto loginDto = new LoginDto("admin", "wrong");
+
+        Assertions.assertThatThrownBy(() -> authService.login(loginDto, "10.0.0.1")).isInstanceOf(BadCredentialsException.class);
+        Assertions.assertThatThrownBy(() -> authService.login(loginDto, "10.0.0.2")).isInstanceOf(BadCredentialsException.class);
+        Assertions.assertThatThrownBy(() -> authService.login(loginDto, "10.0.0.3"))
+                .isInstanceOfSatisfying(ProductAPIException.class,
+                        ex -> Assertions.assertThat(ex.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        verify(authenticationManager, times(2)).authenticate(any());
+    }
+
+    /**
+     * Test de la méthode login : quand le pool de hachage et sa file sont pleins, la connexion est rejetée en 503
+     */
+    @Test
+    void authService_login_throwServiceUnavailableWhenHashingSaturated() throws Exception {
+        PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 1, 5000);
+        AuthServiceImpl authService = authService(passwordHashingExecutor, new LoginAttemptThrottle(5, Duration.ofMinutes(15)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Boolean> running = callers.submit(() -> passwordHashingExecutor.execute(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }));
+        started.await();
+        Future<Boolean> queued = callers.submit(() -> passwordHashingExecutor.execute(() -> release.await(10, TimeUnit.SECONDS)));
+        while (!queued.isDone() && queueIsEmpty(passwordHashingExecutor)) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            Assertions.assertThatThrownBy(() -> authService.login(new LoginDto("admin", "password"), "10.0.0.1"))
+                    .isInstanceOfSatisfying(ProductAPIException.class,
+                            ex -> Assertions.assertThat(ex.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+        Assertions.assertThat(running.get()).isEqualTo(true);
+        Assertions.assertThat(queued.get()).isEqualTo(true);
+
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        when(jwtTokenProvider.generateToken(any())).thenReturn("token");
+        Assertions.assertThat(authService.login(new LoginDto("admin", "password"), "10.0.0.1")).isEqualTo("token");
+    }
+
+    /**
+     * @param passwordHashingExecutor Pool de hachage
+     * @param loginAttemptThrottle Limitation des tentatives
+     * @return Service d'authentification
+     */
+    private AuthServiceImpl authService(PasswordHashingExecutor passwordHashingExecutor, LoginAttemptThrottle loginAttemptThrottle) {
+        return new AuthServiceImpl(authenticationManager, userRepository, passwordEncoder, jwtTokenProvider,
+                passwordHashingExecutor, loginAttemptThrottle);
+    }
+
+    /**
+     * @param passwordHashingExecutor Pool de hachage
+     * @return Vrai si aucune tâche n'attend dans la file
+     */
+    private static boolean queueIsEmpty(PasswordHashingExecutor passwordHashingExecutor) {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingExecutor, "executor");
+        return executor.getQueue().isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.products.products.service;
+
+import com.products.products.entity.Product;
+import com.products.products.service.impl.ProductCountEstimator;
+import com.products.products.specification.GenericSpecification;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Classe de test pour le cache des comptages ProductCountEstimator
+ */
+class ProductCountEstimatorTest {
+
+    private final ProductCountEstimator productCountEstimator = new ProductCountEstimator(
+            new ConcurrentMapCacheManager(ProductCountEstimator.CACHE_NAME, ProductCountEstimator.FACETS_CACHE_NAME));
+    private final GenericSpecification<Product> specification = new GenericSpecification<>();
+
+    /**
+     * Nettoyage de la synchronisation de transaction simulée
+     */
+    @AfterEach
+    void clean() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test InvalidateAfterCommit => le comptage en cache reste valable jusqu'à la validation, puis est recalculé
+     */
+    @Test
+    void productCountEstimator_invalidateAfterCommit_clearOnCommitOnly() {
+        productCountEstimator.estimate(specification, () -> 10L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCountEstimator.invalidateAfterCommit();
+
+        Assertions.assertThat(productCountEstimator.estimate(specification, () -> 11L)).isEqualTo(10L);
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        Assertions.assertThat(productCountEstimator.estimate(specification, () -> 11L)).isEqualTo(11L);
+    }
+
+    /**
+     * Test Estimate => un comptage pendant lequel une écriture est validée n'est pas mis en cache
+     */
+    @Test
+    void productCountEstimator_invalidatedDuringCount_notCached() {
+        long count = productCountEstimator.estimate(specification, () -> {
+            productCountEstimator.invalidateAfterCommit();
+            return 10L;
+        });
+
+        Assertions.assertThat(count).isEqualTo(10L);
+        Assertions.assertThat(productCountEstimator.estimate(specification, () -> 11L)).isEqualTo(11L);
+    }
+}
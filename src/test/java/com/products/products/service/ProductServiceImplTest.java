@@ -1,38 +1,63 @@
 package com.products.products.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.products.products.dto.BrandDto;
 import com.products.products.dto.CategoryDto;
 import com.products.products.dto.PageResponse;
+import com.products.products.dto.ProductBatchResultDto;
 import com.products.products.dto.ProductDto;
+import com.products.products.dto.ProductSuggestionDto;
 import com.products.products.entity.Brand;
 import com.products.products.entity.Category;
 import com.products.products.entity.Product;
+import com.products.products.exception.ProductAPIException;
 import com.products.products.exception.ResourceNotFoundException;
 import com.products.products.mapper.ProductMapper;
+import com.products.products.readmodel.ProductReadModel;
+import com.products.products.repository.BrandRepository;
 import com.products.products.repository.CategoryRepository;
 import com.products.products.repository.ProductRepository;
+import com.products.products.search.ProductSearchIndex;
+import com.products.products.search.ProductSuggestIndex;
+import com.products.products.service.impl.ProductCountEstimator;
+import com.products.products.service.impl.ProductFilterPlanCache;
 import com.products.products.service.impl.ProductServiceImpl;
 import com.products.products.specification.GenericSpecification;
+import com.products.products.specification.utils.KeysetCursor;
 import com.products.products.utils.ConstantsUtils;
+import com.products.products.utils.CountMode;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
@@ -47,7 +72,23 @@ class ProductServiceImplTest {
     @Mock
     CategoryRepository categoryRepository;
     @Mock
+    BrandRepository brandRepository;
+    @Mock
     ProductMapper productMapper;
+    @Mock
+    ProductCountEstimator productCountEstimator;
+    @Mock
+    ProductSearchIndex productSearchIndex;
+    @Mock
+    ProductReadModel productReadModel;
+    @Mock
+    ProductFilterPlanCache productFilterPlanCache;
+    @Mock
+    ProductSuggestIndex productSuggestIndex;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
     @InjectMocks
     ProductServiceImpl productServiceImpl;
 
@@ -77,7 +118,7 @@ class ProductServiceImplTest {
 
         when(productRepository.findAll(Mockito.any(GenericSpecification.class), Mockito.any(Pageable.class))).thenReturn(productPage);
 
-        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProducts(0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, null, null, null);
+        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProducts(0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, null, null, null, null, null, CountMode.EXACT);
 
         Assertions.assertThat(productDtoList).isNotNull();
         Assertions.assertThat(productDtoList.getContent())
@@ -85,6 +126,73 @@ class ProductServiceImplTest {
                 .size().isEqualTo(1);
     }
 
+    /**
+     * Test GetAllProducts without count => Return a slice without running a COUNT query
+     */
+    @Test
+    void productService_getAllProducts_withoutCount_returnSlice() {
+        Product product = Product.builder()
+                .id(1)
+                .title("title")
+                .description("description")
+                .price(1F)
+                .stock(1)
+                .build();
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(productRepository.findSlice(Mockito.any(GenericSpecification.class), Mockito.any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(product), pageable, true));
+
+        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProducts(0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, null, null, null, null, null, CountMode.NONE);
+
+        Assertions.assertThat(productDtoList.getTotalElements()).isEqualTo(-1);
+        Assertions.assertThat(productDtoList.isLast()).isFalse();
+        Assertions.assertThat(productDtoList.getNextCursor()).isNotNull();
+        Mockito.verify(productRepository, Mockito.never()).count(Mockito.any(Specification.class));
+    }
+
+    /**
+     * Test GetAllProducts with a cursor => Return the page located after the cursor
+     */
+    @Test
+    void productService_getAllProducts_withCursor_returnNextPage() {
+        Product product = Product.builder()
+                .id(6)
+                .title("title")
+                .description("description")
+                .price(1F)
+                .stock(1)
+                .category(Category.builder()
+                        .id(1)
+                        .name("category")
+                        .build())
+                .brand(Brand.builder()
+                        .id(1)
+                        .name("brand")
+                        .build())
+                .build();
+        String cursor = new KeysetCursor(ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, 5, "5").encode();
+
+        when(productRepository.findAllSeek(Mockito.any(Specification.class), Mockito.any(Sort.class), eq(11))).thenReturn(List.of(product));
+        when(productRepository.count(Mockito.any(Specification.class))).thenReturn(6L);
+
+        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProducts(0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, null, null, null, null, cursor, CountMode.EXACT);
+
+        Assertions.assertThat(productDtoList.getContent()).hasSize(1);
+        Assertions.assertThat(productDtoList.isLast()).isTrue();
+        Assertions.assertThat(productDtoList.getNextCursor()).isNull();
+        Assertions.assertThat(productDtoList.getTotalElements()).isEqualTo(6L);
+    }
+
+    /**
+     * Test GetAllProducts with a cursor built for another sort => Return BadRequest
+     */
+    @Test
+    void productService_getAllProducts_withMismatchingCursor_returnBadRequest() {
+        String cursor = new KeysetCursor("price", ConstantsUtils.DEFAULT_SORT_DIRECTION, 5, "10.0").encode();
+
+        assertThrows(ProductAPIException.class, () -> productServiceImpl.getAllProducts(0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, null, null, null, null, cursor, CountMode.EXACT));
+    }
+
     /**
      * Test GetAllProductsByCategoryId => Return PageResponse of products for a category
      */
@@ -113,7 +221,7 @@ class ProductServiceImplTest {
         when(categoryRepository.existsById(1)).thenReturn(true);
         when(productRepository.findByCategoryId(anyInt(), Mockito.any(Pageable.class))).thenReturn(productPage);
 
-        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProductsByCategoryId(1,0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION);
+        PageResponse<ProductDto> productDtoList = productServiceImpl.getAllProductsByCategoryId(1,0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, CountMode.EXACT);
 
         Assertions.assertThat(productDtoList).isNotNull();
         Assertions.assertThat(productDtoList.getContent())
@@ -128,7 +236,7 @@ class ProductServiceImplTest {
     void productService_getAllProductsByCategoryId_returnNotFound() {
         when(categoryRepository.existsById(1)).thenReturn(false);
 
-        assertThrows(ResourceNotFoundException.class, () -> productServiceImpl.getAllProductsByCategoryId(1,0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION));
+        assertThrows(ResourceNotFoundException.class, () -> productServiceImpl.getAllProductsByCategoryId(1,0, 10, ConstantsUtils.DEFAULT_SORT_BY, ConstantsUtils.DEFAULT_SORT_DIRECTION, null, CountMode.EXACT));
     }
 
     /**
@@ -359,4 +467,120 @@ class ProductServiceImplTest {
 
         assertThrows(ResourceNotFoundException.class, () -> productServiceImpl.deleteProductById(1));
     }
+
+    /**
+     * Test ExportProducts => Une ligne JSON par produit, lot après lot
+     * @throws IOException Exception d'écriture
+     */
+    @Test
+    void productService_exportProducts_writeOneLinePerProduct() throws IOException {
+        Product first = Product.builder().id(1).title("first").build();
+        Product second = Product.builder().id(2).title("second").build();
+        Product third = Product.builder().id(3).title("third").build();
+        doAnswer(invocation -> {
+            Consumer<List<Product>> chunkConsumer = invocation.getArgument(2);
+            chunkConsumer.accept(List.of(first, second));
+            chunkConsumer.accept(List.of(third));
+            return null;
+        }).when(productRepository).scroll(any(GenericSpecification.class), anyInt(), any());
+        when(productMapper.mapToDto(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return ProductDto.builder().id(product.getId()).title(product.getTitle()).build();
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        productServiceImpl.exportProducts(null, null, null, null, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(3).allMatch(line -> line.startsWith("{"));
+        Assertions.assertThat(objectMapper.readValue(lines[0], ProductDto.class).getTitle()).isEqualTo("first");
+        Assertions.assertThat(objectMapper.readValue(lines[2], ProductDto.class).getId()).isEqualTo(3);
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+    }
+
+    /**
+     * Test SaveProducts => Chaque produit a son résultat, seuls les produits valides sont enregistrés en une fois
+     */
+    @Test
+    void productService_saveProducts_returnResultPerProduct() {
+        ReflectionTestUtils.setField(productServiceImpl, "batchMaxSize", 10);
+        Category category = Category.builder().id(1).name("category").build();
+        Brand brand = Brand.builder().id(1).name("brand").build();
+        ProductDto valid = ProductDto.builder().title("title").description("description").price(1F).category_id(1).brand_id(1).build();
+        ProductDto invalid = ProductDto.builder().title("t").description("description").price(1F).category_id(1).brand_id(1).build();
+        ProductDto unknownCategory = ProductDto.builder().title("other title").description("description").price(1F).category_id(2).brand_id(1).build();
+        ProductDto duplicateTitle = ProductDto.builder().title("TITLE").description("description").price(1F).category_id(1).brand_id(1).build();
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(brandRepository.findAllById(any())).thenReturn(List.of(brand));
+        when(productRepository.findAllById(any())).thenReturn(List.of());
+        when(productRepository.findByTitleIn(any())).thenReturn(List.of());
+        when(productMapper.mapToEntity(any(ProductDto.class))).thenAnswer(invocation -> Product.builder().title(((ProductDto) invocation.getArgument(0)).getTitle()).build());
+        when(productRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setId(42));
+            return products;
+        });
+
+        List<ProductBatchResultDto> results = productServiceImpl.saveProducts(List.of(valid, invalid, unknownCategory, duplicateTitle));
+
+        Assertions.assertThat(results).extracting(ProductBatchResultDto::getStatus).containsExactly(201, 400, 404, 409);
+        Assertions.assertThat(results.get(0).getId()).isEqualTo(42);
+        Assertions.assertThat(results.get(1).getErrors()).singleElement().asString().startsWith("title");
+        Mockito.verify(productRepository).saveAll(Mockito.argThat(products -> ((List<Product>) products).size() == 1));
+        Mockito.verify(productSearchIndex).indexAll(any());
+    }
+
+    /**
+     * Test SaveProducts => Return BadRequest au-delà de la taille maximale d'un lot
+     */
+    @Test
+    void productService_saveProducts_tooLarge_returnBadRequest() {
+        ReflectionTestUtils.setField(productServiceImpl, "batchMaxSize", 1);
+        ProductDto productDto = ProductDto.builder().title("title").build();
+
+        assertThrows(ProductAPIException.class, () -> productServiceImpl.saveProducts(List.of(productDto, productDto)));
+    }
+
+    /**
+     * Test SuggestProducts => Suggestions servies par l'index préfixe, sans requête
+     */
+    @Test
+    void productService_suggestProducts_servedByPrefixIndex() {
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMaxLimit", 50);
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMinPrefixLength", 3);
+        List<ProductSuggestionDto> suggestions = List.of(new ProductSuggestionDto(1, "iPhone 9"));
+        when(productSuggestIndex.isReady()).thenReturn(true);
+        when(productSuggestIndex.suggest("iph", 5)).thenReturn(suggestions);
+
+        Assertions.assertThat(productServiceImpl.suggestProducts("iph", 5)).isEqualTo(suggestions);
+        Mockito.verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test SuggestProducts => Préfixe du titre en base tant que l'index n'est pas chargé
+     */
+    @Test
+    void productService_suggestProducts_indexNotReady_queryTitlePrefix() {
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMaxLimit", 50);
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMinPrefixLength", 3);
+        Product product = Product.builder().id(1).title("iPhone 9").build();
+        when(productSuggestIndex.isReady()).thenReturn(false);
+        when(productRepository.findAllSeek(any(), eq(Sort.by("title")), eq(5))).thenReturn(List.of(product));
+
+        Assertions.assertThat(productServiceImpl.suggestProducts("iph", 5)).containsExactly(new ProductSuggestionDto(1, "iPhone 9"));
+    }
+
+    /**
+     * Test SuggestProducts => Return BadRequest si la limite est hors bornes, liste vide sans saisie ou si elle est trop courte
+     */
+    @Test
+    void productService_suggestProducts_invalidLimit_returnBadRequest() {
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMaxLimit", 50);
+        ReflectionTestUtils.setField(productServiceImpl, "suggestMinPrefixLength", 3);
+
+        assertThrows(ProductAPIException.class, () -> productServiceImpl.suggestProducts("iph", 0));
+        assertThrows(ProductAPIException.class, () -> productServiceImpl.suggestProducts("iph", 51));
+        Assertions.assertThat(productServiceImpl.suggestProducts(" ", 5)).isEmpty();
+        Assertions.assertThat(productServiceImpl.suggestProducts(" ip ", 5)).isEmpty();
+    }
 }
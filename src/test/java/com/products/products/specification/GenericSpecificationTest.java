@@ -0,0 +1,237 @@
+package com.products.products.specification;
+
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.repository.ProductRepository;
+import com.products.products.specification.metaModel.Product_;
+import com.products.products.specification.utils.SearchCriteria;
+import com.products.products.specification.utils.SearchOperation;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Classe de test de GenericSpecification : opérations et SQL généré, sur une base H2
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.products.products.specification.GenericSpecificationTest$SqlCapture")
+class GenericSpecificationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Initialisation des données de test : des prix qui ne sont pas dans le même ordre comme nombres et comme chaînes
+     */
+    @BeforeEach
+    void init() {
+        Category category = Category.builder().name("category").build();
+        Brand brand = Brand.builder().name("brand").build();
+        entityManager.persist(category);
+        entityManager.persist(brand);
+        persist("phone 10%", 9.5F, category, brand);
+        persist("phone 100", 10F, category, brand);
+        persist("smartphone", 11F, category, brand);
+        persist("laptop", 100F, category, brand);
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    /**
+     * Test GREATER_THAN_EQUAL / LESS_THAN_EQUAL => bornes incluses, comparées comme des nombres
+     */
+    @Test
+    void genericSpecification_priceRange_comparesNumbers() {
+        List<String> titles = findTitles(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, 10),
+                new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, "11"));
+
+        Assertions.assertThat(titles).containsExactlyInAnyOrder("phone 100", "smartphone");
+    }
+
+    /**
+     * Test GREATER_THAN / LESS_THAN => bornes exclues
+     */
+    @Test
+    void genericSpecification_strictRange_excludesBounds() {
+        List<String> titles = findTitles(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN, 10),
+                new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN, 100));
+
+        Assertions.assertThat(titles).containsExactly("smartphone");
+    }
+
+    /**
+     * Test NOT_EQUAL, IN et NOT_IN => valeurs converties dans le type de l'attribut
+     */
+    @Test
+    void genericSpecification_equalityOperations_filterBoundValues() {
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.NOT_EQUAL, 10)))
+                .containsExactlyInAnyOrder("phone 10%", "smartphone", "laptop");
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.IN, "10, 11")))
+                .containsExactlyInAnyOrder("phone 100", "smartphone");
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.NOT_IN, List.of(10, 11))))
+                .containsExactlyInAnyOrder("phone 10%", "laptop");
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.IN, List.of()))).isEmpty();
+    }
+
+    /**
+     * Test MATCH_START, MATCH_END et CONTAIN => préfixe, suffixe et sous-chaîne, % de la valeur pris littéralement
+     */
+    @Test
+    void genericSpecification_likeOperations_matchPrefixSuffixAndContent() {
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_START, "phone")))
+                .containsExactlyInAnyOrder("phone 10%", "phone 100");
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_END, "phone")))
+                .containsExactly("smartphone");
+        Assertions.assertThat(findTitles(new SearchCriteria(Product_.TITLE, SearchOperation.CONTAIN, "10%")))
+                .containsExactly("phone 10%");
+    }
+
+    /**
+     * Test valeur invalide => 400
+     */
+    @Test
+    void genericSpecification_invalidValue_throwBadRequest() {
+        Assertions.assertThatThrownBy(() -> findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN, "cheap")))
+                .isInstanceOfSatisfying(ProductAPIException.class, ex -> Assertions.assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        Assertions.assertThatThrownBy(() -> findTitles(new SearchCriteria(Product_.PRICE, SearchOperation.MATCH_START, "1")))
+                .isInstanceOfSatisfying(ProductAPIException.class, ex -> Assertions.assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    /**
+     * Test SQL généré => filtre de prix en comparaisons numériques sans conversion de la colonne,
+     * parcouru par l'index du prix, et préfixe LIKE 'x%'
+     */
+    @Test
+    void genericSpecification_priceRange_usesPriceIndex() {
+        findTitles(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, 10),
+                new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, 11),
+                new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_START, "phone"));
+
+        Assertions.assertThat(SqlCapture.STATEMENTS).hasSize(1);
+        String sql = SqlCapture.STATEMENTS.get(0);
+        Assertions.assertThat(sql).contains("price>=?", "price<=?", "title like ? escape '!'").doesNotContainIgnoringCase("cast(");
+
+        // Plan de la plage de prix seule : avec le préfixe du titre, H2 peut préférer l'index unique du titre
+        findTitles(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, 10),
+                new SearchCriteria(Product_.PRICE, SearchOperation.LESS_THAN_EQUAL, 11));
+        String priceRangeSql = SqlCapture.STATEMENTS.get(1);
+        String plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + priceRangeSql)) {
+                statement.setFloat(1, 10F);
+                statement.setFloat(2, 11F);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        Assertions.assertThat(plan).containsIgnoringCase("IX_Products_Price");
+    }
+
+    /**
+     * Test forme de requête => mêmes critères avec d'autres valeurs : même SQL paramétré, plan Hibernate réutilisé
+     */
+    @Test
+    void findSlice_sameShape_reuseQueryPlan() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Product_.PRICE));
+
+        Slice<Product> phones = productRepository.findSlice(specificationOf(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, 10),
+                new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_START, "phone")), pageable);
+        long planCacheHits = statistics.getQueryPlanCacheHitCount();
+        Slice<Product> smartphones = productRepository.findSlice(specificationOf(
+                new SearchCriteria(Product_.PRICE, SearchOperation.GREATER_THAN_EQUAL, "11"),
+                new SearchCriteria(Product_.TITLE, SearchOperation.MATCH_START, "smart")), pageable);
+
+        Assertions.assertThat(phones.getContent()).extracting(Product::getTitle).containsExactly("phone 100");
+        Assertions.assertThat(smartphones.getContent()).extracting(Product::getTitle).containsExactly("smartphone");
+        Assertions.assertThat(SqlCapture.STATEMENTS).hasSize(2);
+        Assertions.assertThat(SqlCapture.STATEMENTS.get(1)).isEqualTo(SqlCapture.STATEMENTS.get(0));
+        Assertions.assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(planCacheHits);
+    }
+
+    /**
+     * Test page et comptage d'une liste IN => une valeur liée par paramètre, liste complétée à la puissance de deux suivante
+     */
+    @Test
+    void findAll_inList_pageAndCount() {
+        GenericSpecification<Product> specification = specificationOf(new SearchCriteria(Product_.PRICE, SearchOperation.IN, "9.5, 10, 11"));
+
+        Page<Product> page = productRepository.findAll(specification, PageRequest.of(0, 2, Sort.by(Product_.PRICE)));
+
+        Assertions.assertThat(page.getContent()).extracting(Product::getTitle).containsExactly("phone 10%", "phone 100");
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(productRepository.count(specification)).isEqualTo(3);
+        Assertions.assertThat(SqlCapture.STATEMENTS.get(0)).containsPattern("price in ?\\((\\?, ?){3}\\?\\)");
+    }
+
+    /**
+     * @param searchCriteria Critères de recherche
+     * @return Titres des produits trouvés
+     */
+    private List<String> findTitles(SearchCriteria... searchCriteria) {
+        return productRepository.findAll(specificationOf(searchCriteria)).stream().map(Product::getTitle).toList();
+    }
+
+    private GenericSpecification<Product> specificationOf(SearchCriteria... searchCriteria) {
+        GenericSpecification<Product> specification = new GenericSpecification<>();
+        for (SearchCriteria criteria : searchCriteria) {
+            specification.add(criteria);
+        }
+        return specification;
+    }
+
+    private void persist(String title, float price, Category category, Brand brand) {
+        entityManager.persist(Product.builder()
+                .title(title)
+                .description("description")
+                .price(price)
+                .stock(1)
+                .category(category)
+                .brand(brand)
+                .build());
+    }
+
+    /**
+     * Capture des ordres SQL préparés par Hibernate
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.products.products.specification;
+
+import com.products.products.entity.Brand;
+import com.products.products.entity.Category;
+import com.products.products.entity.Product;
+import com.products.products.exception.ProductAPIException;
+import com.products.products.repository.ProductRepository;
+import com.products.products.service.impl.ProductFilterPlanCache;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * Classe de test de ProductFilterParser : syntaxe, validation et résultats des filtres sur une base H2
+ */
+@DataJpaTest
+class ProductFilterParserTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Brand acme;
+
+    /**
+     * Initialisation des données de test
+     */
+    @BeforeEach
+    void init() {
+        Category category = Category.builder().name("category").build();
+        acme = Brand.builder().name("acme").build();
+        Brand globex = Brand.builder().name("globex").build();
+        entityManager.persist(category);
+        entityManager.persist(acme);
+        entityManager.persist(globex);
+        persist("phone pro", 500F, 4.8F, category, acme);
+        persist("phone lite", 200F, 3.9F, category, globex);
+        persist("smartphone", 300F, 4.2F, category, globex);
+        persist("laptop", 900F, 4.5F, category, acme);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test ; et , => ET prioritaire sur OU
+     */
+    @Test
+    void parse_andOr_andBindsTighter() {
+        Assertions.assertThat(findTitles("price=lt=400;rating>4,title==laptop"))
+                .containsExactlyInAnyOrder("smartphone", "laptop");
+    }
+
+    /**
+     * Test groupe entre parenthèses et =in= sur une relation
+     */
+    @Test
+    void parse_groupAndIn_filterNestedExpression() {
+        String filter = "rating=ge=4.2;(brand=in=(" + acme.getId() + "),price<300)";
+
+        Assertions.assertThat(findTitles(filter)).containsExactlyInAnyOrder("phone pro", "laptop");
+        Assertions.assertThat(findTitles("brand=out=(" + acme.getId() + ")")).containsExactlyInAnyOrder("phone lite", "smartphone");
+    }
+
+    /**
+     * Test jokers => préfixe, suffixe et sous-chaîne, littéraux entre guillemets
+     */
+    @Test
+    void parse_wildcards_matchPrefixSuffixAndContent() {
+        Assertions.assertThat(findTitles("title==phone*")).containsExactlyInAnyOrder("phone pro", "phone lite");
+        Assertions.assertThat(findTitles("title==*phone")).containsExactly("smartphone");
+        Assertions.assertThat(findTitles("title==*top*")).containsExactly("laptop");
+        Assertions.assertThat(findTitles("title=='phone*'")).isEmpty();
+        Assertions.assertThat(findTitles("title=='phone pro'")).containsExactly("phone pro");
+    }
+
+    /**
+     * Test expressions invalides => 400 avec la position de l'erreur
+     */
+    @Test
+    void parse_invalidExpression_throwBadRequest() {
+        assertBadRequest("password==secret", "unknown attribute 'password'");
+        assertBadRequest("price=ge=cheap", "invalid value 'cheap' for 'price'");
+        assertBadRequest("price==1*", "wildcards are only supported on text attributes");
+        assertBadRequest("price=gt=(1,2)", "takes a single value");
+        assertBadRequest("(price>1", "expected ')'");
+        assertBadRequest("price>1;", "expected an attribute");
+        assertBadRequest("title==phone pro", "position 14 : unexpected 'p'");
+        assertBadRequest("(".repeat(9) + "price>1" + ")".repeat(9), "nested groups");
+    }
+
+    /**
+     * Test normalisation => espaces non significatifs ignorés, même analyse pour les expressions équivalentes
+     */
+    @Test
+    void normalize_insignificantWhitespace_sameKey() {
+        Assertions.assertThat(ProductFilterParser.normalize(" price >= 10 ; title == 'a  b' ")).isEqualTo("price>=10;title=='a  b'");
+        Assertions.assertThat(ProductFilterParser.normalize("title==phone pro")).isEqualTo("title==phone pro");
+        Assertions.assertThat(ProductFilterParser.parse("rating>4;price<10").getKey())
+                .isEqualTo(ProductFilterParser.parse("price<10;rating>4").getKey());
+    }
+
+    /**
+     * Test cache des filtres => une expression équivalente réutilise le filtre déjà analysé, une expression invalide
+     * n'est pas conservée
+     */
+    @Test
+    void planCache_equivalentExpression_reuseParsedFilter() {
+        ProductFilterPlanCache planCache = new ProductFilterPlanCache(10);
+
+        GenericSpecification<Product> plan = planCache.get("price>=10;rating>4");
+
+        Assertions.assertThat(planCache.get(" price >= 10 ; rating > 4 ")).isSameAs(plan);
+        Assertions.assertThatThrownBy(() -> planCache.get("price>=ten")).isInstanceOf(ProductAPIException.class);
+        Assertions.assertThatThrownBy(() -> planCache.get("price>=ten")).isInstanceOf(ProductAPIException.class);
+    }
+
+    /**
+     * @param filter Expression du filtre
+     * @return Titres des produits trouvés
+     */
+    private List<String> findTitles(String filter) {
+        return productRepository.findAll(ProductFilterParser.parse(ProductFilterParser.normalize(filter))).stream()
+                .map(Product::getTitle)
+                .toList();
+    }
+
+    private void assertBadRequest(String filter, String message) {
+        Assertions.assertThatThrownBy(() -> ProductFilterParser.parse(ProductFilterParser.normalize(filter)))
+                .isInstanceOfSatisfying(ProductAPIException.class, ex -> {
+                    Assertions.assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    Assertions.assertThat(ex.getMessage()).contains(message);
+                });
+    }
+
+    private void persist(String title, float price, float rating, Category category, Brand brand) {
+        entityManager.persist(Product.builder()
+                .title(title)
+                .description("description")
+                .price(price)
+                .rating(rating)
+                .stock(1)
+                .category(category)
+                .brand(brand)
+                .build());
+    }
+}